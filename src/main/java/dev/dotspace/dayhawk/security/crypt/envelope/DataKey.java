@@ -0,0 +1,97 @@
+package dev.dotspace.dayhawk.security.crypt.envelope;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.SecretKey;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Arrays;
+
+
+/**
+ * Data key of an envelope, overwritten with zeros when destroyed.
+ *
+ * <p>{@link javax.crypto.spec.SecretKeySpec} can not be destroyed, its material stays on the heap until it is
+ * collected. Data keys are held by the cache of a processor for a long time, so they are kept in this class
+ * instead and destroyed once evicted.</p>
+ *
+ * <p>Data keys can not be serialized, a serialized copy of the key material would outlive the destruction of the
+ * key.</p>
+ */
+final class DataKey implements SecretKey {
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private final byte @NotNull [] encoded;
+  private final @NotNull String algorithm;
+  private volatile boolean destroyed;
+
+  /**
+   * Constructs a new {@code DataKey}.
+   *
+   * @param encoded   The key material, owned by the key from now on.
+   * @param algorithm The algorithm of the key.
+   */
+  DataKey(final byte @NotNull [] encoded,
+          @NotNull final String algorithm) {
+    this.encoded = encoded;
+    this.algorithm = algorithm;
+  }
+
+  @Override
+  public @NotNull String getAlgorithm() {
+    return this.algorithm;
+  }
+
+  @Override
+  public @NotNull String getFormat() {
+    return "RAW";
+  }
+
+  /**
+   * Returns a copy of the key material.
+   *
+   * @return The key material.
+   * @throws IllegalStateException If the key is destroyed.
+   */
+  @Override
+  public byte @NotNull [] getEncoded() {
+    if (this.destroyed) {
+      throw new IllegalStateException("Data key is destroyed.");
+    }
+    return this.encoded.clone();
+  }
+
+  @Override
+  public void destroy() {
+    //Mark first, a copy taken while overwriting must not be mistaken for a valid one.
+    this.destroyed = true;
+    Arrays.fill(this.encoded, (byte) 0);
+  }
+
+  @Override
+  public boolean isDestroyed() {
+    return this.destroyed;
+  }
+
+  /**
+   * Rejects serialization, see the class description.
+   *
+   * @throws NotSerializableException Always.
+   */
+  @Serial
+  private Object writeReplace() throws NotSerializableException {
+    throw new NotSerializableException(DataKey.class.getName());
+  }
+
+  /**
+   * Rejects serialization, in case {@link #writeReplace()} is bypassed.
+   *
+   * @throws NotSerializableException Always.
+   */
+  @Serial
+  private void writeObject(@NotNull final ObjectOutputStream output) throws NotSerializableException {
+    throw new NotSerializableException(DataKey.class.getName());
+  }
+}
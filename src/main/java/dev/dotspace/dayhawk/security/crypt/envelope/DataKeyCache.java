@@ -0,0 +1,185 @@
+package dev.dotspace.dayhawk.security.crypt.envelope;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+
+/**
+ * Cache of unwrapped data keys, keyed by the SHA-256 fingerprint of the wrapped key.
+ *
+ * <p>The cache holds at most {@code maximumSize} keys and evicts the least recently used one. A key expires
+ * {@code timeToLive} after it was unwrapped, also if it is used. Evicted and expired keys are passed to the eviction
+ * listener, which destroys them. Expired keys are removed when they are looked up and whenever a key is added: a key
+ * is only added after a miss, which costs an unwrap, so the scan is cheap in comparison.</p>
+ *
+ * <p>This class is thread safe. A lookup holds the lock for one hash lookup.</p>
+ */
+final class DataKeyCache {
+  private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+  private final int maximumSize;
+  private final long timeToLiveNanos;
+  private final @NotNull Consumer<DataKey> evictionListener;
+  /**
+   * Entries in access order, guarded by {@code this}.
+   */
+  private final @NotNull LinkedHashMap<Fingerprint, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Constructs an empty {@code DataKeyCache}.
+   *
+   * @param maximumSize      The maximum number of keys, at least one.
+   * @param timeToLiveNanos  The time a key is kept after it was added, positive.
+   * @param evictionListener The listener called with every removed key.
+   */
+  DataKeyCache(final int maximumSize,
+               final long timeToLiveNanos,
+               @NotNull final Consumer<DataKey> evictionListener) {
+    this.maximumSize = maximumSize;
+    this.timeToLiveNanos = timeToLiveNanos;
+    this.evictionListener = evictionListener;
+  }
+
+  /**
+   * Returns the key of the fingerprint, if it is cached and not expired.
+   *
+   * @param fingerprint The fingerprint of the wrapped key.
+   * @return The key, {@code null} if not cached.
+   */
+  synchronized @Nullable DataKey get(@NotNull final Fingerprint fingerprint) {
+    final CacheEntry cacheEntry = this.entries.get(fingerprint);
+    if (cacheEntry == null) {
+      return null;
+    }
+    if (cacheEntry.expired(System.nanoTime())) {
+      this.entries.remove(fingerprint);
+      this.evictionListener.accept(cacheEntry.dataKey);
+      return null;
+    }
+    return cacheEntry.dataKey;
+  }
+
+  /**
+   * Adds a key, unless another thread added one for the fingerprint first.
+   *
+   * @param fingerprint The fingerprint of the wrapped key.
+   * @param dataKey     The unwrapped key.
+   * @return The cached key: the given one, or the one added before, in which case the given key is destroyed.
+   */
+  synchronized @NotNull DataKey put(@NotNull final Fingerprint fingerprint,
+                                    @NotNull final DataKey dataKey) {
+    final long now = System.nanoTime();
+    final Iterator<CacheEntry> iterator = this.entries.values().iterator();
+    while (iterator.hasNext()) {
+      final CacheEntry cacheEntry = iterator.next();
+      if (cacheEntry.expired(now)) {
+        iterator.remove();
+        this.evictionListener.accept(cacheEntry.dataKey);
+      }
+    }
+
+    final CacheEntry present = this.entries.get(fingerprint);
+    if (present != null) {
+      this.evictionListener.accept(dataKey);
+      return present.dataKey;
+    }
+
+    this.entries.put(fingerprint, new CacheEntry(dataKey, now + this.timeToLiveNanos));
+    if (this.entries.size() > this.maximumSize) {
+      final Iterator<Map.Entry<Fingerprint, CacheEntry>> eldest = this.entries.entrySet().iterator();
+      final CacheEntry evicted = eldest.next().getValue();
+      eldest.remove();
+      this.evictionListener.accept(evicted.dataKey);
+    }
+    return dataKey;
+  }
+
+  /**
+   * Returns the number of cached keys, including expired keys not removed yet.
+   *
+   * @return The number of keys.
+   */
+  synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Removes all keys.
+   */
+  synchronized void clear() {
+    for (final CacheEntry cacheEntry : this.entries.values()) {
+      this.evictionListener.accept(cacheEntry.dataKey);
+    }
+    this.entries.clear();
+  }
+
+  //static
+
+  /**
+   * Computes the fingerprint of a wrapped key.
+   *
+   * @param wrappedKey The wrapped key.
+   * @return The fingerprint.
+   */
+  static @NotNull Fingerprint fingerprint(final byte @NotNull [] wrappedKey) {
+    try {
+      return new Fingerprint(MessageDigest.getInstance(FINGERPRINT_ALGORITHM).digest(wrappedKey));
+    } catch (final NoSuchAlgorithmException exception) {
+      //Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * SHA-256 digest of a wrapped key. Keeps the cache independent of the size of wrapped keys, which is the size of
+   * the modulus for RSA.
+   */
+  static final class Fingerprint {
+    private final byte @NotNull [] digest;
+    private final int hashCode;
+
+    private Fingerprint(final byte @NotNull [] digest) {
+      this.digest = digest;
+      this.hashCode = Arrays.hashCode(digest);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      return object instanceof Fingerprint fingerprint && Arrays.equals(this.digest, fingerprint.digest);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+
+  /**
+   * Cached key with the time it expires at.
+   */
+  private static final class CacheEntry {
+    private final @NotNull DataKey dataKey;
+    /**
+     * Expiry in the time of {@link System#nanoTime()}.
+     */
+    private final long expiresAt;
+
+    private CacheEntry(@NotNull final DataKey dataKey,
+                       final long expiresAt) {
+      this.dataKey = dataKey;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean expired(final long now) {
+      return now - this.expiresAt >= 0;
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package dev.dotspace.dayhawk.security.crypt.envelope;
+
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * The {@code EnvelopeFormat} class reads and writes envelopes: a version byte, the length of the wrapped data key in
+ * two bytes, the wrapped data key and the data encrypted with AES-256/GCM under the data key.
+ *
+ * <p>Every data key encrypts a single message, so the nonce is fixed and not stored. Wrapping the data key is up to
+ * the caller, see {@link EnvelopeProcessor} and
+ * {@link dev.dotspace.dayhawk.security.crypt.processor.ICryptProcessor#encryptHybrid}.</p>
+ *
+ * <p>Data keys are used with a new {@link Cipher} for every call, never with a pooled one: a data key is used once
+ * for encryption, and a pooled cipher would keep the state derived from the key after the key is destroyed.</p>
+ */
+public final class EnvelopeFormat {
+  /**
+   * First byte of an envelope, the format version.
+   */
+  public static final byte VERSION = 1;
+  /**
+   * Length of the envelope before the wrapped data key.
+   */
+  public static final int HEADER_LENGTH = 3;
+  /**
+   * Length of data keys and tags in bytes.
+   */
+  public static final int DATA_KEY_LENGTH = 32, TAG_LENGTH = 16;
+  /**
+   * Algorithm of data keys.
+   */
+  public static final String DATA_KEY_ALGORITHM = "AES";
+  private static final String DATA_ALGORITHM = "AES/GCM/NoPadding";
+  private static final @NotNull GCMParameterSpec DATA_PARAMETERS = new GCMParameterSpec(TAG_LENGTH * 8, new byte[12]);
+  private static final @NotNull SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private EnvelopeFormat() {
+  }
+
+  /**
+   * Generates a new data key, overwritten with zeros by {@link SecretKey#destroy()}.
+   *
+   * @return The data key.
+   */
+  public static @NotNull SecretKey dataKey() {
+    final byte[] encoded = new byte[DATA_KEY_LENGTH];
+    SECURE_RANDOM.nextBytes(encoded);
+    return new DataKey(encoded, DATA_KEY_ALGORITHM);
+  }
+
+  /**
+   * Overwrites a data key of {@link #dataKey()} with zeros.
+   *
+   * @param dataKey The data key.
+   * @throws IllegalArgumentException If the key was not generated by {@link #dataKey()}.
+   */
+  public static void destroy(@Nullable final SecretKey dataKey) {
+    //Null check
+    Objects.requireNonNull(dataKey);
+    if (!(dataKey instanceof DataKey key)) {
+      throw new IllegalArgumentException("Key is not a data key.");
+    }
+    key.destroy();
+  }
+
+  /**
+   * Writes an envelope.
+   *
+   * @param wrappedKey The wrapped data key.
+   * @param dataKey    The data key.
+   * @param data       The data to be encrypted.
+   * @return The envelope.
+   * @throws AlgorithmNotPresentException If AES/GCM is not present.
+   * @throws IllegalKeyException          If the wrapped key is too long or the data key is not accepted.
+   */
+  public static byte @NotNull [] seal(final byte @Nullable [] wrappedKey,
+                                      @Nullable final SecretKey dataKey,
+                                      final byte @Nullable [] data)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(wrappedKey);
+    Objects.requireNonNull(dataKey);
+    Objects.requireNonNull(data);
+    if (wrappedKey.length > 0xFFFF) {
+      throw new IllegalKeyException("Wrapped data key of %d bytes is too long.".formatted(wrappedKey.length));
+    }
+
+    final int offset = HEADER_LENGTH + wrappedKey.length;
+    final byte[] envelope = new byte[offset + data.length + TAG_LENGTH];
+    envelope[0] = VERSION;
+    envelope[1] = (byte) (wrappedKey.length >>> 8);
+    envelope[2] = (byte) wrappedKey.length;
+    System.arraycopy(wrappedKey, 0, envelope, HEADER_LENGTH, wrappedKey.length);
+    try {
+      final Cipher cipher = Cipher.getInstance(DATA_ALGORITHM);
+      cipher.init(Cipher.ENCRYPT_MODE, dataKey, DATA_PARAMETERS);
+      cipher.doFinal(data, 0, data.length, envelope, offset);
+    } catch (final GeneralSecurityException exception) {
+      try {
+        throw rethrow(exception);
+      } catch (final PaddingException | IllegalBlockException cryptException) {
+        //Not possible, GCM does not pad and the envelope is sized for the tag.
+        throw new IllegalStateException(cryptException);
+      }
+    }
+    return envelope;
+  }
+
+  /**
+   * Reads the wrapped data key of an envelope.
+   *
+   * @param envelope The envelope.
+   * @return A copy of the wrapped data key.
+   * @throws PaddingException      If the envelope has an unknown version.
+   * @throws IllegalBlockException If the envelope is truncated.
+   */
+  public static byte @NotNull [] wrappedKey(final byte @Nullable [] envelope)
+      throws PaddingException, IllegalBlockException {
+    //Null check
+    Objects.requireNonNull(envelope);
+
+    return Arrays.copyOfRange(envelope, HEADER_LENGTH, offset(envelope));
+  }
+
+  /**
+   * Decrypts and verifies the data of an envelope.
+   *
+   * @param dataKey  The unwrapped data key of the envelope.
+   * @param envelope The envelope.
+   * @return The decrypted data.
+   * @throws PaddingException             If the envelope has an unknown version or the data does not verify.
+   * @throws AlgorithmNotPresentException If AES/GCM is not present.
+   * @throws IllegalBlockException        If the envelope is truncated.
+   * @throws IllegalKeyException          If the data key is not accepted.
+   */
+  public static byte @NotNull [] open(@Nullable final SecretKey dataKey,
+                                      final byte @Nullable [] envelope)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(dataKey);
+    Objects.requireNonNull(envelope);
+
+    final int offset = offset(envelope);
+    try {
+      final Cipher cipher = Cipher.getInstance(DATA_ALGORITHM);
+      cipher.init(Cipher.DECRYPT_MODE, dataKey, DATA_PARAMETERS);
+      return cipher.doFinal(envelope, offset, envelope.length - offset);
+    } catch (final GeneralSecurityException exception) {
+      throw rethrow(exception);
+    }
+  }
+
+  /**
+   * Returns the index of the encrypted data, after checking version and length of the envelope.
+   *
+   * @param envelope The envelope.
+   * @return The index of the encrypted data.
+   * @throws PaddingException      If the envelope has an unknown version.
+   * @throws IllegalBlockException If the envelope is truncated.
+   */
+  private static int offset(final byte @NotNull [] envelope) throws PaddingException, IllegalBlockException {
+    if (envelope.length < HEADER_LENGTH) {
+      throw new IllegalBlockException("Envelope of %d bytes is truncated.".formatted(envelope.length));
+    }
+    if (envelope[0] != VERSION) {
+      throw new PaddingException("Envelope has an unknown version=%d.".formatted(envelope[0]));
+    }
+    final int offset = HEADER_LENGTH + ((envelope[1] & 0xFF) << 8 | envelope[2] & 0xFF);
+    if (envelope.length < offset + TAG_LENGTH) {
+      throw new IllegalBlockException("Envelope of %d bytes is truncated.".formatted(envelope.length));
+    }
+    return offset;
+  }
+
+  /**
+   * Maps an exception of the data cipher to the exceptions of the format.
+   *
+   * @param exception The exception thrown by the cipher.
+   * @return An {@link IllegalStateException} for exceptions not expected from the cipher.
+   * @throws PaddingException             If the data does not verify.
+   * @throws AlgorithmNotPresentException If AES/GCM is not present.
+   * @throws IllegalBlockException        If the data is shorter than a tag.
+   * @throws IllegalKeyException          If the data key is not accepted.
+   */
+  private static @NotNull IllegalStateException rethrow(@NotNull final GeneralSecurityException exception)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Tag does not match.
+    if (exception instanceof BadPaddingException) {
+      throw new PaddingException("Envelope failed verification.", exception);
+    }
+
+    //Error with block size.
+    if (exception instanceof IllegalBlockSizeException) {
+      throw new IllegalBlockException(exception);
+    }
+
+    //Algorithm error
+    if (exception instanceof NoSuchAlgorithmException || exception instanceof NoSuchPaddingException ||
+        exception instanceof InvalidAlgorithmParameterException) {
+      throw new AlgorithmNotPresentException(
+          "Algorithm=%s is not present or wrong configuration.".formatted(DATA_ALGORITHM), exception);
+    }
+
+    //Something is wrong with given key.
+    if (exception instanceof InvalidKeyException) {
+      throw new IllegalKeyException(exception);
+    }
+    return new IllegalStateException(exception);
+  }
+}
@@ -0,0 +1,200 @@
+package dev.dotspace.dayhawk.security.crypt.envelope;
+
+import dev.dotspace.dayhawk.security.crypt.entity.ICryptValue;
+import dev.dotspace.dayhawk.security.crypt.entity.ImmutableCryptValue;
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import dev.dotspace.dayhawk.security.crypt.mode.CipherMode;
+import dev.dotspace.dayhawk.security.crypt.processor.ICryptProcessor;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Objects;
+
+
+/**
+ * See {@link IEnvelopeProcessor}
+ *
+ * <p>Envelopes are written in the {@link EnvelopeFormat}. Data keys are never used with pooled ciphers, only the
+ * master key is.</p>
+ *
+ * <p>Unwrapped data keys are cached by the fingerprint of their wrapped form, see
+ * {@link #EnvelopeProcessor(ICryptProcessor, Key, Key, int, Duration)}. Keys leaving the cache are overwritten with
+ * zeros. A decryption that raced with the eviction of its key unwraps the key again.</p>
+ *
+ * <p>This class is thread safe.</p>
+ */
+public final class EnvelopeProcessor implements IEnvelopeProcessor {
+  /**
+   * Default maximum number of cached data keys.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+  /**
+   * Default time a data key is cached after it was unwrapped.
+   */
+  public static final @NotNull Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull String algorithm = "AES/GCM/ENVELOPE";
+  private final @NotNull ICryptProcessor keyProcessor;
+  private final @NotNull Key wrappingKey;
+  private final @NotNull Key unwrappingKey;
+  private final @NotNull DataKeyCache dataKeyCache;
+
+  /**
+   * Constructs a new {@code EnvelopeProcessor} for a symmetric master key, caching up to
+   * {@link #DEFAULT_MAXIMUM_SIZE} data keys for {@link #DEFAULT_TIME_TO_LIVE}.
+   *
+   * @param keyProcessor The processor wrapping the data keys, for example {@code AESWrap}.
+   * @param masterKey    The master key, wrapping and unwrapping data keys.
+   * @throws NullPointerException If the processor or the key is {@code null}.
+   */
+  public EnvelopeProcessor(@Nullable final ICryptProcessor keyProcessor,
+                           @Nullable final Key masterKey) {
+    this(keyProcessor, masterKey, masterKey, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * Constructs a new {@code EnvelopeProcessor}.
+   *
+   * @param keyProcessor  The processor wrapping the data keys, for example {@code AESWrap} or
+   *                      {@code RSA/ECB/OAEPWithSHA-256AndMGF1Padding}.
+   * @param wrappingKey   The key wrapping data keys, the public key for RSA.
+   * @param unwrappingKey The key unwrapping data keys, the private key for RSA.
+   * @param maximumSize   The maximum number of cached data keys, at least one.
+   * @param timeToLive    The time a data key is cached after it was unwrapped, positive.
+   * @throws NullPointerException     If any parameter is {@code null}.
+   * @throws IllegalArgumentException If size or time are out of range.
+   */
+  public EnvelopeProcessor(@Nullable final ICryptProcessor keyProcessor,
+                           @Nullable final Key wrappingKey,
+                           @Nullable final Key unwrappingKey,
+                           final int maximumSize,
+                           @Nullable final Duration timeToLive) {
+    //Null check
+    Objects.requireNonNull(keyProcessor);
+    Objects.requireNonNull(wrappingKey);
+    Objects.requireNonNull(unwrappingKey);
+    Objects.requireNonNull(timeToLive);
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size=%d must be at least one.".formatted(maximumSize));
+    }
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new IllegalArgumentException("Time to live=%s must be positive.".formatted(timeToLive));
+    }
+
+    this.keyProcessor = keyProcessor;
+    this.wrappingKey = wrappingKey;
+    this.unwrappingKey = unwrappingKey;
+    this.dataKeyCache = new DataKeyCache(maximumSize, timeToLive.toNanos(), DataKey::destroy);
+  }
+
+  /**
+   * See {@link IEnvelopeProcessor#encrypt(byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue encrypt(byte @Nullable [] data)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(data);
+
+    final SecretKey dataKey = EnvelopeFormat.dataKey();
+    try {
+      final byte[] wrappedKey = this.keyProcessor.wrap(this.wrappingKey, dataKey).data();
+      return new ImmutableCryptValue(EnvelopeFormat.seal(wrappedKey, dataKey, data), CipherMode.ENCRYPT,
+          this.algorithm);
+    } finally {
+      EnvelopeFormat.destroy(dataKey);
+    }
+  }
+
+  /**
+   * See {@link IEnvelopeProcessor#decrypt(byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue decrypt(byte @Nullable [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(encryptedData);
+
+    final byte[] wrappedKey = EnvelopeFormat.wrappedKey(encryptedData);
+    final DataKeyCache.Fingerprint fingerprint = DataKeyCache.fingerprint(wrappedKey);
+    DataKey dataKey = this.dataKeyCache.get(fingerprint);
+    if (dataKey == null) {
+      dataKey = this.dataKeyCache.put(fingerprint, this.unwrap(wrappedKey));
+    }
+
+    try {
+      return this.decrypt(dataKey, encryptedData);
+    } catch (final PaddingException | IllegalKeyException | IllegalStateException exception) {
+      if (!dataKey.isDestroyed()) {
+        throw exception;
+      }
+    }
+
+    //The key was evicted and destroyed while in use, decrypt with a key of its own.
+    final DataKey uncachedKey = this.unwrap(wrappedKey);
+    try {
+      return this.decrypt(uncachedKey, encryptedData);
+    } finally {
+      uncachedKey.destroy();
+    }
+  }
+
+  /**
+   * See {@link IEnvelopeProcessor#cachedKeys()}
+   */
+  @Override
+  public int cachedKeys() {
+    return this.dataKeyCache.size();
+  }
+
+  /**
+   * See {@link IEnvelopeProcessor#invalidateAll()}
+   */
+  @Override
+  public void invalidateAll() {
+    this.dataKeyCache.clear();
+  }
+
+  /**
+   * Decrypts the data of an envelope.
+   *
+   * @param dataKey       The data key of the envelope.
+   * @param encryptedData The envelope.
+   * @return An {@code ICryptValue} holding the decrypted data.
+   * @throws PaddingException             If the data does not verify.
+   * @throws AlgorithmNotPresentException If AES/GCM is not present.
+   * @throws IllegalBlockException        If the data is shorter than a tag.
+   * @throws IllegalKeyException          If the data key is not accepted.
+   */
+  private @NotNull ICryptValue decrypt(@NotNull final DataKey dataKey,
+                                       final byte @NotNull [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    return new ImmutableCryptValue(EnvelopeFormat.open(dataKey, encryptedData), CipherMode.DECRYPT, this.algorithm);
+  }
+
+  /**
+   * Unwraps a data key under the master key.
+   *
+   * @param wrappedKey The wrapped data key.
+   * @return The data key.
+   * @throws AlgorithmNotPresentException If the wrapping algorithm is not present.
+   * @throws IllegalKeyException          If there is an issue with the master key, or the wrapped key does not
+   *                                      verify.
+   */
+  private @NotNull DataKey unwrap(final byte @NotNull [] wrappedKey)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    final SecretKey secretKey =
+        this.keyProcessor.unwrap(this.unwrappingKey, wrappedKey, EnvelopeFormat.DATA_KEY_ALGORITHM);
+    return new DataKey(secretKey.getEncoded(), EnvelopeFormat.DATA_KEY_ALGORITHM);
+  }
+}
@@ -0,0 +1,73 @@
+package dev.dotspace.dayhawk.security.crypt.envelope;
+
+import dev.dotspace.dayhawk.security.crypt.entity.ICryptValue;
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * The {@code IEnvelopeProcessor} interface defines a contract for envelope encryption: every message is encrypted
+ * with its own data key, and the data key is stored next to the message, wrapped under a master key.
+ *
+ * <p>The master key never encrypts data itself, it only wraps data keys. It can be an AES key, wrapped with
+ * AESWrap, or an RSA key pair, wrapped with RSA/OAEP. Unwrapping a data key is the expensive part of reading a
+ * message, so unwrapped data keys are cached: reading the same message again, or another message of the same data
+ * key, does not unwrap again.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IEnvelopeProcessor envelopeProcessor = new EnvelopeProcessor(new CryptProcessor("AESWrap"), masterKey);
+ *
+ * byte[] envelope = envelopeProcessor.encrypt(data).data();
+ * byte[] decrypted = envelopeProcessor.decrypt(envelope).data();
+ * }
+ * </pre>
+ *
+ * @see EnvelopeProcessor
+ */
+public interface IEnvelopeProcessor extends ISecurityProcessor, AlgorithmObject {
+  /**
+   * Encrypts the given data with a new data key, and wraps the data key under the master key.
+   *
+   * @param data The data to be encrypted.
+   * @return An {@code ICryptValue} holding the wrapped data key and the encrypted data.
+   * @throws AlgorithmNotPresentException If AES/GCM or the wrapping algorithm is not present.
+   * @throws IllegalBlockException        If the data key does not fit the wrapping algorithm.
+   * @throws IllegalKeyException          If there is an issue with the master key.
+   */
+  @NotNull ICryptValue encrypt(final byte @Nullable [] data)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Decrypts data encrypted by {@link #encrypt(byte[])}, unwrapping its data key unless it is cached.
+   *
+   * @param encryptedData The wrapped data key and the encrypted data.
+   * @return An {@code ICryptValue} representing the result of the decryption operation.
+   * @throws PaddingException             If the data is not in this format or does not verify.
+   * @throws AlgorithmNotPresentException If AES/GCM or the wrapping algorithm is not present.
+   * @throws IllegalBlockException        If the data is truncated.
+   * @throws IllegalKeyException          If there is an issue with the master key, or the wrapped key does not
+   *                                      verify.
+   */
+  @NotNull ICryptValue decrypt(final byte @Nullable [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Returns the number of cached data keys.
+   *
+   * @return The number of keys.
+   */
+  int cachedKeys();
+
+  /**
+   * Removes and destroys all cached data keys.
+   */
+  void invalidateAll();
+}
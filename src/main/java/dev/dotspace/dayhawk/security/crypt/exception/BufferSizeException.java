@@ -0,0 +1,80 @@
+package dev.dotspace.dayhawk.security.crypt.exception;
+
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * The {@code BufferSizeException} class is a specific cryptographic exception
+ * indicating that the output buffer of a cryptographic operation is too small for the result.
+ *
+ * <p>This exception extends {@code AbstractCryptException} and provides constructors for creating instances
+ * with different parameters, including messages and causes.</p>
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ * {@code
+ * try {
+ *     // Perform cryptographic operation into a buffer that is too small
+ * } catch (BufferSizeException e) {
+ *     // Allocate a buffer of the size reported by the processor and retry
+ *     System.err.println("Buffer too small: " + e.getMessage());
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The input and output are unchanged when this exception is thrown, the operation can be retried.</p>
+ *
+ * @author Day-Hawk
+ */
+public final class BufferSizeException extends AbstractCryptException {
+  /**
+   * Constructs an {@code BufferSizeException} with no detail message.
+   */
+  public BufferSizeException() {
+  }
+
+  /**
+   * Constructs an {@code BufferSizeException} with the specified detail message.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   */
+  public BufferSizeException(@Nullable String message) {
+    super(message);
+  }
+
+  /**
+   * Constructs an {@code BufferSizeException} with the specified detail message and cause.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   * @param cause   The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public BufferSizeException(@Nullable String message, @Nullable Throwable cause) {
+    super(message, cause);
+  }
+
+  /**
+   * Constructs an {@code BufferSizeException} with the specified cause.
+   *
+   * @param cause The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public BufferSizeException(@Nullable Throwable cause) {
+    super(cause);
+  }
+
+  /**
+   * Constructs an {@code BufferSizeException} with the specified detail message,
+   * cause, suppression enabled or disabled, and writable stack trace enabled or disabled.
+   *
+   * @param message            The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   * @param cause              The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   * @param enableSuppression  Whether or not suppression is enabled or disabled.
+   * @param writableStackTrace Whether or not the stack trace should be writable.
+   */
+  public BufferSizeException(@Nullable String message,
+                               @Nullable Throwable cause,
+                               boolean enableSuppression,
+                               boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
+
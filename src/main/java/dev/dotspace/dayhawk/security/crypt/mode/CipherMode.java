@@ -10,7 +10,7 @@ import javax.crypto.Cipher;
 
 /**
  * The {@code CipherMode} enum represents the modes of operation for a cryptographic cipher, such as
- * encryption or decryption.
+ * encryption, decryption or the wrapping of keys.
  *
  * <p>Each enum constant corresponds to a specific cipher mode identifier used in cryptographic operations.</p>
  *
@@ -34,7 +34,17 @@ public enum CipherMode {
   /**
    * Represents the decryption mode of a cryptographic cipher.
    */
-  DECRYPT(Cipher.DECRYPT_MODE);
+  DECRYPT(Cipher.DECRYPT_MODE),
+
+  /**
+   * Represents the key wrapping mode of a cryptographic cipher.
+   */
+  WRAP(Cipher.WRAP_MODE),
+
+  /**
+   * Represents the key unwrapping mode of a cryptographic cipher.
+   */
+  UNWRAP(Cipher.UNWRAP_MODE);
 
   /**
    * The cipher mode identifier associated with the enum constant.
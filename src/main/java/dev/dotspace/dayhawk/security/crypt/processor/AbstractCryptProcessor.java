@@ -2,11 +2,14 @@ package dev.dotspace.dayhawk.security.crypt.processor;
 
 import dev.dotspace.dayhawk.security.crypt.entity.ICryptValue;
 import dev.dotspace.dayhawk.security.crypt.entity.ImmutableCryptValue;
+import dev.dotspace.dayhawk.security.crypt.envelope.EnvelopeFormat;
 import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.BufferSizeException;
 import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
 import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
 import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
 import dev.dotspace.dayhawk.security.crypt.mode.CipherMode;
+import dev.dotspace.dayhawk.security.pool.InstancePool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -14,6 +17,17 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.Key;
@@ -21,7 +35,15 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.Certificate;
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 
 /**
@@ -34,6 +56,10 @@ import java.util.Objects;
  * <p>This class provides a template for cryptographic operations, including null checks, initialization,
  * and exception handling. It utilizes the {@link Cipher} class for actual encryption and decryption.</p>
  *
+ * <p>Ciphers are pooled per mode and key, so a processor should be kept and shared instead of being created per
+ * message. Looking up the provider and computing the key schedule then happens once per key and thread instead of
+ * once per message.</p>
+ *
  * <p>Usage Example:</p>
  * <pre>
  * {@code
@@ -60,7 +86,47 @@ import java.util.Objects;
  * @see ICryptProcessor
  */
 public abstract class AbstractCryptProcessor implements ICryptProcessor {
+  /**
+   * Maximum number of keys with pooled ciphers per processor and mode.
+   */
+  public static final int MAX_POOLED_KEYS = 64;
+  /**
+   * Size of the block buffer used to read streams and channels.
+   */
+  protected static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Default and maximum number of messages a key may encrypt with {@link #encryptAead(Key, byte[])}, the counter of
+   * a nonce has four bytes.
+   */
+  public static final long DEFAULT_AEAD_MESSAGE_LIMIT = 1L << 32;
+  /**
+   * Length of the nonces generated for authenticated ciphers.
+   */
+  public static final int AEAD_NONCE_LENGTH = 12;
+  private static final @NotNull SecureRandom SECURE_RANDOM = new SecureRandom();
+  private static final byte @NotNull [] EMPTY = new byte[0];
+  /**
+   * Key of the current thread for looking up pools without allocating.
+   */
+  private static final @NotNull ThreadLocal<PoolKey> PROBE = ThreadLocal.withInitial(PoolKey::new);
+
   private final @NotNull String algorithm;
+  /**
+   * Parameters of a nonce for the algorithm, {@code null} if it is not an authenticated cipher.
+   */
+  private final @Nullable Function<byte[], AlgorithmParameterSpec> aeadParameters;
+  private final long aeadMessageLimit;
+  /**
+   * Nonce counter of every key used with {@link #encryptAead(Key, byte[])}, removed by {@link #discard(Key)}. A
+   * counter created again draws a new prefix.
+   */
+  private final @NotNull ConcurrentHashMap<Key, NonceCounter> nonceCounters = new ConcurrentHashMap<>();
+  /**
+   * Idle ciphers, per mode (by ordinal) and key identity. Looking up a pool neither locks nor allocates, adding and
+   * evicting one only locks a bin of the map.
+   */
+  private final @NotNull List<ConcurrentHashMap<PoolKey, CipherPool>> pools;
 
   /**
    * Constructs an {@code AbstractCryptProcessor} with the specified algorithm.
@@ -69,10 +135,42 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
    * @throws NullPointerException If the provided algorithm is {@code null}.
    */
   protected AbstractCryptProcessor(@Nullable String algorithm) {
+    this(algorithm, DEFAULT_AEAD_MESSAGE_LIMIT);
+  }
+
+  /**
+   * Constructs an {@code AbstractCryptProcessor} with the specified algorithm and message limit.
+   *
+   * @param algorithm        The algorithm to be used for cryptographic operations.
+   * @param aeadMessageLimit The number of messages a key may encrypt with {@link #encryptAead(Key, byte[])}.
+   * @throws NullPointerException     If the provided algorithm is {@code null}.
+   * @throws IllegalArgumentException If the message limit is not positive or above
+   *                                  {@link #DEFAULT_AEAD_MESSAGE_LIMIT}.
+   */
+  protected AbstractCryptProcessor(@Nullable String algorithm,
+                                   long aeadMessageLimit) {
     //Null check
     Objects.requireNonNull(algorithm);
+    if (aeadMessageLimit < 1 || aeadMessageLimit > DEFAULT_AEAD_MESSAGE_LIMIT) {
+      throw new IllegalArgumentException("Message limit=%d must be from 1 to %d."
+          .formatted(aeadMessageLimit, DEFAULT_AEAD_MESSAGE_LIMIT));
+    }
 
     this.algorithm = algorithm;
+    this.aeadMessageLimit = aeadMessageLimit;
+    final String upperCase = algorithm.toUpperCase(Locale.ROOT);
+    if (upperCase.contains("/GCM/")) {
+      this.aeadParameters = nonce -> new GCMParameterSpec(128, nonce);
+    } else if (upperCase.equals("CHACHA20-POLY1305")) {
+      this.aeadParameters = IvParameterSpec::new;
+    } else {
+      this.aeadParameters = null;
+    }
+    final List<ConcurrentHashMap<PoolKey, CipherPool>> pools = new ArrayList<>();
+    for (int index = 0; index < CipherMode.values().length; index++) {
+      pools.add(new ConcurrentHashMap<>());
+    }
+    this.pools = List.copyOf(pools);
   }
 
   /**
@@ -85,7 +183,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     //Null check
     Objects.requireNonNull(key);
 
-    return this.process(CipherMode.ENCRYPT, data, (mode, cipher) -> cipher.init(mode, key));
+    return this.process(CipherMode.ENCRYPT, key, true, data, (mode, cipher) -> cipher.init(mode, key));
   }
 
   /**
@@ -100,7 +198,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(key);
     Objects.requireNonNull(secureRandom);
 
-    return this.process(CipherMode.ENCRYPT, data, (mode, cipher) -> cipher.init(mode, key, secureRandom));
+    return this.process(CipherMode.ENCRYPT, key, false, data, (mode, cipher) -> cipher.init(mode, key, secureRandom));
   }
 
   /**
@@ -115,7 +213,8 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(key);
     Objects.requireNonNull(algorithmParameterSpec);
 
-    return this.process(CipherMode.ENCRYPT, data, (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec));
+    return this.process(CipherMode.ENCRYPT, key, false, data, (mode, cipher) ->
+        cipher.init(mode, key, algorithmParameterSpec));
   }
 
   /**
@@ -132,7 +231,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(algorithmParameterSpec);
     Objects.requireNonNull(secureRandom);
 
-    return this.process(CipherMode.ENCRYPT, data,
+    return this.process(CipherMode.ENCRYPT, key, false, data,
         (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec, secureRandom));
   }
 
@@ -146,7 +245,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     //Null check
     Objects.requireNonNull(certificate);
 
-    return this.process(CipherMode.ENCRYPT, data, (mode, cipher) -> cipher.init(mode, certificate));
+    return this.process(CipherMode.ENCRYPT, certificate, true, data, (mode, cipher) -> cipher.init(mode, certificate));
   }
 
   /**
@@ -161,7 +260,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(certificate);
     Objects.requireNonNull(secureRandom);
 
-    return this.process(CipherMode.ENCRYPT, data, (mode, cipher) ->
+    return this.process(CipherMode.ENCRYPT, certificate, false, data, (mode, cipher) ->
         cipher.init(mode, certificate, secureRandom));
   }
 
@@ -175,8 +274,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     //Null check
     Objects.requireNonNull(key);
 
-    return this.process(CipherMode.DECRYPT, encryptedData,
-        (mode, cipher) -> cipher.init(mode, key));
+    return this.process(CipherMode.DECRYPT, key, true, encryptedData, (mode, cipher) -> cipher.init(mode, key));
   }
 
   /**
@@ -191,7 +289,8 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(key);
     Objects.requireNonNull(secureRandom);
 
-    return this.process(CipherMode.DECRYPT, encryptedData, (mode, cipher) -> cipher.init(mode, key, secureRandom));
+    return this.process(CipherMode.DECRYPT, key, false, encryptedData, (mode, cipher) ->
+        cipher.init(mode, key, secureRandom));
   }
 
   /**
@@ -206,7 +305,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(key);
     Objects.requireNonNull(algorithmParameterSpec);
 
-    return this.process(CipherMode.DECRYPT, encryptedData, (mode, cipher) ->
+    return this.process(CipherMode.DECRYPT, key, false, encryptedData, (mode, cipher) ->
         cipher.init(mode, key, algorithmParameterSpec));
   }
 
@@ -224,7 +323,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(algorithmParameterSpec);
     Objects.requireNonNull(secureRandom);
 
-    return this.process(CipherMode.DECRYPT, encryptedData, (mode, cipher) ->
+    return this.process(CipherMode.DECRYPT, key, false, encryptedData, (mode, cipher) ->
         cipher.init(mode, key, algorithmParameterSpec, secureRandom));
   }
 
@@ -238,7 +337,7 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     //Null check
     Objects.requireNonNull(certificate);
 
-    return this.process(CipherMode.DECRYPT, encryptedData, (mode, cipher) ->
+    return this.process(CipherMode.DECRYPT, certificate, true, encryptedData, (mode, cipher) ->
         cipher.init(mode, certificate));
   }
 
@@ -254,13 +353,584 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
     Objects.requireNonNull(certificate);
     Objects.requireNonNull(secureRandom);
 
-    return this.process(CipherMode.DECRYPT, encryptedData, (mode, cipher) ->
+    return this.process(CipherMode.DECRYPT, certificate, false, encryptedData, (mode, cipher) ->
         cipher.init(mode, certificate, secureRandom));
   }
 
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, InputStream, OutputStream)}
+   */
+  @Override
+  public long encrypt(@Nullable Key key,
+                      @Nullable InputStream inputStream,
+                      @Nullable OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(inputStream);
+    Objects.requireNonNull(outputStream);
+
+    return this.execute(CipherMode.ENCRYPT, key, true, (mode, cipher) -> cipher.init(mode, key),
+        cipher -> transfer(cipher, inputStream, outputStream));
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, ReadableByteChannel, WritableByteChannel)}
+   */
+  @Override
+  public long encrypt(@Nullable Key key,
+                      @Nullable ReadableByteChannel inputChannel,
+                      @Nullable WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(inputChannel);
+    Objects.requireNonNull(outputChannel);
+
+    return this.execute(CipherMode.ENCRYPT, key, true, (mode, cipher) -> cipher.init(mode, key),
+        cipher -> transfer(cipher, inputChannel, outputChannel));
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, AlgorithmParameterSpec, InputStream, OutputStream)}
+   */
+  @Override
+  public long encrypt(@Nullable Key key,
+                      @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                      @Nullable InputStream inputStream,
+                      @Nullable OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(inputStream);
+    Objects.requireNonNull(outputStream);
+
+    return this.execute(CipherMode.ENCRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> transfer(cipher, inputStream, outputStream));
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, AlgorithmParameterSpec, ReadableByteChannel, WritableByteChannel)}
+   */
+  @Override
+  public long encrypt(@Nullable Key key,
+                      @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                      @Nullable ReadableByteChannel inputChannel,
+                      @Nullable WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(inputChannel);
+    Objects.requireNonNull(outputChannel);
+
+    return this.execute(CipherMode.ENCRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> transfer(cipher, inputChannel, outputChannel));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, InputStream, OutputStream)}
+   */
+  @Override
+  public long decrypt(@Nullable Key key,
+                      @Nullable InputStream inputStream,
+                      @Nullable OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(inputStream);
+    Objects.requireNonNull(outputStream);
+
+    return this.execute(CipherMode.DECRYPT, key, true, (mode, cipher) -> cipher.init(mode, key),
+        cipher -> transfer(cipher, inputStream, outputStream));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, ReadableByteChannel, WritableByteChannel)}
+   */
+  @Override
+  public long decrypt(@Nullable Key key,
+                      @Nullable ReadableByteChannel inputChannel,
+                      @Nullable WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(inputChannel);
+    Objects.requireNonNull(outputChannel);
+
+    return this.execute(CipherMode.DECRYPT, key, true, (mode, cipher) -> cipher.init(mode, key),
+        cipher -> transfer(cipher, inputChannel, outputChannel));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, AlgorithmParameterSpec, InputStream, OutputStream)}
+   */
+  @Override
+  public long decrypt(@Nullable Key key,
+                      @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                      @Nullable InputStream inputStream,
+                      @Nullable OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(inputStream);
+    Objects.requireNonNull(outputStream);
+
+    return this.execute(CipherMode.DECRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> transfer(cipher, inputStream, outputStream));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, AlgorithmParameterSpec, ReadableByteChannel, WritableByteChannel)}
+   */
+  @Override
+  public long decrypt(@Nullable Key key,
+                      @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                      @Nullable ReadableByteChannel inputChannel,
+                      @Nullable WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(inputChannel);
+    Objects.requireNonNull(outputChannel);
+
+    return this.execute(CipherMode.DECRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> transfer(cipher, inputChannel, outputChannel));
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, ByteBuffer, ByteBuffer)}
+   */
+  @Override
+  public int encrypt(@Nullable Key key,
+                     @Nullable ByteBuffer input,
+                     @Nullable ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+
+    return this.execute(CipherMode.ENCRYPT, key, true,
+        (mode, cipher) -> cipher.init(mode, key),
+        cipher -> doFinal(cipher, input, output));
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, AlgorithmParameterSpec, ByteBuffer, ByteBuffer)}
+   */
+  @Override
+  public int encrypt(@Nullable Key key,
+                     @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                     @Nullable ByteBuffer input,
+                     @Nullable ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+
+    return this.execute(CipherMode.ENCRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> doFinal(cipher, input, output));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, ByteBuffer, ByteBuffer)}
+   */
+  @Override
+  public int decrypt(@Nullable Key key,
+                     @Nullable ByteBuffer input,
+                     @Nullable ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+
+    return this.execute(CipherMode.DECRYPT, key, true,
+        (mode, cipher) -> cipher.init(mode, key),
+        cipher -> doFinal(cipher, input, output));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, AlgorithmParameterSpec, ByteBuffer, ByteBuffer)}
+   */
+  @Override
+  public int decrypt(@Nullable Key key,
+                     @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                     @Nullable ByteBuffer input,
+                     @Nullable ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+
+    return this.execute(CipherMode.DECRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> doFinal(cipher, input, output));
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, byte[], int, int, byte[], int)}
+   */
+  @Override
+  public int encrypt(@Nullable Key key,
+                     byte @Nullable [] input,
+                     int inputOffset,
+                     int inputLength,
+                     byte @Nullable [] output,
+                     int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+    Objects.checkFromIndexSize(inputOffset, inputLength, input.length);
+    Objects.checkIndex(outputOffset, output.length + 1);
+
+    return this.doFinal(CipherMode.ENCRYPT, key, input, inputOffset, inputLength, output, outputOffset);
+  }
+
+  /**
+   * See {@link ICryptProcessor#encrypt(Key, AlgorithmParameterSpec, byte[], int, int, byte[], int)}
+   */
+  @Override
+  public int encrypt(@Nullable Key key,
+                     @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                     byte @Nullable [] input,
+                     int inputOffset,
+                     int inputLength,
+                     byte @Nullable [] output,
+                     int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+    Objects.checkFromIndexSize(inputOffset, inputLength, input.length);
+    Objects.checkIndex(outputOffset, output.length + 1);
+
+    return this.execute(CipherMode.ENCRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> doFinal(cipher, input, inputOffset, inputLength, output, outputOffset));
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, byte[], int, int, byte[], int)}
+   */
+  @Override
+  public int decrypt(@Nullable Key key,
+                     byte @Nullable [] input,
+                     int inputOffset,
+                     int inputLength,
+                     byte @Nullable [] output,
+                     int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+    Objects.checkFromIndexSize(inputOffset, inputLength, input.length);
+    Objects.checkIndex(outputOffset, output.length + 1);
+
+    return this.doFinal(CipherMode.DECRYPT, key, input, inputOffset, inputLength, output, outputOffset);
+  }
+
+  /**
+   * See {@link ICryptProcessor#decrypt(Key, AlgorithmParameterSpec, byte[], int, int, byte[], int)}
+   */
+  @Override
+  public int decrypt(@Nullable Key key,
+                     @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                     byte @Nullable [] input,
+                     int inputOffset,
+                     int inputLength,
+                     byte @Nullable [] output,
+                     int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+    Objects.checkFromIndexSize(inputOffset, inputLength, input.length);
+    Objects.checkIndex(outputOffset, output.length + 1);
+
+    return this.execute(CipherMode.DECRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec),
+        cipher -> doFinal(cipher, input, inputOffset, inputLength, output, outputOffset));
+  }
+
+  /**
+   * See {@link ICryptProcessor#outputSize(CipherMode, Key, int)}
+   */
+  @Override
+  public int outputSize(@Nullable CipherMode cipherMode,
+                        @Nullable Key key,
+                        int inputLength)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(cipherMode);
+    Objects.requireNonNull(key);
+
+    return this.outputSize(cipherMode, key, true, (mode, cipher) -> cipher.init(mode, key), inputLength);
+  }
+
+  /**
+   * See {@link ICryptProcessor#outputSize(CipherMode, Key, AlgorithmParameterSpec, int)}
+   */
+  @Override
+  public int outputSize(@Nullable CipherMode cipherMode,
+                        @Nullable Key key,
+                        @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                        int inputLength)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(cipherMode);
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+
+    //Not pooled: a pooled GCM cipher initialized with these parameters would reject them for the next encryption.
+    return this.outputSize(cipherMode, null, false,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec), inputLength);
+  }
+
+  /**
+   * See {@link ICryptProcessor#encryptAead(Key, byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue encryptAead(@Nullable Key key,
+                                          byte @Nullable [] data)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    return this.encryptAead(key, data, EMPTY);
+  }
+
+  /**
+   * See {@link ICryptProcessor#encryptAead(Key, byte[], byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue encryptAead(@Nullable Key key,
+                                          byte @Nullable [] data,
+                                          byte @Nullable [] associatedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(data);
+    Objects.requireNonNull(associatedData);
+
+    final AlgorithmParameterSpec parameterSpec = this.aeadParameters().apply(this.nonce(key));
+    return this.execute(CipherMode.ENCRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, parameterSpec),
+        cipher -> {
+          final byte[] nonce = cipher.getIV();
+          final byte[] output = new byte[nonce.length + cipher.getOutputSize(data.length)];
+          System.arraycopy(nonce, 0, output, 0, nonce.length);
+          cipher.updateAAD(associatedData);
+          final int length = nonce.length + cipher.doFinal(data, 0, data.length, output, nonce.length);
+          return new ImmutableCryptValue(length == output.length ? output : Arrays.copyOf(output, length),
+              CipherMode.ENCRYPT, this.algorithm);
+        });
+  }
+
+  /**
+   * See {@link ICryptProcessor#decryptAead(Key, byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue decryptAead(@Nullable Key key,
+                                          byte @Nullable [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    return this.decryptAead(key, encryptedData, EMPTY);
+  }
+
+  /**
+   * See {@link ICryptProcessor#decryptAead(Key, byte[], byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue decryptAead(@Nullable Key key,
+                                          byte @Nullable [] encryptedData,
+                                          byte @Nullable [] associatedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(encryptedData);
+    Objects.requireNonNull(associatedData);
+    if (encryptedData.length < AEAD_NONCE_LENGTH) {
+      throw new IllegalBlockException("Encrypted data of %d bytes is shorter than a nonce."
+          .formatted(encryptedData.length));
+    }
+
+    final AlgorithmParameterSpec parameterSpec =
+        this.aeadParameters().apply(Arrays.copyOf(encryptedData, AEAD_NONCE_LENGTH));
+    return this.execute(CipherMode.DECRYPT, key, false,
+        (mode, cipher) -> cipher.init(mode, key, parameterSpec),
+        cipher -> {
+          cipher.updateAAD(associatedData);
+          return new ImmutableCryptValue(cipher.doFinal(encryptedData, AEAD_NONCE_LENGTH,
+              encryptedData.length - AEAD_NONCE_LENGTH), CipherMode.DECRYPT, this.algorithm);
+        });
+  }
+
+  /**
+   * See {@link ICryptProcessor#wrap(Key, Key)}
+   */
+  @Override
+  public @NotNull ICryptValue wrap(@Nullable Key key,
+                                   @Nullable Key wrappedKey)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+
+    return this.wrap(key, true, wrappedKey, (mode, cipher) -> cipher.init(mode, key));
+  }
+
+  /**
+   * See {@link ICryptProcessor#wrap(Key, AlgorithmParameterSpec, Key)}
+   */
+  @Override
+  public @NotNull ICryptValue wrap(@Nullable Key key,
+                                   @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                                   @Nullable Key wrappedKey)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+
+    return this.wrap(key, false, wrappedKey, (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec));
+  }
+
+  /**
+   * See {@link ICryptProcessor#wrap(Certificate, Key)}
+   */
+  @Override
+  public @NotNull ICryptValue wrap(@Nullable Certificate certificate,
+                                   @Nullable Key wrappedKey)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(certificate);
+
+    return this.wrap(certificate, true, wrappedKey, (mode, cipher) -> cipher.init(mode, certificate));
+  }
+
+  /**
+   * See {@link ICryptProcessor#unwrap(Key, byte[], String)}
+   */
+  @Override
+  public @NotNull SecretKey unwrap(@Nullable Key key,
+                                   byte @Nullable [] wrappedKey,
+                                   @Nullable String keyAlgorithm)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+
+    return this.unwrap(key, true, wrappedKey, keyAlgorithm, (mode, cipher) -> cipher.init(mode, key));
+  }
+
+  /**
+   * See {@link ICryptProcessor#unwrap(Key, AlgorithmParameterSpec, byte[], String)}
+   */
+  @Override
+  public @NotNull SecretKey unwrap(@Nullable Key key,
+                                   @Nullable AlgorithmParameterSpec algorithmParameterSpec,
+                                   byte @Nullable [] wrappedKey,
+                                   @Nullable String keyAlgorithm)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(algorithmParameterSpec);
+
+    return this.unwrap(key, false, wrappedKey, keyAlgorithm,
+        (mode, cipher) -> cipher.init(mode, key, algorithmParameterSpec));
+  }
+
+  /**
+   * See {@link ICryptProcessor#discard(Key)}
+   */
+  @Override
+  public void discard(@Nullable Key key) {
+    //Null check
+    Objects.requireNonNull(key);
+
+    this.nonceCounters.remove(key);
+    final PoolKey poolKey = new PoolKey(key);
+    for (final ConcurrentHashMap<PoolKey, CipherPool> pools : this.pools) {
+      pools.remove(poolKey);
+    }
+  }
+
+  /**
+   * See {@link ICryptProcessor#encryptHybrid(Certificate, byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue encryptHybrid(@Nullable Certificate certificate,
+                                            byte @Nullable [] data)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(certificate);
+    Objects.requireNonNull(data);
+    this.requireOaep();
+
+    final SecretKey dataKey = EnvelopeFormat.dataKey();
+    try {
+      final byte[] wrappedKey = this.wrap(certificate, dataKey).data();
+      return new ImmutableCryptValue(EnvelopeFormat.seal(wrappedKey, dataKey, data), CipherMode.ENCRYPT,
+          this.hybridAlgorithm());
+    } finally {
+      EnvelopeFormat.destroy(dataKey);
+    }
+  }
+
+  /**
+   * See {@link ICryptProcessor#decryptHybrid(Key, byte[])}
+   */
+  @Override
+  public @NotNull ICryptValue decryptHybrid(@Nullable Key key,
+                                            byte @Nullable [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(encryptedData);
+    this.requireOaep();
+
+    final SecretKey dataKey =
+        this.unwrap(key, EnvelopeFormat.wrappedKey(encryptedData), EnvelopeFormat.DATA_KEY_ALGORITHM);
+    return new ImmutableCryptValue(EnvelopeFormat.open(dataKey, encryptedData), CipherMode.DECRYPT,
+        this.hybridAlgorithm());
+  }
+
   /**
    * Processes the cryptographic operation using the specified cipher mode, data, and initialization consumer.
    *
+   * <p>The cipher is created for this call only. The encrypt and decrypt methods of this class reuse pooled
+   * instances instead, see {@link #execute(CipherMode, Object, boolean, CipherFunction, CipherOperation)}.</p>
+   *
    * @param cipherMode   The cipher mode indicating encryption or decryption.
    * @param data         The data to be processed.
    * @param initConsumer The initialization consumer for configuring the cipher.
@@ -274,47 +944,546 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
                                       byte @Nullable [] data,
                                       @NotNull final AbstractCryptProcessor.CipherFunction initConsumer)
       throws AlgorithmNotPresentException, PaddingException, IllegalBlockException, IllegalKeyException {
+    return this.process(cipherMode, null, false, data, initConsumer);
+  }
+
+  /**
+   * Processes the data with a pooled cipher of the given key.
+   *
+   * @param cipherMode   The cipher mode indicating encryption or decryption.
+   * @param keyIdentity  The key or certificate the cipher is initialized with, {@code null} to not pool the cipher.
+   * @param plainInit    {@code true} if the initialization only depends on mode and key.
+   * @param data         The data to be processed.
+   * @param initConsumer The initialization consumer for configuring the cipher.
+   * @return An {@code ICryptValue} representing the result of the cryptographic operation.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws IllegalBlockException        If there is an issue with the block size.
+   * @throws IllegalKeyException          If there is an issue with the provided key or certificate.
+   */
+  private @NotNull ICryptValue process(@NotNull final CipherMode cipherMode,
+                                       @Nullable final Object keyIdentity,
+                                       final boolean plainInit,
+                                       byte @Nullable [] data,
+                                       @NotNull final AbstractCryptProcessor.CipherFunction initConsumer)
+      throws AlgorithmNotPresentException, PaddingException, IllegalBlockException, IllegalKeyException {
     //Null check
     Objects.requireNonNull(data);
 
+    return this.execute(cipherMode, keyIdentity, plainInit, initConsumer,
+        cipher -> new ImmutableCryptValue(cipher.doFinal(data), cipherMode, this.algorithm));
+  }
+
+  /**
+   * Runs an operation on an initialized cipher.
+   *
+   * <p>Ciphers are taken from a pool of the mode and key, {@code keyIdentity} is compared by identity. A pooled
+   * cipher is initialized again unless {@code plainInit} is set and the cipher uses no IV: with an IV, skipping
+   * the initialization would encrypt the next message with the same IV. A cipher is only returned to the pool if
+   * the operation completed, after an exception its state is unknown and it is dropped.</p>
+   *
+   * <p>Some providers reject encrypting with the key and IV of the previous encryption of a cipher, for example
+   * SunJCE for GCM. Whether a pooled cipher remembers the pair depends on which cipher is picked, so a pooled cipher
+   * rejecting its parameters is checked against a new cipher: if the new cipher accepts them, the IV was used
+   * before and an {@link IllegalKeyException} is thrown. Reuse of an IV is not detected in general, callers must
+   * not reuse IVs with a key.</p>
+   *
+   * @param cipherMode   The cipher mode indicating encryption or decryption.
+   * @param keyIdentity  The key or certificate the cipher is initialized with, {@code null} to not pool the cipher.
+   * @param plainInit    {@code true} if the initialization only depends on mode and key.
+   * @param initConsumer The initialization consumer for configuring the cipher.
+   * @param operation    The operation to run, the cipher must not be used after it returned.
+   * @param <TYPE>       The result type of the operation.
+   * @param <EXCEPTION>  An additional exception thrown by the operation.
+   * @return The result of the operation.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws IllegalBlockException        If there is an issue with the block size.
+   * @throws IllegalKeyException          If there is an issue with the provided key or certificate, or a pooled
+   *                                      cipher detected the reuse of an IV.
+   * @throws EXCEPTION                    If the operation fails.
+   */
+  protected <TYPE, EXCEPTION extends Exception> TYPE execute(
+      @NotNull final CipherMode cipherMode,
+      @Nullable final Object keyIdentity,
+      final boolean plainInit,
+      @NotNull final AbstractCryptProcessor.CipherFunction initConsumer,
+      @NotNull final AbstractCryptProcessor.CipherOperation<TYPE, EXCEPTION> operation)
+      throws AlgorithmNotPresentException, PaddingException, IllegalBlockException, IllegalKeyException, EXCEPTION {
+    final InstancePool<PooledCipher> pool = keyIdentity == null ? null : this.pool(cipherMode, keyIdentity);
+    PooledCipher pooledCipher = pool == null ? null : pool.acquire();
+    final boolean pooled = pooledCipher != null;
+
     try {
-      final Cipher cipher = Cipher.getInstance(this.algorithm);
-      initConsumer.accept(cipherMode.cipherModeId(), cipher);
-      return this.cryptValue(cipher, data, cipherMode);
+      if (pooledCipher == null) {
+        pooledCipher = new PooledCipher(Cipher.getInstance(this.algorithm));
+      }
+      if (!plainInit || !pooledCipher.reusable) {
+        try {
+          initConsumer.accept(cipherMode.cipherModeId(), pooledCipher.cipher);
+        } catch (final InvalidAlgorithmParameterException exception) {
+          if (pooled) {
+            //Throws if a new cipher rejects the parameters as well.
+            initConsumer.accept(cipherMode.cipherModeId(), Cipher.getInstance(this.algorithm));
+            throw new IllegalKeyException(
+                "Key and IV were used before with algorithm=%s, an IV must not be reused.".formatted(this.algorithm),
+                exception);
+          }
+          throw exception;
+        }
+        pooledCipher.reusable = plainInit && pooledCipher.cipher.getIV() == null;
+      }
+
+      final TYPE result = operation.apply(pooledCipher.cipher);
+      if (pool != null) {
+        pool.release(pooledCipher);
+      }
+      return result;
+    } catch (final GeneralSecurityException exception) {
+      throw this.rethrow(exception);
+    }
+  }
 
-      //Algorithm error
-    } catch (final NoSuchAlgorithmException | InvalidAlgorithmParameterException exception) {
-      throw new AlgorithmNotPresentException("Algorithm=%s is not present or wrong configuration.".formatted(this.algorithm), exception);
+  /**
+   * Wraps a key with a pooled cipher of the given key or certificate.
+   *
+   * @param keyIdentity  The key or certificate the cipher is initialized with.
+   * @param plainInit    {@code true} if the initialization only depends on mode and key.
+   * @param wrappedKey   The key to be wrapped.
+   * @param initConsumer The initialization consumer for configuring the cipher.
+   * @return An {@code ICryptValue} holding the wrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If the key to be wrapped does not fit the block size of the algorithm.
+   * @throws IllegalKeyException          If there is an issue with one of the keys.
+   */
+  private @NotNull ICryptValue wrap(@NotNull final Object keyIdentity,
+                                    final boolean plainInit,
+                                    @Nullable final Key wrappedKey,
+                                    @NotNull final AbstractCryptProcessor.CipherFunction initConsumer)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(wrappedKey);
 
-      //Error with padding, not present or padding can't be used.
-    } catch (final NoSuchPaddingException | BadPaddingException exception) {
+    try {
+      return this.execute(CipherMode.WRAP, keyIdentity, plainInit, initConsumer,
+          cipher -> new ImmutableCryptValue(cipher.wrap(wrappedKey), CipherMode.WRAP, this.algorithm));
+    } catch (final PaddingException exception) {
+      //Not possible, wrapping does not verify anything.
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Unwraps a secret key with a pooled cipher of the given key.
+   *
+   * @param key          The key the cipher is initialized with.
+   * @param plainInit    {@code true} if the initialization only depends on mode and key.
+   * @param wrappedKey   The wrapped key.
+   * @param keyAlgorithm The algorithm of the wrapped key.
+   * @param initConsumer The initialization consumer for configuring the cipher.
+   * @return The unwrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm or the key algorithm is not present.
+   * @throws IllegalKeyException          If there is an issue with the key, or the wrapped key does not verify.
+   */
+  private @NotNull SecretKey unwrap(@NotNull final Key key,
+                                    final boolean plainInit,
+                                    final byte @Nullable [] wrappedKey,
+                                    @Nullable final String keyAlgorithm,
+                                    @NotNull final AbstractCryptProcessor.CipherFunction initConsumer)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(wrappedKey);
+    Objects.requireNonNull(keyAlgorithm);
+
+    try {
+      return this.execute(CipherMode.UNWRAP, key, plainInit, initConsumer,
+          cipher -> (SecretKey) cipher.unwrap(wrappedKey, keyAlgorithm, Cipher.SECRET_KEY));
+    } catch (final PaddingException | IllegalBlockException exception) {
+      //Not possible, unwrapping reports failed verification as an invalid key.
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Returns the name of the hybrid algorithm: the algorithm of this processor wrapping AES/GCM data keys.
+   *
+   * @return The name of the algorithm.
+   */
+  private @NotNull String hybridAlgorithm() {
+    return this.algorithm + "+AES/GCM/NoPadding";
+  }
+
+  /**
+   * Checks that the algorithm of this processor is RSA/OAEP, the only padding fit for wrapping hybrid data keys.
+   *
+   * @throws AlgorithmNotPresentException If the algorithm is not RSA/OAEP, for example {@code RSA} which defaults
+   *                                      to PKCS#1 v1.5 padding.
+   */
+  private void requireOaep() throws AlgorithmNotPresentException {
+    if (!this.algorithm.toUpperCase(Locale.ROOT).contains("OAEP")) {
+      throw new AlgorithmNotPresentException(
+          "Algorithm=%s does not use OAEP padding, required for hybrid encryption.".formatted(this.algorithm));
+    }
+  }
+
+  /**
+   * Maps an exception of a cipher to the exceptions of this class.
+   *
+   * @param exception The exception thrown by the cipher.
+   * @return An {@link IllegalStateException} for exceptions not thrown by the operations of this class.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws IllegalBlockException        If there is an issue with the block size.
+   * @throws IllegalKeyException          If there is an issue with the provided key or certificate.
+   */
+  private @NotNull IllegalStateException rethrow(@NotNull final GeneralSecurityException exception)
+      throws AlgorithmNotPresentException, PaddingException, IllegalBlockException, IllegalKeyException {
+    //Algorithm error
+    if (exception instanceof NoSuchAlgorithmException || exception instanceof InvalidAlgorithmParameterException) {
+      throw new AlgorithmNotPresentException(
+          "Algorithm=%s is not present or wrong configuration.".formatted(this.algorithm), exception);
+    }
+
+    //Error with padding, not present or padding can't be used.
+    if (exception instanceof NoSuchPaddingException || exception instanceof BadPaddingException) {
       throw new PaddingException(exception);
+    }
 
-      //Error with block size.
-    } catch (final IllegalBlockSizeException exception) {
+    //Error with block size.
+    if (exception instanceof IllegalBlockSizeException) {
       throw new IllegalBlockException(exception);
+    }
 
-      //Something is wrong with given key.
-    } catch (InvalidKeyException exception) {
+    //Something is wrong with given key.
+    if (exception instanceof InvalidKeyException) {
       throw new IllegalKeyException(exception);
     }
+    return new IllegalStateException(exception);
+  }
+
+  /**
+   * Returns the output size of an initialized cipher.
+   *
+   * @param cipherMode   The cipher mode.
+   * @param keyIdentity  The key the cipher is initialized with, {@code null} to not pool the cipher.
+   * @param plainInit    {@code true} if the initialization only depends on mode and key.
+   * @param initConsumer The initialization consumer for configuring the cipher.
+   * @param inputLength  The number of input bytes.
+   * @return The size of the output in bytes.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   */
+  private int outputSize(@NotNull final CipherMode cipherMode,
+                         @Nullable final Object keyIdentity,
+                         final boolean plainInit,
+                         @NotNull final AbstractCryptProcessor.CipherFunction initConsumer,
+                         final int inputLength) throws AlgorithmNotPresentException, IllegalKeyException {
+    if (inputLength < 0) {
+      throw new IllegalArgumentException("Input length=%d must not be negative.".formatted(inputLength));
+    }
+
+    try {
+      return this.execute(cipherMode, keyIdentity, plainInit, initConsumer,
+          cipher -> cipher.getOutputSize(inputLength));
+    } catch (final PaddingException | IllegalBlockException exception) {
+      //Not possible, no data is processed.
+      throw new IllegalStateException(exception);
+    }
   }
 
+  /**
+   * Completes the cipher from the input buffer into the output buffer.
+   *
+   * @param cipher The initialized cipher.
+   * @param input  The input.
+   * @param output The output.
+   * @return The number of bytes written.
+   * @throws GeneralSecurityException If the cipher fails.
+   * @throws BufferSizeException      If the output is too small.
+   */
+  private static int doFinal(@NotNull final Cipher cipher,
+                             @NotNull final ByteBuffer input,
+                             @NotNull final ByteBuffer output) throws GeneralSecurityException, BufferSizeException {
+    try {
+      return cipher.doFinal(input, output);
+    } catch (final ShortBufferException exception) {
+      throw new BufferSizeException("Output of %d bytes is too small, %d bytes are required.".formatted(
+          output.remaining(), cipher.getOutputSize(input.remaining())), exception);
+    }
+  }
 
   /**
-   * Creates an {@code ICryptValue} from the result of the cryptographic operation.
+   * Completes a pooled cipher initialized with a plain key from a range of the input array into the output array.
    *
-   * @param cipher     The initialized cipher for encryption or decryption.
-   * @param data       The data to be processed.
-   * @param cipherMode The cipher mode indicating encryption or decryption.
-   * @return An {@code ICryptValue} representing the result of the cryptographic operation.
-   * @throws BadPaddingException       If an issue with padding is encountered during cryptographic processing.
-   * @throws IllegalBlockSizeException If there is an issue with the block size during cryptographic processing.
+   * <p>Does the same as {@link #execute(CipherMode, Object, boolean, CipherFunction, CipherOperation)}, without the
+   * functional objects: once the pool holds a cipher for the key, the call does not allocate.</p>
+   *
+   * @param cipherMode   The cipher mode.
+   * @param key          The key.
+   * @param input        The input.
+   * @param inputOffset  The index of the first input byte.
+   * @param inputLength  The number of input bytes.
+   * @param output       The output.
+   * @param outputOffset The index of the first output byte.
+   * @return The number of bytes written.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws IllegalBlockException        If there is an issue with the block size.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output is too small.
+   */
+  private int doFinal(@NotNull final CipherMode cipherMode,
+                      @NotNull final Key key,
+                      final byte @NotNull [] input,
+                      final int inputOffset,
+                      final int inputLength,
+                      final byte @NotNull [] output,
+                      final int outputOffset)
+      throws AlgorithmNotPresentException, PaddingException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException {
+    final InstancePool<PooledCipher> pool = this.pool(cipherMode, key);
+    PooledCipher pooledCipher = pool.acquire();
+
+    try {
+      if (pooledCipher == null) {
+        pooledCipher = new PooledCipher(Cipher.getInstance(this.algorithm));
+      }
+      if (!pooledCipher.reusable) {
+        pooledCipher.cipher.init(cipherMode.cipherModeId(), key);
+        pooledCipher.reusable = pooledCipher.cipher.getIV() == null;
+      }
+
+      final int length = doFinal(pooledCipher.cipher, input, inputOffset, inputLength, output, outputOffset);
+      pool.release(pooledCipher);
+      return length;
+    } catch (final GeneralSecurityException exception) {
+      throw this.rethrow(exception);
+    }
+  }
+
+  /**
+   * Completes the cipher from a range of the input array into the output array.
+   *
+   * @param cipher       The initialized cipher.
+   * @param input        The input.
+   * @param inputOffset  The index of the first input byte.
+   * @param inputLength  The number of input bytes.
+   * @param output       The output.
+   * @param outputOffset The index of the first output byte.
+   * @return The number of bytes written.
+   * @throws GeneralSecurityException If the cipher fails.
+   * @throws BufferSizeException      If the output is too small.
+   */
+  private static int doFinal(@NotNull final Cipher cipher,
+                             final byte @NotNull [] input,
+                             final int inputOffset,
+                             final int inputLength,
+                             final byte @NotNull [] output,
+                             final int outputOffset) throws GeneralSecurityException, BufferSizeException {
+    try {
+      return cipher.doFinal(input, inputOffset, inputLength, output, outputOffset);
+    } catch (final ShortBufferException exception) {
+      throw new BufferSizeException("Output of %d bytes is too small, %d bytes are required.".formatted(
+          output.length - outputOffset, cipher.getOutputSize(inputLength)), exception);
+    }
+  }
+
+  /**
+   * Passes all remaining bytes of the input stream through the cipher and completes it.
+   *
+   * @param cipher       The initialized cipher.
+   * @param inputStream  The stream to be read.
+   * @param outputStream The stream to be written.
+   * @return The number of bytes written.
+   * @throws GeneralSecurityException If the cipher fails.
+   * @throws IOException              If the input could not be read or the output could not be written.
+   */
+  private static long transfer(@NotNull final Cipher cipher,
+                               @NotNull final InputStream inputStream,
+                               @NotNull final OutputStream outputStream) throws GeneralSecurityException, IOException {
+    final byte[] input = new byte[BUFFER_SIZE];
+    byte[] output = new byte[BUFFER_SIZE + cipher.getBlockSize()];
+    long written = 0;
+
+    int read;
+    while ((read = inputStream.read(input)) != -1) {
+      int length;
+      try {
+        length = cipher.update(input, 0, read, output);
+      } catch (final ShortBufferException exception) {
+        //The cipher is unchanged, retry with the size it asks for.
+        output = new byte[cipher.getOutputSize(read)];
+        length = cipher.update(input, 0, read, output);
+      }
+      outputStream.write(output, 0, length);
+      written += length;
+    }
+
+    final byte[] last = cipher.doFinal();
+    outputStream.write(last);
+    return written + last.length;
+  }
+
+  /**
+   * Passes all remaining bytes of the input channel through the cipher and completes it.
+   *
+   * @param cipher        The initialized cipher.
+   * @param inputChannel  The channel to be read.
+   * @param outputChannel The channel to be written.
+   * @return The number of bytes written.
+   * @throws GeneralSecurityException If the cipher fails.
+   * @throws IOException              If the input could not be read or the output could not be written.
+   */
+  private static long transfer(@NotNull final Cipher cipher,
+                               @NotNull final ReadableByteChannel inputChannel,
+                               @NotNull final WritableByteChannel outputChannel)
+      throws GeneralSecurityException, IOException {
+    final ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+    ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE + cipher.getBlockSize());
+    long written = 0;
+
+    while (inputChannel.read(input) != -1) {
+      input.flip();
+      try {
+        cipher.update(input, output);
+      } catch (final ShortBufferException exception) {
+        //The cipher and both buffers are unchanged, retry with the size it asks for.
+        output = ByteBuffer.allocate(cipher.getOutputSize(input.remaining()));
+        cipher.update(input, output);
+      }
+      written += write(output, outputChannel);
+      input.clear();
+    }
+
+    input.flip();
+    final int finalSize = cipher.getOutputSize(0);
+    if (output.capacity() < finalSize) {
+      output = ByteBuffer.allocate(finalSize);
+    }
+    cipher.doFinal(input, output);
+    return written + write(output, outputChannel);
+  }
+
+  /**
+   * Writes the bytes put into the buffer to the channel and clears the buffer.
+   *
+   * @param buffer  The buffer in write mode.
+   * @param channel The channel to be written.
+   * @return The number of bytes written.
+   * @throws IOException If the channel could not be written.
+   */
+  private static int write(@NotNull final ByteBuffer buffer,
+                           @NotNull final WritableByteChannel channel) throws IOException {
+    buffer.flip();
+    final int length = buffer.remaining();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+    return length;
+  }
+
+  /**
+   * Returns the nonce parameters of the algorithm.
+   *
+   * @return The function creating the parameters of a nonce.
+   * @throws AlgorithmNotPresentException If the algorithm is not an authenticated cipher.
+   */
+  private @NotNull Function<byte[], AlgorithmParameterSpec> aeadParameters() throws AlgorithmNotPresentException {
+    if (this.aeadParameters == null) {
+      throw new AlgorithmNotPresentException(
+          "Algorithm=%s is not an authenticated cipher, use AES/GCM or ChaCha20-Poly1305.".formatted(this.algorithm));
+    }
+    return this.aeadParameters;
+  }
+
+  /**
+   * Generates the next nonce of the key: the random prefix of its counter and the big endian counter value.
+   *
+   * @param key The key.
+   * @return A nonce of {@link #AEAD_NONCE_LENGTH} bytes, never returned before for this key and processor.
+   * @throws IllegalKeyException If the key reached the message limit.
+   */
+  private byte @NotNull [] nonce(@NotNull final Key key) throws IllegalKeyException {
+    final NonceCounter nonceCounter = this.nonceCounters.computeIfAbsent(key, ignored -> new NonceCounter());
+    final long count = nonceCounter.counter.getAndIncrement();
+    if (count < 0 || count >= this.aeadMessageLimit) {
+      //Keep the counter at the limit, it must never wrap around.
+      nonceCounter.counter.set(this.aeadMessageLimit);
+      throw new IllegalKeyException("Key reached the limit of %d messages and must be rotated."
+          .formatted(this.aeadMessageLimit));
+    }
+
+    final byte[] nonce = new byte[AEAD_NONCE_LENGTH];
+    for (int index = 0; index < 8; index++) {
+      nonce[7 - index] = (byte) (nonceCounter.prefix >>> (index * 8));
+    }
+    nonce[8] = (byte) (count >>> 24);
+    nonce[9] = (byte) (count >>> 16);
+    nonce[10] = (byte) (count >>> 8);
+    nonce[11] = (byte) count;
+    return nonce;
+  }
+
+  /**
+   * Returns the pool of the mode and key, creating it if needed. If there are too many pools, one not used since
+   * the last sweep is dropped; its ciphers are garbage collected and the key is pooled again on its next use.
+   *
+   * @param cipherMode  The cipher mode.
+   * @param keyIdentity The key or certificate.
+   * @return The pool.
    */
-  private @NotNull ICryptValue cryptValue(@NotNull Cipher cipher,
-                                          byte @NotNull [] data,
-                                          @NotNull CipherMode cipherMode) throws BadPaddingException, IllegalBlockSizeException {
-    return new ImmutableCryptValue(cipher.doFinal(data), cipherMode, this.algorithm);
+  private @NotNull InstancePool<PooledCipher> pool(@NotNull final CipherMode cipherMode,
+                                                   @NotNull final Object keyIdentity) {
+    final ConcurrentHashMap<PoolKey, CipherPool> pools = this.pools.get(cipherMode.ordinal());
+    final PoolKey probe = PROBE.get();
+    final CipherPool cipherPool;
+    try {
+      probe.keyIdentity(keyIdentity);
+      cipherPool = pools.get(probe);
+    } finally {
+      //The probe must not keep the key reachable.
+      probe.keyIdentity(null);
+    }
+    if (cipherPool != null) {
+      if (!cipherPool.used) {
+        cipherPool.used = true;
+      }
+      return cipherPool.ciphers;
+    }
+
+    if (pools.size() >= MAX_POOLED_KEYS) {
+      evict(pools);
+    }
+    //New pools start unused: keys used once, such as a key per message, are evicted before keys used again.
+    final CipherPool created = new CipherPool();
+    final CipherPool present = pools.putIfAbsent(new PoolKey(keyIdentity), created);
+    return (present == null ? created : present).ciphers;
+  }
+
+  /**
+   * Drops a pool not used since the last sweep. If every pool was used, their marks are cleared and an arbitrary
+   * pool is dropped. Threads evicting at the same time may drop more than one pool.
+   *
+   * @param pools The pools of a mode.
+   */
+  private static void evict(@NotNull final ConcurrentHashMap<PoolKey, CipherPool> pools) {
+    for (final Map.Entry<PoolKey, CipherPool> entry : pools.entrySet()) {
+      if (!entry.getValue().used && pools.remove(entry.getKey(), entry.getValue())) {
+        return;
+      }
+    }
+
+    PoolKey first = null;
+    for (final Map.Entry<PoolKey, CipherPool> entry : pools.entrySet()) {
+      entry.getValue().used = false;
+      if (first == null) {
+        first = entry.getKey();
+      }
+    }
+    if (first != null) {
+      pools.remove(first);
+    }
   }
 
   /**
@@ -333,4 +1502,90 @@ public abstract class AbstractCryptProcessor implements ICryptProcessor {
                 @NotNull final Cipher cipher)
         throws InvalidKeyException, InvalidAlgorithmParameterException;
   }
+
+  /**
+   * Functional interface for an operation on an initialized cipher.
+   *
+   * @param <TYPE>      The result type of the operation.
+   * @param <EXCEPTION> An additional exception thrown by the operation.
+   */
+  protected interface CipherOperation<TYPE, EXCEPTION extends Exception> {
+    /**
+     * Runs the operation.
+     *
+     * @param cipher The initialized cipher, owned by the operation until it returns.
+     * @return The result of the operation.
+     * @throws GeneralSecurityException If the cipher fails.
+     * @throws EXCEPTION                If the operation fails.
+     */
+    TYPE apply(@NotNull final Cipher cipher) throws GeneralSecurityException, EXCEPTION;
+  }
+
+  /**
+   * Cipher of a pool and whether it can be used again without initialization.
+   */
+  private static final class PooledCipher {
+    private final @NotNull Cipher cipher;
+    private boolean reusable;
+
+    private PooledCipher(@NotNull final Cipher cipher) {
+      this.cipher = cipher;
+    }
+  }
+
+  /**
+   * Idle ciphers of one key, marked when looked up.
+   */
+  private static final class CipherPool {
+    private final @NotNull InstancePool<PooledCipher> ciphers = new InstancePool<>();
+    /**
+     * Whether the pool was used since the last sweep of {@link #evict(ConcurrentHashMap)}. Written without
+     * synchronization, a lost mark only makes the pool a candidate for eviction.
+     */
+    private boolean used;
+  }
+
+  /**
+   * Key of a pool: a key or certificate, compared by identity. Comparing by identity avoids
+   * {@link Object#hashCode()} of keys, which allocates for {@link javax.crypto.spec.SecretKeySpec}.
+   */
+  private static final class PoolKey {
+    private @Nullable Object keyIdentity;
+    private int hashCode;
+
+    private PoolKey() {
+    }
+
+    private PoolKey(@NotNull final Object keyIdentity) {
+      this.keyIdentity(keyIdentity);
+    }
+
+    /**
+     * Sets the key, only used for the probe of a thread. Keys in a map are never changed.
+     *
+     * @param keyIdentity The key, {@code null} to clear the probe.
+     */
+    private void keyIdentity(@Nullable final Object keyIdentity) {
+      this.keyIdentity = keyIdentity;
+      this.hashCode = System.identityHashCode(keyIdentity);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      return object instanceof PoolKey poolKey && poolKey.keyIdentity == this.keyIdentity;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+
+  /**
+   * Counter of the nonces of one key, with a random prefix drawn when the key is first used.
+   */
+  private static final class NonceCounter {
+    private final long prefix = SECURE_RANDOM.nextLong();
+    private final @NotNull AtomicLong counter = new AtomicLong();
+  }
 }
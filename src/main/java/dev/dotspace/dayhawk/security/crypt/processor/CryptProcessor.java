@@ -40,4 +40,16 @@ public final class CryptProcessor extends AbstractCryptProcessor {
   public CryptProcessor(@Nullable String algorithm) {
     super(algorithm);
   }
+
+  /**
+   * Constructs a {@code CryptProcessor} with the specified algorithm and the number of messages a key may encrypt
+   * with {@link #encryptAead(java.security.Key, byte[])}.
+   *
+   * @param algorithm        The algorithm to be used for encryption and decryption.
+   * @param aeadMessageLimit The message limit per key.
+   */
+  public CryptProcessor(@Nullable String algorithm,
+                        long aeadMessageLimit) {
+    super(algorithm, aeadMessageLimit);
+  }
 }
@@ -2,13 +2,22 @@ package dev.dotspace.dayhawk.security.crypt.processor;
 
 import dev.dotspace.dayhawk.security.crypt.entity.ICryptValue;
 import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.BufferSizeException;
 import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
 import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
 import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import dev.dotspace.dayhawk.security.crypt.mode.CipherMode;
 import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.security.Key;
 import java.security.SecureRandom;
 import java.security.cert.Certificate;
@@ -248,4 +257,621 @@ public interface ICryptProcessor extends ISecurityProcessor {
                                @Nullable final SecureRandom secureRandom,
                                final byte @Nullable [] encryptedData)
       throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Encrypts all remaining bytes of the input stream into the output stream using the specified key.
+   *
+   * <p>The input is passed to the cipher in fixed size blocks, the memory used is constant and independent of the
+   * length of the input. Ciphers which can only release plaintext after verifying a tag, such as AES/GCM when
+   * decrypting, still buffer the whole input internally. The streams are not closed.</p>
+   *
+   * @param key          The key used for encryption.
+   * @param inputStream  The stream holding the data to be encrypted.
+   * @param outputStream The stream the encrypted data is written to.
+   * @return The number of bytes written to the output stream.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long encrypt(@Nullable final Key key,
+               @Nullable final InputStream inputStream,
+               @Nullable final OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Encrypts all remaining bytes of the input stream into the output stream using the specified key and algorithm
+   * parameter specification, see {@link #encrypt(Key, InputStream, OutputStream)}.
+   *
+   * @param key                    The key used for encryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param inputStream            The stream holding the data to be encrypted.
+   * @param outputStream           The stream the encrypted data is written to.
+   * @return The number of bytes written to the output stream.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long encrypt(@Nullable final Key key,
+               @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+               @Nullable final InputStream inputStream,
+               @Nullable final OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Encrypts all remaining bytes of the input channel into the output channel using the specified key, see
+   * {@link #encrypt(Key, InputStream, OutputStream)}. The channels must be in blocking mode and are not closed.
+   *
+   * @param key           The key used for encryption.
+   * @param inputChannel  The channel holding the data to be encrypted.
+   * @param outputChannel The channel the encrypted data is written to.
+   * @return The number of bytes written to the output channel.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long encrypt(@Nullable final Key key,
+               @Nullable final ReadableByteChannel inputChannel,
+               @Nullable final WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Encrypts all remaining bytes of the input channel into the output channel using the specified key and algorithm
+   * parameter specification, see {@link #encrypt(Key, ReadableByteChannel, WritableByteChannel)}.
+   *
+   * @param key                    The key used for encryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param inputChannel           The channel holding the data to be encrypted.
+   * @param outputChannel          The channel the encrypted data is written to.
+   * @return The number of bytes written to the output channel.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long encrypt(@Nullable final Key key,
+               @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+               @Nullable final ReadableByteChannel inputChannel,
+               @Nullable final WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Decrypts all remaining bytes of the input stream into the output stream using the specified key.
+   *
+   * <p>The input is passed to the cipher in fixed size blocks, the memory used is constant and independent of the
+   * length of the input. Ciphers which can only release plaintext after verifying a tag, such as AES/GCM when
+   * decrypting, still buffer the whole input internally. The streams are not closed.</p>
+   *
+   * @param key          The key used for decryption.
+   * @param inputStream  The stream holding the encrypted data.
+   * @param outputStream The stream the decrypted data is written to.
+   * @return The number of bytes written to the output stream.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long decrypt(@Nullable final Key key,
+               @Nullable final InputStream inputStream,
+               @Nullable final OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Decrypts all remaining bytes of the input stream into the output stream using the specified key and algorithm
+   * parameter specification, see {@link #decrypt(Key, InputStream, OutputStream)}.
+   *
+   * @param key                    The key used for decryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param inputStream            The stream holding the encrypted data.
+   * @param outputStream           The stream the decrypted data is written to.
+   * @return The number of bytes written to the output stream.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long decrypt(@Nullable final Key key,
+               @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+               @Nullable final InputStream inputStream,
+               @Nullable final OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Decrypts all remaining bytes of the input channel into the output channel using the specified key, see
+   * {@link #decrypt(Key, InputStream, OutputStream)}. The channels must be in blocking mode and are not closed.
+   *
+   * @param key           The key used for decryption.
+   * @param inputChannel  The channel holding the encrypted data.
+   * @param outputChannel The channel the decrypted data is written to.
+   * @return The number of bytes written to the output channel.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long decrypt(@Nullable final Key key,
+               @Nullable final ReadableByteChannel inputChannel,
+               @Nullable final WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Decrypts all remaining bytes of the input channel into the output channel using the specified key and algorithm
+   * parameter specification, see {@link #decrypt(Key, ReadableByteChannel, WritableByteChannel)}.
+   *
+   * @param key                    The key used for decryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param inputChannel           The channel holding the encrypted data.
+   * @param outputChannel          The channel the decrypted data is written to.
+   * @return The number of bytes written to the output channel.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long decrypt(@Nullable final Key key,
+               @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+               @Nullable final ReadableByteChannel inputChannel,
+               @Nullable final WritableByteChannel outputChannel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException, IOException;
+
+  /**
+   * Encrypts the remaining bytes of the input buffer into the output buffer using the specified key.
+   *
+   * <p>The buffers are passed to the cipher as they are, direct buffers are processed without being copied to the
+   * heap. The position of the input is advanced to its limit and the position of the output by the number of bytes
+   * written. Use {@link #outputSize(CipherMode, Key, int)} to size the output buffer.</p>
+   *
+   * @param key    The key used for encryption.
+   * @param input  The buffer holding the data to be encrypted.
+   * @param output The buffer the encrypted data is written to, must not share memory with the input.
+   * @return The number of bytes written to the output buffer.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output buffer is too small, both buffers are unchanged.
+   */
+  int encrypt(@Nullable final Key key,
+              @Nullable final ByteBuffer input,
+              @Nullable final ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Encrypts the remaining bytes of the input buffer into the output buffer using the specified key and algorithm
+   * parameter specification, see {@link #encrypt(Key, ByteBuffer, ByteBuffer)}.
+   *
+   * @param key                    The key used for encryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param input                  The buffer holding the data to be encrypted.
+   * @param output                 The buffer the encrypted data is written to, must not share memory with the input.
+   * @return The number of bytes written to the output buffer.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output buffer is too small, both buffers are unchanged.
+   */
+  int encrypt(@Nullable final Key key,
+              @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+              @Nullable final ByteBuffer input,
+              @Nullable final ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Decrypts the remaining bytes of the input buffer into the output buffer using the specified key.
+   *
+   * <p>The buffers are passed to the cipher as they are, direct buffers are processed without being copied to the
+   * heap. The position of the input is advanced to its limit and the position of the output by the number of bytes
+   * written. Use {@link #outputSize(CipherMode, Key, int)} to size the output buffer.</p>
+   *
+   * @param key    The key used for decryption.
+   * @param input  The buffer holding the encrypted data.
+   * @param output The buffer the decrypted data is written to, must not share memory with the input.
+   * @return The number of bytes written to the output buffer.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output buffer is too small, both buffers are unchanged.
+   */
+  int decrypt(@Nullable final Key key,
+              @Nullable final ByteBuffer input,
+              @Nullable final ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Decrypts the remaining bytes of the input buffer into the output buffer using the specified key and algorithm
+   * parameter specification, see {@link #decrypt(Key, ByteBuffer, ByteBuffer)}.
+   *
+   * @param key                    The key used for decryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param input                  The buffer holding the encrypted data.
+   * @param output                 The buffer the decrypted data is written to, must not share memory with the input.
+   * @return The number of bytes written to the output buffer.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output buffer is too small, both buffers are unchanged.
+   */
+  int decrypt(@Nullable final Key key,
+              @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+              @Nullable final ByteBuffer input,
+              @Nullable final ByteBuffer output)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Encrypts a range of the input array into the output array using the specified key.
+   *
+   * <p>No result object is created: with an output array sized once by {@link #outputSize(CipherMode, Key, int)} and
+   * reused, repeated calls do not allocate arrays for the result.</p>
+   *
+   * @param key          The key used for encryption.
+   * @param input        The array holding the data to be encrypted.
+   * @param inputOffset  The index of the first byte to be encrypted.
+   * @param inputLength  The number of bytes to be encrypted.
+   * @param output       The array the encrypted data is written to.
+   * @param outputOffset The index the first encrypted byte is written to.
+   * @return The number of bytes written to the output array.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output array is too small, it is unchanged.
+   * @throws IndexOutOfBoundsException    If a range does not fit into its array.
+   */
+  int encrypt(@Nullable final Key key,
+              final byte @Nullable [] input,
+              final int inputOffset,
+              final int inputLength,
+              final byte @Nullable [] output,
+              final int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Encrypts a range of the input array into the output array using the specified key and algorithm parameter
+   * specification, see {@link #encrypt(Key, byte[], int, int, byte[], int)}.
+   *
+   * @param key                    The key used for encryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param input                  The array holding the data to be encrypted.
+   * @param inputOffset            The index of the first byte to be encrypted.
+   * @param inputLength            The number of bytes to be encrypted.
+   * @param output                 The array the encrypted data is written to.
+   * @param outputOffset           The index the first encrypted byte is written to.
+   * @return The number of bytes written to the output array.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output array is too small, it is unchanged.
+   * @throws IndexOutOfBoundsException    If a range does not fit into its array.
+   */
+  int encrypt(@Nullable final Key key,
+              @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+              final byte @Nullable [] input,
+              final int inputOffset,
+              final int inputLength,
+              final byte @Nullable [] output,
+              final int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Decrypts a range of the input array into the output array using the specified key.
+   *
+   * <p>No result object is created: with an output array sized once by {@link #outputSize(CipherMode, Key, int)} and
+   * reused, repeated calls do not allocate arrays for the result.</p>
+   *
+   * @param key          The key used for decryption.
+   * @param input        The array holding the encrypted data.
+   * @param inputOffset  The index of the first encrypted byte.
+   * @param inputLength  The number of encrypted bytes.
+   * @param output       The array the decrypted data is written to.
+   * @param outputOffset The index the first decrypted byte is written to.
+   * @return The number of bytes written to the output array.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output array is too small, it is unchanged.
+   * @throws IndexOutOfBoundsException    If a range does not fit into its array.
+   */
+  int decrypt(@Nullable final Key key,
+              final byte @Nullable [] input,
+              final int inputOffset,
+              final int inputLength,
+              final byte @Nullable [] output,
+              final int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Decrypts a range of the input array into the output array using the specified key and algorithm parameter
+   * specification, see {@link #decrypt(Key, byte[], int, int, byte[], int)}.
+   *
+   * @param key                    The key used for decryption.
+   * @param algorithmParameterSpec The algorithm parameter specification for additional parameters.
+   * @param input                  The array holding the encrypted data.
+   * @param inputOffset            The index of the first encrypted byte.
+   * @param inputLength            The number of encrypted bytes.
+   * @param output                 The array the decrypted data is written to.
+   * @param outputOffset           The index the first decrypted byte is written to.
+   * @return The number of bytes written to the output array.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If there is an issue with the block size during decryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   * @throws BufferSizeException          If the output array is too small, it is unchanged.
+   * @throws IndexOutOfBoundsException    If a range does not fit into its array.
+   */
+  int decrypt(@Nullable final Key key,
+              @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+              final byte @Nullable [] input,
+              final int inputOffset,
+              final int inputLength,
+              final byte @Nullable [] output,
+              final int outputOffset)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException,
+      BufferSizeException;
+
+  /**
+   * Returns the size an output buffer needs for the given number of input bytes, for
+   * {@link #encrypt(Key, ByteBuffer, ByteBuffer)}, {@link #encrypt(Key, byte[], int, int, byte[], int)} and their
+   * decrypting counterparts.
+   *
+   * <p>The size is an upper bound, for decryption or padded ciphers the operation may write fewer bytes.</p>
+   *
+   * @param cipherMode  The mode of the operation.
+   * @param key         The key of the operation.
+   * @param inputLength The number of input bytes.
+   * @return The required size of the output in bytes.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   */
+  int outputSize(@Nullable final CipherMode cipherMode,
+                 @Nullable final Key key,
+                 final int inputLength)
+      throws AlgorithmNotPresentException, IllegalKeyException;
+
+  /**
+   * Returns the size an output buffer needs for the given number of input bytes, see
+   * {@link #outputSize(CipherMode, Key, int)}.
+   *
+   * @param cipherMode             The mode of the operation.
+   * @param key                    The key of the operation.
+   * @param algorithmParameterSpec The algorithm parameter specification of the operation.
+   * @param inputLength            The number of input bytes.
+   * @return The required size of the output in bytes.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   */
+  int outputSize(@Nullable final CipherMode cipherMode,
+                 @Nullable final Key key,
+                 @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+                 final int inputLength)
+      throws AlgorithmNotPresentException, IllegalKeyException;
+
+  /**
+   * Encrypts the given data with an authenticated cipher, generating the nonce.
+   *
+   * <p>Only available for AES/GCM and ChaCha20-Poly1305 processors. The 12 byte nonce is a random prefix of 8 bytes,
+   * drawn once per key and processor, followed by a counter of 4 bytes incremented for every message of the key. No
+   * nonce is used twice by a processor, and once a key encrypted the message limit of the processor, at most
+   * 2<sup>32</sup> messages, it is refused and must be rotated. The result is the nonce followed by the ciphertext
+   * and tag.</p>
+   *
+   * <p>Keys are compared by {@link Object#equals(Object)}: counters are kept per key material, not per key object,
+   * until the key is passed to {@link #discard(Key)}. Processors, restarts and discarded counters draw new prefixes,
+   * so the same key may be shared; prefixes of 8 bytes make a collision unlikely even after 2<sup>32</sup>
+   * draws.</p>
+   *
+   * @param key  The key used for encryption.
+   * @param data The data to be encrypted.
+   * @return An {@code ICryptValue} holding the nonce and the ciphertext.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the algorithm of this processor is not an authenticated cipher.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key, or it reached the message limit.
+   */
+  @NotNull ICryptValue encryptAead(@Nullable final Key key,
+                                   final byte @Nullable [] data)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Encrypts the given data with an authenticated cipher, generating the nonce, and authenticates the associated
+   * data without encrypting it, see {@link #encryptAead(Key, byte[])}.
+   *
+   * @param key            The key used for encryption.
+   * @param data           The data to be encrypted.
+   * @param associatedData The data to be authenticated, it is not part of the result.
+   * @return An {@code ICryptValue} holding the nonce and the ciphertext.
+   * @throws PaddingException             If an issue with padding is encountered.
+   * @throws AlgorithmNotPresentException If the algorithm of this processor is not an authenticated cipher.
+   * @throws IllegalBlockException        If there is an issue with the block size during encryption.
+   * @throws IllegalKeyException          If there is an issue with the provided key, or it reached the message limit.
+   */
+  @NotNull ICryptValue encryptAead(@Nullable final Key key,
+                                   final byte @Nullable [] data,
+                                   final byte @Nullable [] associatedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Decrypts and verifies data encrypted by {@link #encryptAead(Key, byte[])}, reading the nonce from its first bytes.
+   *
+   * @param key           The key used for decryption.
+   * @param encryptedData The nonce followed by the ciphertext.
+   * @return An {@code ICryptValue} representing the result of the decryption operation.
+   * @throws PaddingException             If the data does not verify.
+   * @throws AlgorithmNotPresentException If the algorithm of this processor is not an authenticated cipher.
+   * @throws IllegalBlockException        If the data is shorter than a nonce.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   */
+  @NotNull ICryptValue decryptAead(@Nullable final Key key,
+                                   final byte @Nullable [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Decrypts and verifies data encrypted by {@link #encryptAead(Key, byte[], byte[])}, reading the nonce from its
+   * first bytes.
+   *
+   * @param key            The key used for decryption.
+   * @param encryptedData  The nonce followed by the ciphertext.
+   * @param associatedData The data authenticated on encryption.
+   * @return An {@code ICryptValue} representing the result of the decryption operation.
+   * @throws PaddingException             If the data or the associated data does not verify.
+   * @throws AlgorithmNotPresentException If the algorithm of this processor is not an authenticated cipher.
+   * @throws IllegalBlockException        If the data is shorter than a nonce.
+   * @throws IllegalKeyException          If there is an issue with the provided key.
+   */
+  @NotNull ICryptValue decryptAead(@Nullable final Key key,
+                                   final byte @Nullable [] encryptedData,
+                                   final byte @Nullable [] associatedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Wraps the given key using the specified key, for example a data key under a master key.
+   *
+   * @param key        The key used for wrapping.
+   * @param wrappedKey The key to be wrapped.
+   * @return An {@code ICryptValue} holding the wrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If the key to be wrapped does not fit the block size of the algorithm.
+   * @throws IllegalKeyException          If there is an issue with one of the keys.
+   */
+  @NotNull ICryptValue wrap(@Nullable final Key key,
+                            @Nullable final Key wrappedKey)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Wraps the given key using the specified key and algorithm parameters.
+   *
+   * @param key                    The key used for wrapping.
+   * @param algorithmParameterSpec The algorithm parameters for wrapping.
+   * @param wrappedKey             The key to be wrapped.
+   * @return An {@code ICryptValue} holding the wrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If the key to be wrapped does not fit the block size of the algorithm.
+   * @throws IllegalKeyException          If there is an issue with one of the keys.
+   */
+  @NotNull ICryptValue wrap(@Nullable final Key key,
+                            @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+                            @Nullable final Key wrappedKey)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Wraps the given key using the public key of the specified certificate.
+   *
+   * @param certificate The certificate used for wrapping.
+   * @param wrappedKey  The key to be wrapped.
+   * @return An {@code ICryptValue} holding the wrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm is not present or misconfigured.
+   * @throws IllegalBlockException        If the key to be wrapped does not fit the block size of the algorithm.
+   * @throws IllegalKeyException          If there is an issue with the certificate or the key.
+   */
+  @NotNull ICryptValue wrap(@Nullable final Certificate certificate,
+                            @Nullable final Key wrappedKey)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Unwraps a secret key wrapped by {@link #wrap(Key, Key)}.
+   *
+   * <p>A wrapped key that was altered, or wrapped under another key, is rejected by algorithms with an integrity
+   * check such as AESWrap and RSA/OAEP. Providers report this as an invalid key.</p>
+   *
+   * @param key          The key used for unwrapping.
+   * @param wrappedKey   The wrapped key.
+   * @param keyAlgorithm The algorithm of the wrapped key, for example {@code AES}.
+   * @return The unwrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm or the key algorithm is not present.
+   * @throws IllegalKeyException          If there is an issue with the key, or the wrapped key does not verify.
+   */
+  @NotNull SecretKey unwrap(@Nullable final Key key,
+                            final byte @Nullable [] wrappedKey,
+                            @Nullable final String keyAlgorithm)
+      throws AlgorithmNotPresentException, IllegalKeyException;
+
+  /**
+   * Unwraps a secret key wrapped by {@link #wrap(Key, AlgorithmParameterSpec, Key)}.
+   *
+   * @param key                    The key used for unwrapping.
+   * @param algorithmParameterSpec The algorithm parameters the key was wrapped with.
+   * @param wrappedKey             The wrapped key.
+   * @param keyAlgorithm           The algorithm of the wrapped key, for example {@code AES}.
+   * @return The unwrapped key.
+   * @throws AlgorithmNotPresentException If the specified algorithm or the key algorithm is not present.
+   * @throws IllegalKeyException          If there is an issue with the key, or the wrapped key does not verify.
+   */
+  @NotNull SecretKey unwrap(@Nullable final Key key,
+                            @Nullable final AlgorithmParameterSpec algorithmParameterSpec,
+                            final byte @Nullable [] wrappedKey,
+                            @Nullable final String keyAlgorithm)
+      throws AlgorithmNotPresentException, IllegalKeyException;
+
+  /**
+   * Drops the pooled ciphers and the nonce counter of the given key, for keys that are destroyed or not used again.
+   *
+   * <p>Pooled ciphers keep the key and the state derived from it. The key material held by the provider can not
+   * be overwritten, but it is no longer reachable from the processor after this call. The nonce counter of
+   * {@link #encryptAead(Key, byte[])} is dropped as well: if the key is used again, it continues with a new random
+   * prefix.</p>
+   *
+   * @param key The key, compared by identity for pooled ciphers and by {@link Object#equals(Object)} for the nonce
+   *            counter.
+   */
+  void discard(@Nullable final Key key);
+
+  /**
+   * Encrypts the given data of any length for the owner of the specified certificate.
+   *
+   * <p>{@link #encrypt(Certificate, byte[])} runs the algorithm of this processor over the whole data, which limits
+   * RSA to a few hundred bytes. This method encrypts the data with a new AES-256/GCM data key instead, and only the
+   * data key with the algorithm of this processor, which must be RSA/OAEP such as
+   * {@code RSA/ECB/OAEPWithSHA-256AndMGF1Padding}. The result is in the
+   * {@link dev.dotspace.dayhawk.security.crypt.envelope.EnvelopeFormat}: a version byte, the length of the wrapped
+   * data key in two bytes, the wrapped data key and the encrypted data with its tag.</p>
+   *
+   * @param certificate The certificate of the recipient.
+   * @param data        The data to be encrypted.
+   * @return An {@code ICryptValue} holding the wrapped data key and the encrypted data.
+   * @throws AlgorithmNotPresentException If the specified algorithm or AES/GCM is not present or misconfigured, or
+   *                                      the algorithm does not use OAEP padding.
+   * @throws IllegalBlockException        If the data key does not fit the block size of the algorithm.
+   * @throws IllegalKeyException          If there is an issue with the provided certificate.
+   */
+  @NotNull ICryptValue encryptHybrid(@Nullable final Certificate certificate,
+                                     final byte @Nullable [] data)
+      throws AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
+
+  /**
+   * Decrypts data encrypted by {@link #encryptHybrid(Certificate, byte[])}.
+   *
+   * @param key           The private key of the certificate the data was encrypted for.
+   * @param encryptedData The wrapped data key and the encrypted data.
+   * @return An {@code ICryptValue} representing the result of the decryption operation.
+   * @throws PaddingException             If the data is not in this format or does not verify.
+   * @throws AlgorithmNotPresentException If the specified algorithm or AES/GCM is not present or misconfigured, or
+   *                                      the algorithm does not use OAEP padding.
+   * @throws IllegalBlockException        If the data is truncated.
+   * @throws IllegalKeyException          If there is an issue with the provided key, or the wrapped data key does
+   *                                      not verify.
+   */
+  @NotNull ICryptValue decryptHybrid(@Nullable final Key key,
+                                     final byte @Nullable [] encryptedData)
+      throws PaddingException, AlgorithmNotPresentException, IllegalBlockException, IllegalKeyException;
 }
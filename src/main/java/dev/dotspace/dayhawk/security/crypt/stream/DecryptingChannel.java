@@ -0,0 +1,200 @@
+package dev.dotspace.dayhawk.security.crypt.stream;
+
+import dev.dotspace.dayhawk.security.crypt.exception.AbstractCryptException;
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+
+/**
+ * Read only view of the plaintext of a segmented message, see
+ * {@link IStreamingAeadProcessor#open(SecretKey, SeekableByteChannel)}.
+ *
+ * <p>A read decrypts and verifies the segments covering the requested range, read from the underlying channel at
+ * their computed positions. The last decrypted segment is kept, sequential reads decrypt every segment once. The
+ * number of segments, and with it the last one, follows from the size of the underlying channel, so a message
+ * cut at a segment boundary fails verification of its new last segment.</p>
+ */
+final class DecryptingChannel implements SeekableByteChannel {
+  private final @NotNull SeekableByteChannel channel;
+  private final @NotNull SegmentCipher segmentCipher;
+  private final int segmentSize;
+  private final int ciphertextSegmentSize;
+  /**
+   * Number of segments, the index of the last one is one less.
+   */
+  private final long segments;
+  /**
+   * Number of ciphertext bytes of the last segment, including its tag.
+   */
+  private final int lastSegmentSize;
+  private final long size;
+
+  private final @NotNull ByteBuffer ciphertext;
+  private final byte @NotNull [] plaintext;
+  /**
+   * Index of the segment held by {@link #plaintext}, {@code -1} if none.
+   */
+  private long segment = -1;
+  private int plaintextLength;
+  private long position;
+  private boolean open = true;
+
+  /**
+   * Constructs a new {@code DecryptingChannel} and reads the header of the message.
+   *
+   * @param masterKey The master key the message was encrypted with.
+   * @param channel   The channel holding the message, owned by the view from now on.
+   * @throws PaddingException             If the message is not in this format or truncated.
+   * @throws AlgorithmNotPresentException If HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   * @throws IOException                  If the channel could not be read.
+   */
+  DecryptingChannel(@NotNull final SecretKey masterKey,
+                    @NotNull final SeekableByteChannel channel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException {
+    this.channel = channel;
+    final ByteBuffer header = ByteBuffer.allocate(SegmentCipher.LENGTH);
+    readFully(channel.position(0), header);
+    this.segmentCipher = SegmentCipher.open(masterKey, Arrays.copyOf(header.array(), header.position()));
+    this.segmentSize = this.segmentCipher.segmentSize();
+    this.ciphertextSegmentSize = this.segmentSize + SegmentCipher.TAG_LENGTH;
+
+    final long ciphertextSize = channel.size() - SegmentCipher.LENGTH;
+    this.segments = (ciphertextSize + this.ciphertextSegmentSize - 1) / this.ciphertextSegmentSize;
+    final long lastSegmentSize = ciphertextSize - (this.segments - 1) * this.ciphertextSegmentSize;
+    if (this.segments == 0 || lastSegmentSize < SegmentCipher.TAG_LENGTH) {
+      throw new PaddingException("Message is truncated.");
+    }
+    if (this.segments > SegmentCipher.MAX_SEGMENTS) {
+      throw new PaddingException("Message exceeds %d segments.".formatted(SegmentCipher.MAX_SEGMENTS));
+    }
+    this.lastSegmentSize = (int) lastSegmentSize;
+    this.size = ciphertextSize - this.segments * SegmentCipher.TAG_LENGTH;
+
+    this.ciphertext = ByteBuffer.allocate(this.ciphertextSegmentSize);
+    this.plaintext = new byte[this.segmentSize];
+  }
+
+  @Override
+  public int read(@NotNull final ByteBuffer buffer) throws IOException {
+    this.ensureOpen();
+    if (this.position >= this.size) {
+      return -1;
+    }
+
+    int read = 0;
+    while (buffer.hasRemaining() && this.position < this.size) {
+      this.load(this.position / this.segmentSize);
+      final int offset = (int) (this.position % this.segmentSize);
+      final int length = Math.min(buffer.remaining(), this.plaintextLength - offset);
+      buffer.put(this.plaintext, offset, length);
+      this.position += length;
+      read += length;
+    }
+    return read;
+  }
+
+  @Override
+  public int write(@NotNull final ByteBuffer buffer) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public long position() throws IOException {
+    this.ensureOpen();
+    return this.position;
+  }
+
+  @Override
+  public @NotNull SeekableByteChannel position(final long position) throws IOException {
+    this.ensureOpen();
+    if (position < 0) {
+      throw new IllegalArgumentException("Position=%d must not be negative.".formatted(position));
+    }
+    this.position = position;
+    return this;
+  }
+
+  @Override
+  public long size() throws IOException {
+    this.ensureOpen();
+    return this.size;
+  }
+
+  @Override
+  public @NotNull SeekableByteChannel truncate(final long size) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return this.open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.open) {
+      this.open = false;
+      this.segment = -1;
+      Arrays.fill(this.plaintext, (byte) 0);
+      this.channel.close();
+    }
+  }
+
+  /**
+   * Decrypts a segment into {@link #plaintext}, unless it is held already.
+   *
+   * @param segment The index of the segment.
+   * @throws IOException If the segment could not be read, or did not verify.
+   */
+  private void load(final long segment) throws IOException {
+    if (segment == this.segment) {
+      return;
+    }
+
+    final boolean last = segment == this.segments - 1;
+    this.ciphertext.clear().limit(last ? this.lastSegmentSize : this.ciphertextSegmentSize);
+    readFully(this.channel.position(SegmentCipher.LENGTH + segment * this.ciphertextSegmentSize), this.ciphertext);
+    if (this.ciphertext.hasRemaining()) {
+      throw new IOException("Message was truncated while reading segment=%d.".formatted(segment));
+    }
+
+    //Invalidate first, a failed segment must not leave the previous one readable under its index.
+    this.segment = -1;
+    try {
+      this.plaintextLength = this.segmentCipher.decrypt(segment, last, this.ciphertext.array(), 0,
+          this.ciphertext.limit(), this.plaintext, 0);
+    } catch (final GeneralSecurityException exception) {
+      try {
+        throw SegmentCipher.rethrow(exception);
+      } catch (final AbstractCryptException cryptException) {
+        throw new IOException("Segment=%d failed verification.".formatted(segment), cryptException);
+      }
+    }
+    this.segment = segment;
+  }
+
+  private void ensureOpen() throws ClosedChannelException {
+    if (!this.open) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  private static void readFully(@NotNull final SeekableByteChannel channel,
+                                @NotNull final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+      //Read until the buffer is full or the channel ends.
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package dev.dotspace.dayhawk.security.crypt.stream;
+
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+
+
+/**
+ * The {@code IStreamingAeadProcessor} interface defines a contract for processors encrypting inputs of any length
+ * with authenticated encryption, split into segments of a fixed size.
+ *
+ * <p>Every segment is encrypted and authenticated on its own, with a nonce derived from the header of the message,
+ * its index and whether it is the last segment. Segments can therefore be processed in parallel and decrypted
+ * plaintext can be released segment by segment: a segment is only written once its tag is verified. Reordered,
+ * removed or appended segments, and a message cut at a segment boundary, fail the verification.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IStreamingAeadProcessor streamingAeadProcessor = new StreamingAeadProcessor();
+ * SecretKey key = // Obtain an AES key of 16, 24 or 32 bytes
+ *
+ * try (InputStream input = Files.newInputStream(backup);
+ *      OutputStream output = Files.newOutputStream(encryptedBackup)) {
+ *     streamingAeadProcessor.encrypt(key, input, output);
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Messages can also be read at any offset without decrypting what comes before, see
+ * {@link #open(SecretKey, SeekableByteChannel)}.</p>
+ *
+ * @see StreamingAeadProcessor
+ */
+public interface IStreamingAeadProcessor extends ISecurityProcessor, AlgorithmObject {
+  /**
+   * Encrypts all remaining bytes of the input stream into the output stream. The streams are not closed.
+   *
+   * @param key          The master key, the key of the message is derived from it and a random salt.
+   * @param inputStream  The stream holding the data to be encrypted.
+   * @param outputStream The stream the header and the encrypted segments are written to.
+   * @return The number of bytes written to the output stream.
+   * @throws AlgorithmNotPresentException If AES/GCM or HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long encrypt(@Nullable final SecretKey key,
+               @Nullable final InputStream inputStream,
+               @Nullable final OutputStream outputStream)
+      throws AlgorithmNotPresentException, IllegalKeyException, IOException;
+
+  /**
+   * Decrypts a message written by {@link #encrypt(SecretKey, InputStream, OutputStream)} from the input stream into
+   * the output stream. The segment size is read from the header of the message. The streams are not closed.
+   *
+   * <p>Only verified segments are written. If verification fails, the segments before the failing one have been
+   * written already; the output must not be used unless this method returned normally.</p>
+   *
+   * @param key          The master key the message was encrypted with.
+   * @param inputStream  The stream holding the encrypted message.
+   * @param outputStream The stream the decrypted data is written to.
+   * @return The number of bytes written to the output stream.
+   * @throws PaddingException             If the message is not in this format, damaged or truncated.
+   * @throws AlgorithmNotPresentException If AES/GCM or HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   * @throws IOException                  If the input could not be read or the output could not be written.
+   */
+  long decrypt(@Nullable final SecretKey key,
+               @Nullable final InputStream inputStream,
+               @Nullable final OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException;
+
+  /**
+   * Opens a read only view of the plaintext of a message written by
+   * {@link #encrypt(SecretKey, InputStream, OutputStream)}.
+   *
+   * <p>Reads decrypt and verify only the segments covering the requested range, so reading from the middle of a
+   * large message costs the length of the range, not the offset. A segment failing verification is reported as an
+   * {@link IOException} caused by a {@link PaddingException}. The view is not thread safe and closing it closes the
+   * given channel.</p>
+   *
+   * @param key     The master key the message was encrypted with.
+   * @param channel The channel holding the message, starting at position {@code 0}.
+   * @return The view, {@link SeekableByteChannel#size()} is the size of the plaintext.
+   * @throws PaddingException             If the message is not in this format or truncated.
+   * @throws AlgorithmNotPresentException If HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   * @throws IOException                  If the header could not be read.
+   */
+  @NotNull SeekableByteChannel open(@Nullable final SecretKey key,
+                                    @Nullable final SeekableByteChannel channel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException;
+
+  /**
+   * Opens a read only view of the plaintext of an encrypted file, see
+   * {@link #open(SecretKey, SeekableByteChannel)}.
+   *
+   * @param key  The master key the file was encrypted with.
+   * @param path The encrypted file, closed when the view is closed.
+   * @return The view, {@link SeekableByteChannel#size()} is the size of the plaintext.
+   * @throws PaddingException             If the file is not in this format or truncated.
+   * @throws AlgorithmNotPresentException If HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   * @throws IOException                  If the file could not be opened or its header could not be read.
+   */
+  @NotNull SeekableByteChannel open(@Nullable final SecretKey key,
+                                    @Nullable final Path path)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException;
+
+  /**
+   * Returns the number of plaintext bytes per segment of encrypted messages. Only the last segment may be shorter.
+   *
+   * @return The size in bytes.
+   */
+  int segmentSize();
+
+  /**
+   * Returns the size of an encrypted message, including header and tags.
+   *
+   * @param plaintextSize The number of bytes to be encrypted.
+   * @return The size in bytes.
+   * @throws IllegalArgumentException If the size is negative.
+   */
+  long ciphertextSize(final long plaintextSize);
+}
@@ -0,0 +1,282 @@
+package dev.dotspace.dayhawk.security.crypt.stream;
+
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+
+/**
+ * Header and key of one segmented message, encrypting and decrypting its segments.
+ *
+ * <p>The header holds a magic number, the segment size, a random salt and a random nonce prefix, {@value #LENGTH}
+ * bytes in total. The key of the message is the HMAC-SHA256 of the whole header under the master key, cut to the
+ * length of the master key: changing any byte of the header changes the key and fails every segment. The nonce of a
+ * segment is the prefix, the index of the segment and a byte marking the last segment.</p>
+ */
+final class SegmentCipher {
+  /**
+   * First bytes of a message: {@code DHS} and the format version.
+   */
+  static final int MAGIC = 0x44485301;
+  static final int SALT_LENGTH = 16, NONCE_PREFIX_LENGTH = 7, TAG_LENGTH = 16;
+  /**
+   * Length of the header in bytes.
+   */
+  static final int LENGTH = 4 + 4 + SALT_LENGTH + NONCE_PREFIX_LENGTH;
+  /**
+   * Range of the segment size, checked for headers read from untrusted input.
+   */
+  static final int MIN_SEGMENT_SIZE = 1024, MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+  /**
+   * Maximum number of segments of a message, the index is encoded in four bytes.
+   */
+  static final long MAX_SEGMENTS = 1L << 32;
+  private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding", MAC_ALGORITHM = "HmacSHA256";
+  private static final @NotNull SecureRandom SECURE_RANDOM = new SecureRandom();
+  /**
+   * Cipher of the current thread, initialized again for every segment.
+   */
+  private static final @NotNull ThreadLocal<Cipher> THREAD_CIPHER = new ThreadLocal<>();
+
+  private final int segmentSize;
+  private final byte @NotNull [] header;
+  private final byte @NotNull [] noncePrefix;
+  private final @NotNull SecretKeySpec key;
+
+  private SegmentCipher(@NotNull final SecretKey masterKey,
+                        final byte @NotNull [] header) throws AlgorithmNotPresentException, IllegalKeyException {
+    final ByteBuffer buffer = ByteBuffer.wrap(header);
+    buffer.position(4);
+    this.segmentSize = buffer.getInt();
+    this.header = header;
+    this.noncePrefix = Arrays.copyOfRange(header, LENGTH - NONCE_PREFIX_LENGTH, LENGTH);
+    this.key = key(masterKey, header);
+  }
+
+  /**
+   * Returns the number of plaintext bytes per segment.
+   *
+   * @return The size in bytes.
+   */
+  int segmentSize() {
+    return this.segmentSize;
+  }
+
+  /**
+   * Returns the header, written in front of the segments.
+   *
+   * @return The header, not copied.
+   */
+  byte @NotNull [] header() {
+    return this.header;
+  }
+
+  /**
+   * Encrypts one segment.
+   *
+   * @param index        The index of the segment.
+   * @param last         {@code true} if it is the last segment of the message.
+   * @param input        The array holding the plaintext.
+   * @param inputOffset  The index of the first plaintext byte.
+   * @param inputLength  The number of plaintext bytes, at most the segment size.
+   * @param output       The array the ciphertext is written to, {@link #TAG_LENGTH} bytes longer than the plaintext.
+   * @param outputOffset The index the ciphertext is written to.
+   * @return The number of bytes written.
+   * @throws GeneralSecurityException If the cipher fails.
+   */
+  int encrypt(final long index,
+              final boolean last,
+              final byte @NotNull [] input,
+              final int inputOffset,
+              final int inputLength,
+              final byte @NotNull [] output,
+              final int outputOffset) throws GeneralSecurityException {
+    return this.process(Cipher.ENCRYPT_MODE, index, last, input, inputOffset, inputLength, output, outputOffset);
+  }
+
+  /**
+   * Decrypts and verifies one segment.
+   *
+   * @param index        The index of the segment.
+   * @param last         {@code true} if it is the last segment of the message.
+   * @param input        The array holding the ciphertext.
+   * @param inputOffset  The index of the first ciphertext byte.
+   * @param inputLength  The number of ciphertext bytes, including the tag.
+   * @param output       The array the plaintext is written to.
+   * @param outputOffset The index the plaintext is written to.
+   * @return The number of bytes written.
+   * @throws GeneralSecurityException If the cipher fails or the segment does not verify.
+   */
+  int decrypt(final long index,
+              final boolean last,
+              final byte @NotNull [] input,
+              final int inputOffset,
+              final int inputLength,
+              final byte @NotNull [] output,
+              final int outputOffset) throws GeneralSecurityException {
+    return this.process(Cipher.DECRYPT_MODE, index, last, input, inputOffset, inputLength, output, outputOffset);
+  }
+
+  private int process(final int mode,
+                      final long index,
+                      final boolean last,
+                      final byte @NotNull [] input,
+                      final int inputOffset,
+                      final int inputLength,
+                      final byte @NotNull [] output,
+                      final int outputOffset) throws GeneralSecurityException {
+    final byte[] nonce = new byte[NONCE_PREFIX_LENGTH + 5];
+    System.arraycopy(this.noncePrefix, 0, nonce, 0, NONCE_PREFIX_LENGTH);
+    nonce[NONCE_PREFIX_LENGTH] = (byte) (index >>> 24);
+    nonce[NONCE_PREFIX_LENGTH + 1] = (byte) (index >>> 16);
+    nonce[NONCE_PREFIX_LENGTH + 2] = (byte) (index >>> 8);
+    nonce[NONCE_PREFIX_LENGTH + 3] = (byte) index;
+    nonce[NONCE_PREFIX_LENGTH + 4] = (byte) (last ? 1 : 0);
+
+    final Cipher cipher = cipher();
+    cipher.init(mode, this.key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+    return cipher.doFinal(input, inputOffset, inputLength, output, outputOffset);
+  }
+
+  //static
+
+  /**
+   * Creates the cipher of a new message with a random salt and nonce prefix.
+   *
+   * @param masterKey   The master key.
+   * @param segmentSize The number of plaintext bytes per segment.
+   * @return The cipher of the message.
+   * @throws AlgorithmNotPresentException If HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   */
+  static @NotNull SegmentCipher create(@NotNull final SecretKey masterKey,
+                                       final int segmentSize) throws AlgorithmNotPresentException, IllegalKeyException {
+    final byte[] random = new byte[SALT_LENGTH + NONCE_PREFIX_LENGTH];
+    SECURE_RANDOM.nextBytes(random);
+    return new SegmentCipher(masterKey, ByteBuffer.allocate(LENGTH)
+        .putInt(MAGIC)
+        .putInt(segmentSize)
+        .put(random)
+        .array());
+  }
+
+  /**
+   * Creates the cipher of an existing message from its header.
+   *
+   * @param masterKey The master key.
+   * @param header    The first {@link #LENGTH} bytes of the message, fewer if the message is shorter.
+   * @return The cipher of the message.
+   * @throws PaddingException             If the header is truncated or not of this format.
+   * @throws AlgorithmNotPresentException If HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   */
+  static @NotNull SegmentCipher open(@NotNull final SecretKey masterKey,
+                                     final byte @NotNull [] header)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException {
+    if (header.length < LENGTH) {
+      throw new PaddingException("Message is truncated, header has %d bytes.".formatted(header.length));
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(header);
+    if (buffer.getInt() != MAGIC) {
+      throw new PaddingException("Message has an unknown format.");
+    }
+    final int segmentSize = buffer.getInt();
+    if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+      throw new PaddingException("Segment size=%d of the message is out of range.".formatted(segmentSize));
+    }
+    return new SegmentCipher(masterKey, Arrays.copyOf(header, LENGTH));
+  }
+
+  /**
+   * Maps an exception of a segment to the exceptions of the processor.
+   *
+   * @param exception The exception thrown by {@link #encrypt} or {@link #decrypt}.
+   * @return An {@link IllegalStateException} for exceptions not expected from a segment.
+   * @throws PaddingException             If a segment does not verify.
+   * @throws AlgorithmNotPresentException If AES/GCM is not present.
+   * @throws IllegalKeyException          If the derived key is not accepted.
+   */
+  static @NotNull IllegalStateException rethrow(@NotNull final GeneralSecurityException exception)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException {
+    //Tag does not match or segment shorter than a tag.
+    if (exception instanceof BadPaddingException || exception instanceof IllegalBlockSizeException) {
+      throw new PaddingException("Segment failed verification.", exception);
+    }
+
+    //Algorithm error
+    if (exception instanceof NoSuchAlgorithmException || exception instanceof NoSuchPaddingException ||
+        exception instanceof InvalidAlgorithmParameterException) {
+      throw new AlgorithmNotPresentException(
+          "Algorithm=%s is not present or wrong configuration.".formatted(CIPHER_ALGORITHM), exception);
+    }
+
+    //Something is wrong with given key.
+    if (exception instanceof InvalidKeyException) {
+      throw new IllegalKeyException(exception);
+    }
+    return new IllegalStateException(exception);
+  }
+
+  /**
+   * Derives the key of a message.
+   *
+   * @param masterKey The master key.
+   * @param header    The header of the message.
+   * @return The AES key of the message.
+   * @throws AlgorithmNotPresentException If HmacSHA256 is not present.
+   * @throws IllegalKeyException          If the key is not a raw key of 16, 24 or 32 bytes.
+   */
+  private static @NotNull SecretKeySpec key(@NotNull final SecretKey masterKey,
+                                            final byte @NotNull [] header)
+      throws AlgorithmNotPresentException, IllegalKeyException {
+    final byte @Nullable [] encoded = masterKey.getEncoded();
+    if (encoded == null || (encoded.length != 16 && encoded.length != 24 && encoded.length != 32)) {
+      throw new IllegalKeyException("Master key must be a raw key of 16, 24 or 32 bytes.");
+    }
+
+    byte[] derived = null;
+    try {
+      final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(new SecretKeySpec(encoded, MAC_ALGORITHM));
+      derived = mac.doFinal(header);
+      return new SecretKeySpec(derived, 0, encoded.length, "AES");
+    } catch (final NoSuchAlgorithmException exception) {
+      throw new AlgorithmNotPresentException(
+          "Algorithm=%s is not present or wrong configuration.".formatted(MAC_ALGORITHM), exception);
+    } catch (final InvalidKeyException exception) {
+      throw new IllegalKeyException(exception);
+    } finally {
+      Arrays.fill(encoded, (byte) 0);
+      if (derived != null) {
+        Arrays.fill(derived, (byte) 0);
+      }
+    }
+  }
+
+  private static @NotNull Cipher cipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+    Cipher cipher = THREAD_CIPHER.get();
+    if (cipher == null) {
+      cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+      THREAD_CIPHER.set(cipher);
+    }
+    return cipher;
+  }
+}
@@ -0,0 +1,321 @@
+package dev.dotspace.dayhawk.security.crypt.stream;
+
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * See {@link IStreamingAeadProcessor}
+ *
+ * <p>A message is a header of {@value SegmentCipher#LENGTH} bytes followed by the segments, each encrypted with
+ * AES/GCM and {@value SegmentCipher#TAG_LENGTH} bytes longer than its plaintext. The key of every message is derived
+ * from the master key and the random header, so a master key can encrypt any number of messages, each of up to
+ * 2<sup>32</sup> segments.</p>
+ *
+ * <p>Input is read in windows of several segments. The segments of a window are processed concurrently on the
+ * executor and the calling thread, then written in order before the next window is read. Memory is bounded by two
+ * windows, independent of the length of the message.</p>
+ */
+public final class StreamingAeadProcessor implements IStreamingAeadProcessor {
+  /**
+   * Default number of plaintext bytes per segment.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+  /**
+   * Maximum number of plaintext bytes of a window.
+   */
+  private static final int MAX_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull String algorithm;
+  @Getter
+  @Accessors(fluent=true)
+  private final int segmentSize;
+  /**
+   * Executor processing the segments of a window, next to the calling thread.
+   */
+  private final @NotNull Executor executor;
+
+  /**
+   * Constructs a new {@code StreamingAeadProcessor} with segments of {@link #DEFAULT_SEGMENT_SIZE} bytes, processing
+   * on the {@link ForkJoinPool#commonPool()}.
+   */
+  public StreamingAeadProcessor() {
+    this(DEFAULT_SEGMENT_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new {@code StreamingAeadProcessor}.
+   *
+   * @param segmentSize The number of plaintext bytes per segment, from 1 KiB to 64 MiB.
+   * @param executor    The executor processing segments. Must not be {@code null}.
+   * @throws NullPointerException     If the provided executor is {@code null}.
+   * @throws IllegalArgumentException If the segment size is out of range.
+   */
+  public StreamingAeadProcessor(final int segmentSize,
+                                @Nullable final Executor executor) {
+    //Null check
+    Objects.requireNonNull(executor);
+    if (segmentSize < SegmentCipher.MIN_SEGMENT_SIZE || segmentSize > SegmentCipher.MAX_SEGMENT_SIZE) {
+      throw new IllegalArgumentException("Segment size=%d is out of range.".formatted(segmentSize));
+    }
+
+    this.segmentSize = segmentSize;
+    this.executor = executor;
+    this.algorithm = "AES/GCM/STREAM(segment=%d)".formatted(segmentSize);
+  }
+
+  /**
+   * See {@link IStreamingAeadProcessor#encrypt(SecretKey, InputStream, OutputStream)}
+   */
+  @Override
+  public long encrypt(@Nullable SecretKey key,
+                      @Nullable InputStream inputStream,
+                      @Nullable OutputStream outputStream)
+      throws AlgorithmNotPresentException, IllegalKeyException, IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(inputStream);
+    Objects.requireNonNull(outputStream);
+
+    final SegmentCipher segmentCipher = SegmentCipher.create(key, this.segmentSize);
+    final int window = window(this.segmentSize);
+    //One byte more than a window: a full window is only the end of the input if nothing follows.
+    final byte[] input = new byte[window * this.segmentSize + 1];
+    final byte[] output = new byte[window * (this.segmentSize + SegmentCipher.TAG_LENGTH)];
+
+    outputStream.write(segmentCipher.header());
+    long written = SegmentCipher.LENGTH;
+    long index = 0;
+    int carried = 0;
+    while (true) {
+      final int read = carried + inputStream.readNBytes(input, carried, input.length - carried);
+      final boolean end = read < input.length;
+      final int length = end ? read : input.length - 1;
+      //An empty input is one empty segment.
+      final int count = end ? Math.max(1, (length + this.segmentSize - 1) / this.segmentSize) : window;
+      if (index + count > SegmentCipher.MAX_SEGMENTS) {
+        throw new IOException("Input exceeds %d segments.".formatted(SegmentCipher.MAX_SEGMENTS));
+      }
+
+      final long first = index;
+      try {
+        this.run(count, segment -> {
+          final int offset = segment * this.segmentSize;
+          segmentCipher.encrypt(first + segment, end && segment == count - 1, input, offset,
+              Math.min(this.segmentSize, length - offset), output,
+              segment * (this.segmentSize + SegmentCipher.TAG_LENGTH));
+        });
+      } catch (final PaddingException exception) {
+        //Not possible, encryption does not verify anything.
+        throw new IllegalStateException(exception);
+      }
+
+      final int produced = length + count * SegmentCipher.TAG_LENGTH;
+      outputStream.write(output, 0, produced);
+      written += produced;
+      index += count;
+      if (end) {
+        return written;
+      }
+      input[0] = input[input.length - 1];
+      carried = 1;
+    }
+  }
+
+  /**
+   * See {@link IStreamingAeadProcessor#decrypt(SecretKey, InputStream, OutputStream)}
+   */
+  @Override
+  public long decrypt(@Nullable SecretKey key,
+                      @Nullable InputStream inputStream,
+                      @Nullable OutputStream outputStream)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(inputStream);
+    Objects.requireNonNull(outputStream);
+
+    final SegmentCipher segmentCipher = SegmentCipher.open(key, inputStream.readNBytes(SegmentCipher.LENGTH));
+    final int segmentSize = segmentCipher.segmentSize();
+    final int ciphertextSegmentSize = segmentSize + SegmentCipher.TAG_LENGTH;
+    final int window = window(segmentSize);
+    final byte[] input = new byte[window * ciphertextSegmentSize + 1];
+    final byte[] output = new byte[window * segmentSize];
+
+    long written = 0;
+    long index = 0;
+    int carried = 0;
+    while (true) {
+      final int read = carried + inputStream.readNBytes(input, carried, input.length - carried);
+      final boolean end = read < input.length;
+      final int length = end ? read : input.length - 1;
+      final int count = end ? (length + ciphertextSegmentSize - 1) / ciphertextSegmentSize : window;
+      if (end && (count == 0 || length - (count - 1) * ciphertextSegmentSize < SegmentCipher.TAG_LENGTH)) {
+        throw new PaddingException("Message is truncated.");
+      }
+      if (index + count > SegmentCipher.MAX_SEGMENTS) {
+        throw new PaddingException("Message exceeds %d segments.".formatted(SegmentCipher.MAX_SEGMENTS));
+      }
+
+      final long first = index;
+      this.run(count, segment -> {
+        final int offset = segment * ciphertextSegmentSize;
+        segmentCipher.decrypt(first + segment, end && segment == count - 1, input, offset,
+            Math.min(ciphertextSegmentSize, length - offset), output, segment * segmentSize);
+      });
+
+      final int produced = length - count * SegmentCipher.TAG_LENGTH;
+      outputStream.write(output, 0, produced);
+      written += produced;
+      index += count;
+      if (end) {
+        return written;
+      }
+      input[0] = input[input.length - 1];
+      carried = 1;
+    }
+  }
+
+  /**
+   * See {@link IStreamingAeadProcessor#open(SecretKey, SeekableByteChannel)}
+   */
+  @Override
+  public @NotNull SeekableByteChannel open(@Nullable SecretKey key,
+                                           @Nullable SeekableByteChannel channel)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(channel);
+
+    return new DecryptingChannel(key, channel);
+  }
+
+  /**
+   * See {@link IStreamingAeadProcessor#open(SecretKey, Path)}
+   */
+  @Override
+  public @NotNull SeekableByteChannel open(@Nullable SecretKey key,
+                                           @Nullable Path path)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException, IOException {
+    //Null check
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(path);
+
+    final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new DecryptingChannel(key, fileChannel);
+    } catch (final PaddingException | AlgorithmNotPresentException | IllegalKeyException | IOException exception) {
+      fileChannel.close();
+      throw exception;
+    }
+  }
+
+  /**
+   * See {@link IStreamingAeadProcessor#ciphertextSize(long)}
+   */
+  @Override
+  public long ciphertextSize(long plaintextSize) {
+    if (plaintextSize < 0) {
+      throw new IllegalArgumentException("Plaintext size=%d must not be negative.".formatted(plaintextSize));
+    }
+    final long segments = Math.max(1, (plaintextSize + this.segmentSize - 1) / this.segmentSize);
+    return SegmentCipher.LENGTH + plaintextSize + segments * SegmentCipher.TAG_LENGTH;
+  }
+
+  /**
+   * Processes the segments of a window, the last one on the calling thread. Returns once all segments are done,
+   * also if one of them failed.
+   *
+   * @param count   The number of segments.
+   * @param segment The operation on a segment, given its index within the window.
+   * @throws PaddingException             If a segment does not verify.
+   * @throws AlgorithmNotPresentException If AES/GCM is not present.
+   * @throws IllegalKeyException          If the derived key is not accepted.
+   */
+  private void run(final int count,
+                   @NotNull final SegmentOperation segment)
+      throws PaddingException, AlgorithmNotPresentException, IllegalKeyException {
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[count - 1];
+    for (int index = 0; index < futures.length; index++) {
+      final int current = index;
+      futures[index] = CompletableFuture.runAsync(() -> {
+        try {
+          segment.process(current);
+        } catch (final GeneralSecurityException exception) {
+          throw new CompletionException(exception);
+        }
+      }, this.executor);
+    }
+
+    GeneralSecurityException failure = null;
+    try {
+      segment.process(count - 1);
+    } catch (final GeneralSecurityException exception) {
+      failure = exception;
+    }
+
+    //Every task has to finish before the buffers of the window are used again.
+    for (final CompletableFuture<?> future : futures) {
+      try {
+        future.join();
+      } catch (final CompletionException exception) {
+        if (!(exception.getCause() instanceof GeneralSecurityException generalSecurityException)) {
+          throw exception;
+        }
+        if (failure == null) {
+          failure = generalSecurityException;
+        }
+      }
+    }
+    if (failure != null) {
+      throw SegmentCipher.rethrow(failure);
+    }
+  }
+
+  //static
+
+  /**
+   * Returns the number of segments of a window: two per core, but at most {@link #MAX_WINDOW_SIZE} bytes.
+   *
+   * @param segmentSize The number of plaintext bytes per segment.
+   * @return The number of segments, at least two.
+   */
+  private static int window(final int segmentSize) {
+    return Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() * 2, MAX_WINDOW_SIZE / segmentSize));
+  }
+
+  /**
+   * Operation on one segment of a window.
+   */
+  private interface SegmentOperation {
+    /**
+     * Processes a segment.
+     *
+     * @param segment The index of the segment within the window.
+     * @throws GeneralSecurityException If the cipher fails or the segment does not verify.
+     */
+    void process(final int segment) throws GeneralSecurityException;
+  }
+}
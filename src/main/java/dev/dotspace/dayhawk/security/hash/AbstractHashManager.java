@@ -1,6 +1,7 @@
 package dev.dotspace.dayhawk.security.hash;
 
 import dev.dotspace.dayhawk.security.entity.AbstractSecurityManager;
+import dev.dotspace.dayhawk.security.hash.checksum.ChecksumProvider;
 import dev.dotspace.dayhawk.security.hash.processor.HashProcessor;
 import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
 import org.jetbrains.annotations.NotNull;
@@ -8,6 +9,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.security.Security;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The {@code AbstractHashManager} class is an abstract implementation of the {@link AbstractSecurityManager}
@@ -15,7 +17,8 @@ import java.util.ArrayList;
  *
  * <p>This class extends {@code AbstractSecurityManager} and implements the {@link IHashManager} interface. It
  * provides support for hashing operations and includes a default constructor that initializes the list of
- * supported cryptographic algorithms based on the available message digest algorithms.</p>
+ * supported cryptographic algorithms based on the available message digest algorithms. The checksums of the
+ * {@link ChecksumProvider} are listed next to them.</p>
  *
  * <p>Usage Example:</p>
  * <pre>
@@ -41,7 +44,22 @@ public abstract class AbstractHashManager extends AbstractSecurityManager<IHashP
    * Constructs an {@code AbstractHashManager} with the specified list of supported cryptographic algorithms.
    */
   protected AbstractHashManager() {
-    super(new ArrayList<>(Security.getAlgorithms("MessageDigest")));
+    super(algorithms());
+  }
+
+  /**
+   * Collects the digest algorithms of all installed providers and the checksums of the {@link ChecksumProvider}.
+   *
+   * @return The algorithm names.
+   */
+  private static @NotNull List<String> algorithms() {
+    final List<String> algorithms = new ArrayList<>(Security.getAlgorithms("MessageDigest"));
+    for (final String checksum : ChecksumProvider.instance().algorithmList()) {
+      if (algorithms.stream().noneMatch(checksum::equalsIgnoreCase)) {
+        algorithms.add(checksum);
+      }
+    }
+    return algorithms;
   }
 
   /**
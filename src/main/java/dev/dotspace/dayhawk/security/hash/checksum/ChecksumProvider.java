@@ -0,0 +1,94 @@
+package dev.dotspace.dayhawk.security.hash.checksum;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.security.MessageDigest;
+import java.security.MessageDigestSpi;
+import java.security.Provider;
+import java.util.List;
+import java.util.function.Supplier;
+
+
+/**
+ * The {@code ChecksumProvider} class is a security provider offering fast, non-cryptographic checksums as
+ * {@link MessageDigest} algorithms.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * // Checksums are served by the HashManager like any other digest
+ * IHashProcessor hashProcessor = HashManager.instance().processor("XXH64");
+ * IHashValue checksum = hashProcessor.hash(Path.of("transfer.bin"));
+ *
+ * // Or used directly through the JCA
+ * MessageDigest messageDigest = MessageDigest.getInstance("CRC32C", ChecksumProvider.instance());
+ * }
+ * </pre>
+ *
+ * <p>The provider is not installed into {@link java.security.Security}, it is used by the hash processors if no
+ * installed provider offers an algorithm. Checksums only detect accidental corruption, they must not be used where
+ * an attacker can choose the input.</p>
+ *
+ * <p>Supported algorithms:</p>
+ * <ul>
+ *   <li>{@code CRC32C}, 4 bytes, backed by {@link java.util.zip.CRC32C}.</li>
+ *   <li>{@code XXH64}, 8 bytes, xxHash64 with seed {@code 0}.</li>
+ * </ul>
+ * <p>Checksums are written in big endian byte order, matching the canonical form of the reference
+ * implementations.</p>
+ */
+public final class ChecksumProvider extends Provider {
+  @Serial
+  private static final long serialVersionUID = 1L;
+  /**
+   * The names of the checksum algorithms.
+   */
+  private static final List<String> ALGORITHMS = List.of(Crc32cDigest.ALGORITHM, Xxh64Digest.ALGORITHM);
+  /**
+   * The singleton instance of the {@code ChecksumProvider}.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final static @NotNull ChecksumProvider instance = new ChecksumProvider();
+
+  /**
+   * Constructs the {@code ChecksumProvider}.
+   */
+  private ChecksumProvider() {
+    super("DayHawkChecksum", "1.0", "Non-cryptographic checksums as MessageDigest");
+
+    this.putDigest(Crc32cDigest.ALGORITHM, Crc32cDigest.class, Crc32cDigest::new);
+    this.putDigest(Xxh64Digest.ALGORITHM, Xxh64Digest.class, Xxh64Digest::new);
+  }
+
+  /**
+   * Returns the names of all algorithms of this provider.
+   *
+   * @return The algorithm names.
+   */
+  public @NotNull List<String> algorithmList() {
+    return ALGORITHMS;
+  }
+
+  /**
+   * Registers a digest. The implementations are not public, instances are created by the supplier instead of
+   * reflection.
+   *
+   * @param algorithm The name of the algorithm.
+   * @param type      The implementation class.
+   * @param supplier  Creates new instances.
+   */
+  private void putDigest(@NotNull final String algorithm,
+                         @NotNull final Class<? extends MessageDigestSpi> type,
+                         @NotNull final Supplier<MessageDigestSpi> supplier) {
+    this.putService(new Service(this, "MessageDigest", algorithm, type.getName(), null, null) {
+      @Override
+      public Object newInstance(final Object constructorParameter) {
+        return supplier.get();
+      }
+    });
+  }
+}
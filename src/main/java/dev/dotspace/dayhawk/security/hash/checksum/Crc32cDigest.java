@@ -0,0 +1,57 @@
+package dev.dotspace.dayhawk.security.hash.checksum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigestSpi;
+import java.util.zip.CRC32C;
+
+
+/**
+ * CRC32C (Castagnoli) as {@link MessageDigestSpi}, backed by the intrinsic of {@link CRC32C}.
+ *
+ * <p>{@link CRC32C} can not be copied, this digest is therefore not cloneable.</p>
+ */
+final class Crc32cDigest extends MessageDigestSpi {
+  /**
+   * Name of the implemented algorithm.
+   */
+  static final String ALGORITHM = "CRC32C";
+
+  private final @NotNull CRC32C crc32c = new CRC32C();
+
+  @Override
+  protected int engineGetDigestLength() {
+    return 4;
+  }
+
+  @Override
+  protected void engineUpdate(final byte input) {
+    this.crc32c.update(input);
+  }
+
+  @Override
+  protected void engineUpdate(final byte @NotNull [] input,
+                              final int offset,
+                              final int length) {
+    this.crc32c.update(input, offset, length);
+  }
+
+  @Override
+  protected void engineUpdate(@NotNull final ByteBuffer input) {
+    //Direct buffers are read in place.
+    this.crc32c.update(input);
+  }
+
+  @Override
+  protected byte @NotNull [] engineDigest() {
+    final int value = (int) this.crc32c.getValue();
+    this.crc32c.reset();
+    return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+  }
+
+  @Override
+  protected void engineReset() {
+    this.crc32c.reset();
+  }
+}
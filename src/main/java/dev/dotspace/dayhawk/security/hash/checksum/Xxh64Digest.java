@@ -0,0 +1,193 @@
+package dev.dotspace.dayhawk.security.hash.checksum;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigestSpi;
+
+
+/**
+ * xxHash64 with seed {@code 0} as {@link MessageDigestSpi}, following the reference implementation.
+ *
+ * <p>Input is consumed in stripes of 32 bytes by four independent accumulators, bytes of an incomplete stripe are
+ * buffered until the next update.</p>
+ */
+final class Xxh64Digest extends MessageDigestSpi implements Cloneable {
+  /**
+   * Name of the implemented algorithm.
+   */
+  static final String ALGORITHM = "XXH64";
+
+  private static final long PRIME1 = 0x9E3779B185EBCA87L, PRIME2 = 0xC2B2AE3D27D4EB4FL, PRIME3 = 0x165667B19E3779F9L,
+      PRIME4 = 0x85EBCA77C2B2AE63L, PRIME5 = 0x27D4EB2F165667C5L;
+  private static final int STRIPE = 32;
+  /**
+   * Little endian views of byte arrays.
+   */
+  private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN),
+      INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private long v1, v2, v3, v4;
+  /**
+   * Number of bytes hashed so far.
+   */
+  private long length;
+  /**
+   * Bytes of the incomplete stripe.
+   */
+  private byte[] buffer = new byte[STRIPE];
+
+  Xxh64Digest() {
+    this.engineReset();
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return 8;
+  }
+
+  @Override
+  protected void engineUpdate(final byte input) {
+    this.buffer[(int) (this.length++ & (STRIPE - 1))] = input;
+    if ((this.length & (STRIPE - 1)) == 0) {
+      this.stripe(this.buffer, 0);
+    }
+  }
+
+  @Override
+  protected void engineUpdate(final byte @NotNull [] input,
+                              int offset,
+                              int length) {
+    final int buffered = (int) (this.length & (STRIPE - 1));
+    this.length += length;
+
+    //Fill a partial stripe first.
+    if (buffered > 0) {
+      final int fill = Math.min(length, STRIPE - buffered);
+      System.arraycopy(input, offset, this.buffer, buffered, fill);
+      offset += fill;
+      length -= fill;
+      if (buffered + fill < STRIPE) {
+        return;
+      }
+      this.stripe(this.buffer, 0);
+    }
+
+    for (; length >= STRIPE; offset += STRIPE, length -= STRIPE) {
+      this.stripe(input, offset);
+    }
+    System.arraycopy(input, offset, this.buffer, 0, length);
+  }
+
+  @Override
+  protected void engineUpdate(@NotNull final ByteBuffer input) {
+    if (input.hasArray()) {
+      this.engineUpdate(input.array(), input.arrayOffset() + input.position(), input.remaining());
+      input.position(input.limit());
+      return;
+    }
+
+    //Direct buffers: whole stripes are read in place, only the ends go through the stripe buffer.
+    while (input.hasRemaining() && (this.length & (STRIPE - 1)) != 0) {
+      this.engineUpdate(input.get());
+    }
+    final ByteBuffer littleEndian = input.slice().order(ByteOrder.LITTLE_ENDIAN);
+    int position = 0;
+    for (; littleEndian.remaining() - position >= STRIPE; position += STRIPE) {
+      this.v1 = round(this.v1, littleEndian.getLong(position));
+      this.v2 = round(this.v2, littleEndian.getLong(position + 8));
+      this.v3 = round(this.v3, littleEndian.getLong(position + 16));
+      this.v4 = round(this.v4, littleEndian.getLong(position + 24));
+    }
+    this.length += position;
+    input.position(input.position() + position);
+    while (input.hasRemaining()) {
+      this.engineUpdate(input.get());
+    }
+  }
+
+  @Override
+  protected byte @NotNull [] engineDigest() {
+    long hash;
+    if (this.length >= STRIPE) {
+      hash = Long.rotateLeft(this.v1, 1) + Long.rotateLeft(this.v2, 7) +
+          Long.rotateLeft(this.v3, 12) + Long.rotateLeft(this.v4, 18);
+      hash = merge(hash, this.v1);
+      hash = merge(hash, this.v2);
+      hash = merge(hash, this.v3);
+      hash = merge(hash, this.v4);
+    } else {
+      hash = PRIME5;
+    }
+    hash += this.length;
+
+    final int remaining = (int) (this.length & (STRIPE - 1));
+    int offset = 0;
+    for (; offset + 8 <= remaining; offset += 8) {
+      hash ^= round(0, (long) LONG.get(this.buffer, offset));
+      hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+    }
+    if (offset + 4 <= remaining) {
+      hash ^= ((int) INT.get(this.buffer, offset) & 0xFFFFFFFFL) * PRIME1;
+      hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+      offset += 4;
+    }
+    for (; offset < remaining; offset++) {
+      hash ^= (this.buffer[offset] & 0xFF) * PRIME5;
+      hash = Long.rotateLeft(hash, 11) * PRIME1;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= PRIME2;
+    hash ^= hash >>> 29;
+    hash *= PRIME3;
+    hash ^= hash >>> 32;
+
+    this.engineReset();
+    final byte[] digest = new byte[8];
+    for (int index = 0; index < 8; index++) {
+      digest[index] = (byte) (hash >>> (56 - index * 8));
+    }
+    return digest;
+  }
+
+  @Override
+  protected void engineReset() {
+    this.v1 = PRIME1 + PRIME2;
+    this.v2 = PRIME2;
+    this.v3 = 0;
+    this.v4 = -PRIME1;
+    this.length = 0;
+  }
+
+  @Override
+  public @NotNull Object clone() throws CloneNotSupportedException {
+    final Xxh64Digest copy = (Xxh64Digest) super.clone();
+    copy.buffer = this.buffer.clone();
+    return copy;
+  }
+
+  /**
+   * Consumes one stripe of 32 bytes.
+   */
+  private void stripe(final byte @NotNull [] input,
+                      final int offset) {
+    this.v1 = round(this.v1, (long) LONG.get(input, offset));
+    this.v2 = round(this.v2, (long) LONG.get(input, offset + 8));
+    this.v3 = round(this.v3, (long) LONG.get(input, offset + 16));
+    this.v4 = round(this.v4, (long) LONG.get(input, offset + 24));
+  }
+
+  private static long round(final long accumulator,
+                            final long input) {
+    return Long.rotateLeft(accumulator + input * PRIME2, 31) * PRIME1;
+  }
+
+  private static long merge(final long hash,
+                            final long accumulator) {
+    return (hash ^ round(0, accumulator)) * PRIME1 + PRIME4;
+  }
+}
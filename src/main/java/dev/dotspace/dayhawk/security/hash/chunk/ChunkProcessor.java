@@ -0,0 +1,240 @@
+package dev.dotspace.dayhawk.security.hash.chunk;
+
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * See {@link IChunkProcessor}
+ *
+ * <p>Boundaries are found with FastCDC: a Gear rolling hash is updated with one table lookup, one shift and one add
+ * per byte, and a boundary is set where its high bits are zero. The first {@link #minSize()} bytes of a chunk are
+ * skipped, and chunks are normalized: up to {@link #averageSize()} a boundary needs two more zero bits, beyond it two
+ * less. Chunks are cut on the thread consuming the stream and hashed on the executor.</p>
+ */
+public final class ChunkProcessor implements IChunkProcessor {
+  /**
+   * Default chunk lengths, as proposed for FastCDC.
+   */
+  public static final int DEFAULT_MIN_SIZE = 2 * 1024, DEFAULT_AVERAGE_SIZE = 8 * 1024, DEFAULT_MAX_SIZE = 64 * 1024;
+  /**
+   * Minimum number of bytes read from a stream at once.
+   */
+  private static final int MIN_BLOCK_SIZE = 1024 * 1024;
+  /**
+   * Random value of every byte for the Gear hash. The seed is fixed, boundaries must not change between runs.
+   */
+  private static final long[] GEAR = gear(0x6765_6172L);
+
+  /**
+   * The name of the hash algorithm including the chunking parameters.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull String algorithm;
+  /**
+   * The processor hashing the chunks.
+   */
+  private final @NotNull IHashProcessor hashProcessor;
+  @Getter
+  @Accessors(fluent=true)
+  private final int minSize;
+  @Getter
+  @Accessors(fluent=true)
+  private final int averageSize;
+  @Getter
+  @Accessors(fluent=true)
+  private final int maxSize;
+  /**
+   * Executor hashing the chunks.
+   */
+  private final @NotNull Executor executor;
+  /**
+   * Masks of the high bits of the Gear hash, before and after the average length.
+   */
+  private final long smallMask, largeMask;
+
+  /**
+   * Constructs a new {@code ChunkProcessor} with the default chunk lengths, hashing on the
+   * {@link ForkJoinPool#commonPool()}.
+   *
+   * @param hashProcessor The processor hashing the chunks. Must not be {@code null}.
+   * @throws NullPointerException If the provided processor is {@code null}.
+   */
+  public ChunkProcessor(@Nullable final IHashProcessor hashProcessor) {
+    this(hashProcessor, DEFAULT_MIN_SIZE, DEFAULT_AVERAGE_SIZE, DEFAULT_MAX_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new {@code ChunkProcessor}.
+   *
+   * @param hashProcessor The processor hashing the chunks. Must not be {@code null}.
+   * @param minSize       The minimum length of a chunk, at least 64.
+   * @param averageSize   The length chunks are normalized to, a power of two.
+   * @param maxSize       The maximum length of a chunk.
+   * @param executor      The executor hashing the chunks. Must not be {@code null}.
+   * @throws NullPointerException     If the provided processor or executor is {@code null}.
+   * @throws IllegalArgumentException If the lengths are out of range or not ordered.
+   */
+  public ChunkProcessor(@Nullable final IHashProcessor hashProcessor,
+                        final int minSize,
+                        final int averageSize,
+                        final int maxSize,
+                        @Nullable final Executor executor) {
+    //Null check
+    Objects.requireNonNull(hashProcessor);
+    Objects.requireNonNull(executor);
+    if (minSize < 64 || Integer.bitCount(averageSize) != 1 || minSize > averageSize || averageSize > maxSize ||
+        maxSize > (1 << 28)) {
+      throw new IllegalArgumentException("Chunk sizes min=%d, average=%d, max=%d are out of range."
+          .formatted(minSize, averageSize, maxSize));
+    }
+
+    this.hashProcessor = hashProcessor;
+    this.minSize = minSize;
+    this.averageSize = averageSize;
+    this.maxSize = maxSize;
+    this.executor = executor;
+
+    final int bits = Integer.numberOfTrailingZeros(averageSize);
+    this.smallMask = -1L << (64 - Math.min(63, bits + 2));
+    this.largeMask = -1L << (64 - Math.max(1, bits - 2));
+    this.algorithm = "%s/FASTCDC(min=%d,avg=%d,max=%d)"
+        .formatted(hashProcessor.algorithm(), minSize, averageSize, maxSize);
+  }
+
+  /**
+   * See {@link IChunkProcessor#chunk(byte[])}
+   */
+  @Override
+  public @NotNull Stream<IHashChunk> chunk(byte @Nullable [] input) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(input);
+    //Fail before the stream is consumed.
+    this.hashProcessor.digestLength();
+
+    return StreamSupport.stream(new ChunkSpliterator(this, input, null), false);
+  }
+
+  /**
+   * See {@link IChunkProcessor#chunk(InputStream)}
+   */
+  @Override
+  public @NotNull Stream<IHashChunk> chunk(@Nullable InputStream inputStream) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(inputStream);
+    //Fail before the stream is consumed.
+    this.hashProcessor.digestLength();
+
+    return StreamSupport.stream(new ChunkSpliterator(this, new byte[0], inputStream), false);
+  }
+
+  /**
+   * See {@link IChunkProcessor#chunk(Path)}
+   */
+  @Override
+  public @NotNull Stream<IHashChunk> chunk(@Nullable Path path) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(path);
+    //Fail before the file is opened.
+    this.hashProcessor.digestLength();
+
+    final InputStream inputStream = Files.newInputStream(path);
+    return this.chunk(inputStream).onClose(() -> {
+      try {
+        inputStream.close();
+      } catch (final IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    });
+  }
+
+  /**
+   * Finds the end of the chunk starting at {@code start}.
+   *
+   * @param input The bytes.
+   * @param start The index of the first byte of the chunk.
+   * @param end   The index after the last available byte.
+   * @return The length of the chunk, at most {@link #maxSize()}.
+   */
+  int cut(final byte @NotNull [] input,
+          final int start,
+          final int end) {
+    final int available = end - start;
+    if (available <= this.minSize) {
+      return available;
+    }
+    final int limit = start + Math.min(available, this.maxSize);
+    final int normal = start + Math.min(available, this.averageSize);
+
+    long hash = 0;
+    int index = start + this.minSize;
+    for (; index < normal; index++) {
+      hash = (hash << 1) + GEAR[input[index] & 0xFF];
+      if ((hash & this.smallMask) == 0) {
+        return index + 1 - start;
+      }
+    }
+    for (; index < limit; index++) {
+      hash = (hash << 1) + GEAR[input[index] & 0xFF];
+      if ((hash & this.largeMask) == 0) {
+        return index + 1 - start;
+      }
+    }
+    return limit - start;
+  }
+
+  /**
+   * Returns the processor hashing the chunks.
+   */
+  @NotNull IHashProcessor hashProcessor() {
+    return this.hashProcessor;
+  }
+
+  /**
+   * Returns the executor hashing the chunks.
+   */
+  @NotNull Executor executor() {
+    return this.executor;
+  }
+
+  /**
+   * Returns the number of bytes read from a stream at once.
+   */
+  int blockSize() {
+    return Math.max(MIN_BLOCK_SIZE, this.maxSize * 4);
+  }
+
+  /**
+   * Generates the Gear table with SplitMix64. The generator is spelled out instead of using
+   * {@link java.util.SplittableRandom}, whose output is not specified and may change between JDKs.
+   *
+   * @param seed The seed of the generator.
+   * @return The 256 values of the table.
+   */
+  private static long @NotNull [] gear(long seed) {
+    final long[] gear = new long[256];
+    for (int index = 0; index < gear.length; index++) {
+      long value = seed += 0x9E37_79B9_7F4A_7C15L;
+      value = (value ^ value >>> 30) * 0xBF58_476D_1CE4_E5B9L;
+      value = (value ^ value >>> 27) * 0x94D0_49BB_1331_11EBL;
+      gear[index] = value ^ value >>> 31;
+    }
+    return gear;
+  }
+}
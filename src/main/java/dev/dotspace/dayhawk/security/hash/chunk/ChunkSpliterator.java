@@ -0,0 +1,175 @@
+package dev.dotspace.dayhawk.security.hash.chunk;
+
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+
+/**
+ * Sequential spliterator cutting chunks on the consuming thread and hashing them ahead on the executor of the
+ * {@link ChunkProcessor}.
+ *
+ * <p>Chunks are handed to the executor in batches of about {@link #BATCH_BYTES}, a task per chunk would cost more
+ * in hand-over between threads than hashing a chunk of a few kilobytes.</p>
+ *
+ * <p>Input is read in blocks. A new array is allocated for every block, so chunks still being hashed keep
+ * reading the bytes of their block while the next one is filled; the incomplete chunk at the end of a block is
+ * copied to the start of the next.</p>
+ */
+final class ChunkSpliterator extends Spliterators.AbstractSpliterator<IHashChunk> {
+  /**
+   * Number of input bytes hashed by one task.
+   */
+  private static final int BATCH_BYTES = 512 * 1024;
+
+  private final @NotNull ChunkProcessor chunkProcessor;
+  /**
+   * The stream to read further blocks from, {@code null} once it is exhausted or if the input is an array.
+   */
+  private @Nullable InputStream inputStream;
+  /**
+   * Maximum number of batches hashed ahead of the consumer.
+   */
+  private final int lookahead;
+  /**
+   * Batches being hashed, in the order of the input.
+   */
+  private final @NotNull ArrayDeque<CompletableFuture<IHashChunk[]>> pending = new ArrayDeque<>();
+  /**
+   * The batch being consumed and the index of its next chunk.
+   */
+  private IHashChunk @Nullable [] batch;
+  private int batchIndex;
+
+  private byte @NotNull [] block;
+  /**
+   * Index of the first byte not yet part of a chunk, and index after the last read byte.
+   */
+  private int position, limit;
+  /**
+   * Offset of {@code block[position]} within the input.
+   */
+  private long offset;
+
+  ChunkSpliterator(@NotNull final ChunkProcessor chunkProcessor,
+                   final byte @NotNull [] block,
+                   @Nullable final InputStream inputStream) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    this.chunkProcessor = chunkProcessor;
+    this.block = block;
+    this.limit = block.length;
+    this.inputStream = inputStream;
+    this.lookahead = 2 * (chunkProcessor.executor() instanceof ForkJoinPool forkJoinPool ?
+        forkJoinPool.getParallelism() : Runtime.getRuntime().availableProcessors());
+  }
+
+  @Override
+  public boolean tryAdvance(@NotNull final Consumer<? super IHashChunk> action) {
+    if (this.batch == null || this.batchIndex == this.batch.length) {
+      while (this.pending.size() < this.lookahead && this.submitBatch()) {
+        //Fill the look ahead.
+      }
+
+      final CompletableFuture<IHashChunk[]> future = this.pending.poll();
+      if (future == null) {
+        return false;
+      }
+      try {
+        this.batch = future.join();
+        this.batchIndex = 0;
+      } catch (final CompletionException exception) {
+        if (exception.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw exception;
+      }
+    }
+
+    action.accept(this.batch[this.batchIndex++]);
+    return true;
+  }
+
+  /**
+   * Cuts the chunks of the next batch and submits them for hashing. A batch never spans two blocks.
+   *
+   * @return {@code false} if the input is exhausted.
+   */
+  private boolean submitBatch() {
+    if (this.inputStream != null && this.limit - this.position < this.chunkProcessor.maxSize()) {
+      this.read();
+    }
+    if (this.position == this.limit) {
+      return false;
+    }
+
+    final byte[] block = this.block;
+    final long firstOffset = this.offset;
+    final int first = this.position;
+    final List<Integer> lengths = new ArrayList<>();
+    //Keep at least a maximal chunk for the next block, unless the stream is exhausted.
+    final int end = this.inputStream == null ? this.limit : this.limit - this.chunkProcessor.maxSize();
+    do {
+      final int length = this.chunkProcessor.cut(block, this.position, this.limit);
+      lengths.add(length);
+      this.position += length;
+      this.offset += length;
+    } while (this.position - first < BATCH_BYTES && this.position < end);
+
+    this.pending.add(CompletableFuture.supplyAsync(() -> {
+      final IHashChunk[] chunks = new IHashChunk[lengths.size()];
+      int start = first;
+      try {
+        for (int index = 0; index < chunks.length; index++) {
+          final int length = lengths.get(index);
+          chunks[index] = new ImmutableHashChunk(firstOffset + start - first, length,
+              this.chunkProcessor.hashProcessor().hash(ByteBuffer.wrap(block, start, length)));
+          start += length;
+        }
+      } catch (final DigestNotPresentException exception) {
+        //Not possible, the processor was checked before the stream was created.
+        throw new IllegalStateException(exception);
+      }
+      return chunks;
+    }, this.chunkProcessor.executor()));
+    return true;
+  }
+
+  /**
+   * Moves the unchunked tail into a new block and fills it from the stream.
+   */
+  private void read() {
+    final InputStream inputStream = this.inputStream;
+    final byte[] next = new byte[this.chunkProcessor.blockSize()];
+    final int tail = this.limit - this.position;
+    System.arraycopy(this.block, this.position, next, 0, tail);
+    this.block = next;
+    this.position = 0;
+    this.limit = tail;
+
+    try {
+      int read;
+      while (this.limit < next.length && (read = inputStream.read(next, this.limit, next.length - this.limit)) != -1) {
+        this.limit += read;
+      }
+      if (this.limit < next.length) {
+        this.inputStream = null;
+      }
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
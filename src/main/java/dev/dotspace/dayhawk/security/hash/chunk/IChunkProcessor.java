@@ -0,0 +1,90 @@
+package dev.dotspace.dayhawk.security.hash.chunk;
+
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+
+/**
+ * The {@code IChunkProcessor} interface defines a contract for processors splitting an input at content defined
+ * boundaries and hashing every chunk.
+ *
+ * <p>Boundaries depend only on the bytes close to them. Inserting or removing bytes therefore only changes the
+ * chunks around the edit, all other chunks keep their hash values, which makes the chunks suitable for
+ * deduplication.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IChunkProcessor chunkProcessor = new ChunkProcessor(HashManager.instance().processor("SHA-256"));
+ *
+ * try (Stream<IHashChunk> chunks = chunkProcessor.chunk(Path.of("backup.tar"))) {
+ *     chunks.filter(chunk -> !store.contains(chunk.hashValue())).forEach(store::upload);
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Returned streams are sequential and lazy: the input is read while the stream is consumed, only a bounded
+ * number of chunks ahead of the consumer is read and hashed. I/O errors while consuming are thrown as
+ * {@link UncheckedIOException}.</p>
+ *
+ * @see IHashChunk
+ */
+public interface IChunkProcessor extends ISecurityProcessor, AlgorithmObject {
+  /**
+   * Splits the array into chunks.
+   *
+   * @param input The bytes to be chunked. Must not be changed while the stream is consumed.
+   * @return The chunks in the order of the input.
+   * @throws DigestNotPresentException If the algorithm of the hash processor is not present.
+   */
+  @NotNull Stream<IHashChunk> chunk(final byte @Nullable [] input) throws DigestNotPresentException;
+
+  /**
+   * Splits the remaining content of the stream into chunks. The stream is not closed.
+   *
+   * @param inputStream The stream to be chunked.
+   * @return The chunks in the order of the input, offsets start at {@code 0}.
+   * @throws DigestNotPresentException If the algorithm of the hash processor is not present.
+   */
+  @NotNull Stream<IHashChunk> chunk(@Nullable final InputStream inputStream) throws DigestNotPresentException;
+
+  /**
+   * Splits the content of the file into chunks. The file is closed when the returned stream is closed.
+   *
+   * @param path The file to be chunked.
+   * @return The chunks in the order of the file.
+   * @throws DigestNotPresentException If the algorithm of the hash processor is not present.
+   * @throws IOException               If the file could not be opened.
+   */
+  @NotNull Stream<IHashChunk> chunk(@Nullable final Path path) throws DigestNotPresentException, IOException;
+
+  /**
+   * Returns the minimum length of a chunk. Only the last chunk of an input may be shorter.
+   *
+   * @return The length in bytes.
+   */
+  int minSize();
+
+  /**
+   * Returns the length chunks are normalized to.
+   *
+   * @return The length in bytes.
+   */
+  int averageSize();
+
+  /**
+   * Returns the maximum length of a chunk.
+   *
+   * @return The length in bytes.
+   */
+  int maxSize();
+}
@@ -0,0 +1,45 @@
+package dev.dotspace.dayhawk.security.hash.chunk;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * The {@code IHashChunk} interface represents one content defined chunk of an input and the hash value of its
+ * bytes.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IHashChunk hashChunk = // ...
+ *
+ * long offset = hashChunk.offset();
+ * int length = hashChunk.length();
+ * IHashValue hashValue = hashChunk.hashValue();
+ * }
+ * </pre>
+ *
+ * @see IChunkProcessor
+ */
+public interface IHashChunk {
+  /**
+   * Returns the position of the first byte of the chunk within the input.
+   *
+   * @return The offset in bytes.
+   */
+  long offset();
+
+  /**
+   * Returns the number of bytes of the chunk.
+   *
+   * @return The length in bytes.
+   */
+  int length();
+
+  /**
+   * Returns the hash value of the bytes of the chunk.
+   *
+   * @return The hash value.
+   */
+  @NotNull IHashValue hashValue();
+}
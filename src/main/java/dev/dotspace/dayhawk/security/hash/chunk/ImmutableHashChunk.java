@@ -0,0 +1,73 @@
+package dev.dotspace.dayhawk.security.hash.chunk;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+
+/**
+ * The {@code ImmutableHashChunk} class is a final implementation of the {@link IHashChunk} interface.
+ *
+ * @see IHashChunk
+ */
+@Getter
+@Accessors(fluent=true)
+public final class ImmutableHashChunk implements IHashChunk {
+  /**
+   * The position of the first byte of the chunk within the input.
+   */
+  private final long offset;
+  /**
+   * The number of bytes of the chunk.
+   */
+  private final int length;
+  /**
+   * The hash value of the bytes of the chunk.
+   */
+  private final @NotNull IHashValue hashValue;
+
+  /**
+   * Constructs an {@code ImmutableHashChunk}.
+   *
+   * @param offset    The position of the first byte of the chunk within the input.
+   * @param length    The number of bytes of the chunk.
+   * @param hashValue The hash value of the bytes of the chunk.
+   * @throws NullPointerException If the provided hash value is {@code null}.
+   */
+  public ImmutableHashChunk(final long offset,
+                            final int length,
+                            @Nullable final IHashValue hashValue) {
+    //Null check
+    Objects.requireNonNull(hashValue);
+
+    this.offset = offset;
+    this.length = length;
+    this.hashValue = hashValue;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    return obj instanceof IHashChunk hashChunk &&
+        this.offset == hashChunk.offset() &&
+        this.length == hashChunk.length() &&
+        this.hashValue.equals(hashChunk.hashValue());
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Long.hashCode(this.offset) + this.length) + this.hashValue.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "HashChunk(offset=%d, length=%d, hash=%s)".formatted(this.offset, this.length, this.hashValue.hex());
+  }
+}
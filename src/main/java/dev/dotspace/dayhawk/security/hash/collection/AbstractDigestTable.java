@@ -0,0 +1,323 @@
+package dev.dotspace.dayhawk.security.hash.collection;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * The {@code AbstractDigestTable} class is the base of hash tables storing fixed width digests as keys.
+ *
+ * <p>Digests are stored inline in one large {@code byte} array per stripe, using open addressing with linear
+ * probing. There is no object, array header or reference per entry, the memory used per entry is close to the
+ * digest length and the tables create no garbage apart from growing. The table is split into lock striped
+ * segments, writers only block readers and writers of the same stripe.</p>
+ *
+ * <p>Digests of cryptographic hash functions are uniformly distributed, the leading bytes of a digest are used
+ * directly to select stripe and slot.</p>
+ *
+ * @see DigestSet
+ * @see DigestMap
+ */
+public abstract class AbstractDigestTable {
+  /**
+   * Default number of stripes.
+   */
+  public static final int DEFAULT_STRIPES = 64;
+  /**
+   * Maximum ratio of used slots before a stripe grows.
+   */
+  private static final double LOAD_FACTOR = 0.75;
+  /**
+   * Minimum number of slots of a stripe.
+   */
+  private static final int MIN_STRIPE_CAPACITY = 16;
+  /**
+   * Largest array the virtual machine can allocate safely.
+   */
+  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+  /**
+   * The length of every digest in bytes.
+   */
+  private final int digestLength;
+  /**
+   * The stripes of the table.
+   */
+  private final @NotNull Stripe[] stripes;
+
+  /**
+   * Constructs an {@code AbstractDigestTable}.
+   *
+   * @param digestLength The length of every digest in bytes.
+   * @param expectedSize The number of entries the table is sized for, it grows beyond if needed.
+   * @param stripes      The number of stripes, a power of two.
+   * @param values       {@code true} if a {@code long} value is stored with every digest.
+   * @throws IllegalArgumentException If a parameter is out of range.
+   */
+  protected AbstractDigestTable(final int digestLength,
+                                final long expectedSize,
+                                final int stripes,
+                                final boolean values) {
+    if (digestLength < 1) {
+      throw new IllegalArgumentException("Digest length=%d must be positive.".formatted(digestLength));
+    }
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size=%d must not be negative.".formatted(expectedSize));
+    }
+    if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+      throw new IllegalArgumentException("Stripes=%d must be a power of two.".formatted(stripes));
+    }
+
+    this.digestLength = digestLength;
+    this.stripes = new Stripe[stripes];
+
+    final long slots = (long) Math.ceil(expectedSize / (double) stripes / LOAD_FACTOR);
+    final int capacity = (int) Math.min(Integer.highestOneBit(MAX_ARRAY_LENGTH / digestLength),
+        Math.max(MIN_STRIPE_CAPACITY, Long.highestOneBit(Math.max(1, slots - 1)) << 1));
+    for (int index = 0; index < stripes; index++) {
+      this.stripes[index] = new Stripe(capacity, digestLength, values);
+    }
+  }
+
+  /**
+   * Returns the length of every digest in bytes.
+   *
+   * @return The digest length.
+   */
+  public int digestLength() {
+    return this.digestLength;
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return The number of entries.
+   */
+  public long size() {
+    long size = 0;
+    for (final Stripe stripe : this.stripes) {
+      stripe.lock.readLock().lock();
+      try {
+        size += stripe.size;
+      } finally {
+        stripe.lock.readLock().unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the digest of a hash value, after checking that it has the digest length of this table.
+   *
+   * @param hashValue The hash value.
+   * @return The digest.
+   * @throws IllegalArgumentException If the digest length differs from {@link #digestLength()}.
+   */
+  protected final byte @NotNull [] digestOf(@NotNull final IHashValue hashValue) {
+    final byte[] digest = hashValue.digest();
+    if (digest.length != this.digestLength) {
+      throw new IllegalArgumentException("Digest length=%d does not match the digest length=%d of the table."
+          .formatted(digest.length, this.digestLength));
+    }
+    return digest;
+  }
+
+  /**
+   * Checks if the table contains the digest starting at {@code offset}.
+   *
+   * @param digest The array holding the digest.
+   * @param offset The index of the first byte of the digest.
+   * @return {@code true} if the digest is present.
+   */
+  protected final boolean containsDigest(final byte @Nullable [] digest,
+                                         final int offset) {
+    final long hash = this.hash(digest, offset);
+    final Stripe stripe = this.stripe(hash);
+
+    stripe.lock.readLock().lock();
+    try {
+      return this.find(stripe, digest, offset, hash) >= 0;
+    } finally {
+      stripe.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the value stored with the digest starting at {@code offset}.
+   *
+   * @param digest       The array holding the digest.
+   * @param offset       The index of the first byte of the digest.
+   * @param defaultValue The value returned if the digest is absent.
+   * @return The stored value or {@code defaultValue}.
+   */
+  protected final long valueOf(final byte @Nullable [] digest,
+                               final int offset,
+                               final long defaultValue) {
+    final long hash = this.hash(digest, offset);
+    final Stripe stripe = this.stripe(hash);
+
+    stripe.lock.readLock().lock();
+    try {
+      final int slot = this.find(stripe, digest, offset, hash);
+      return slot >= 0 ? Objects.requireNonNull(stripe.values)[slot] : defaultValue;
+    } finally {
+      stripe.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Stores the digest starting at {@code offset}. The digest bytes are copied into the table.
+   *
+   * @param digest  The array holding the digest.
+   * @param offset  The index of the first byte of the digest.
+   * @param value   The value stored with the digest, ignored by tables without values.
+   * @param replace {@code true} to replace the value of a present digest.
+   * @return {@code true} if the digest was absent.
+   */
+  protected final boolean insert(final byte @Nullable [] digest,
+                                 final int offset,
+                                 final long value,
+                                 final boolean replace) {
+    final long hash = this.hash(digest, offset);
+    final Stripe stripe = this.stripe(hash);
+
+    stripe.lock.writeLock().lock();
+    try {
+      int slot = this.find(stripe, digest, offset, hash);
+      if (slot >= 0) {
+        if (replace && stripe.values != null) {
+          stripe.values[slot] = value;
+        }
+        return false;
+      }
+
+      if (stripe.size + 1 > stripe.capacity * LOAD_FACTOR) {
+        this.grow(stripe);
+        slot = this.find(stripe, digest, offset, hash);
+      }
+      this.store(stripe, ~slot, digest, offset, value);
+      stripe.size++;
+      return true;
+    } finally {
+      stripe.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the digest in the stripe.
+   *
+   * @return The slot of the digest, or the complement of the free slot the digest would be stored at.
+   */
+  private int find(@NotNull final Stripe stripe,
+                   final byte @NotNull [] digest,
+                   final int offset,
+                   final long hash) {
+    final int mask = stripe.capacity - 1;
+    for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+      if ((stripe.occupied[slot >>> 6] & (1L << slot)) == 0) {
+        return ~slot;
+      }
+      final int from = slot * this.digestLength;
+      if (Arrays.equals(stripe.keys, from, from + this.digestLength, digest, offset, offset + this.digestLength)) {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * Writes an entry into a free slot.
+   */
+  private void store(@NotNull final Stripe stripe,
+                     final int slot,
+                     final byte @NotNull [] digest,
+                     final int offset,
+                     final long value) {
+    System.arraycopy(digest, offset, stripe.keys, slot * this.digestLength, this.digestLength);
+    stripe.occupied[slot >>> 6] |= 1L << slot;
+    if (stripe.values != null) {
+      stripe.values[slot] = value;
+    }
+  }
+
+  /**
+   * Doubles the capacity of a stripe and moves all entries to the new arrays.
+   *
+   * @throws IllegalStateException If the stripe can not grow any further.
+   */
+  private void grow(@NotNull final Stripe stripe) {
+    final long capacity = (long) stripe.capacity << 1;
+    if (capacity * this.digestLength > MAX_ARRAY_LENGTH) {
+      throw new IllegalStateException("Stripe reached its maximum capacity, use more stripes.");
+    }
+
+    final Stripe grown = new Stripe((int) capacity, this.digestLength, stripe.values != null);
+    for (int slot = 0; slot < stripe.capacity; slot++) {
+      if ((stripe.occupied[slot >>> 6] & (1L << slot)) != 0) {
+        final int from = slot * this.digestLength;
+        final int free = ~this.find(grown, stripe.keys, from, this.hash(stripe.keys, from));
+        this.store(grown, free, stripe.keys, from, stripe.values != null ? stripe.values[slot] : 0);
+      }
+    }
+
+    stripe.capacity = grown.capacity;
+    stripe.keys = grown.keys;
+    stripe.occupied = grown.occupied;
+    stripe.values = grown.values;
+  }
+
+  /**
+   * Returns the stripe responsible for a hash.
+   */
+  private @NotNull Stripe stripe(final long hash) {
+    return this.stripes[(int) (hash >>> 40) & (this.stripes.length - 1)];
+  }
+
+  /**
+   * Calculates the table hash of a digest, after checking its bounds.
+   *
+   * @throws NullPointerException      If the digest is {@code null}.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  private long hash(final byte @Nullable [] digest,
+                    final int offset) {
+    //Null check
+    Objects.requireNonNull(digest);
+    Objects.checkFromIndexSize(offset, this.digestLength, digest.length);
+
+    long hash = 0;
+    for (int index = 0; index < Math.min(Long.BYTES, this.digestLength); index++) {
+      hash = hash << 8 | (digest[offset + index] & 0xFF);
+    }
+    //Spread short digests, such as checksums, over all bits.
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * A segment of the table, guarded by its own lock.
+   */
+  private static final class Stripe {
+    private final @NotNull ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int capacity;
+    private int size;
+    private byte @NotNull [] keys;
+    private long @NotNull [] occupied;
+    private long @Nullable [] values;
+
+    private Stripe(final int capacity,
+                   final int digestLength,
+                   final boolean values) {
+      this.capacity = capacity;
+      this.keys = new byte[capacity * digestLength];
+      this.occupied = new long[Math.max(1, capacity >>> 6)];
+      this.values = values ? new long[capacity] : null;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package dev.dotspace.dayhawk.security.hash.collection;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+
+/**
+ * The {@code DigestMap} class is a concurrent map from fixed width digests to {@code long} values, such as
+ * storage offsets or record ids of deduplicated content.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * DigestMap digestMap = new DigestMap(32, 100_000_000);
+ *
+ * digestMap.put(hashValue, blockOffset);
+ * long offset = digestMap.get(hashValue, -1);
+ * }
+ * </pre>
+ *
+ * <p>Only the digest bytes are stored, the algorithm of an {@link IHashValue} is ignored. A map should therefore
+ * only hold digests of one algorithm.</p>
+ *
+ * @see AbstractDigestTable
+ */
+public final class DigestMap extends AbstractDigestTable {
+  /**
+   * Constructs a {@code DigestMap} with {@link #DEFAULT_STRIPES} stripes.
+   *
+   * @param digestLength The length of every digest in bytes.
+   * @param expectedSize The number of entries the map is sized for, it grows beyond if needed.
+   * @throws IllegalArgumentException If a parameter is out of range.
+   */
+  public DigestMap(final int digestLength,
+                   final long expectedSize) {
+    this(digestLength, expectedSize, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Constructs a {@code DigestMap}.
+   *
+   * @param digestLength The length of every digest in bytes.
+   * @param expectedSize The number of entries the map is sized for, it grows beyond if needed.
+   * @param stripes      The number of stripes, a power of two. More stripes reduce contention of writers.
+   * @throws IllegalArgumentException If a parameter is out of range.
+   */
+  public DigestMap(final int digestLength,
+                   final long expectedSize,
+                   final int stripes) {
+    super(digestLength, expectedSize, stripes, true);
+  }
+
+  /**
+   * Stores the value for the digest of the hash value, replacing a present value.
+   *
+   * @param hashValue The hash value used as key.
+   * @param value     The value to be stored.
+   * @return {@code true} if the digest was not present before.
+   * @throws IllegalArgumentException If the digest length differs from the digest length of the map.
+   */
+  public boolean put(@Nullable final IHashValue hashValue,
+                     final long value) {
+    //Null check
+    Objects.requireNonNull(hashValue);
+
+    return this.put(this.digestOf(hashValue), 0, value);
+  }
+
+  /**
+   * Stores the value for the digest starting at {@code offset} of the array, replacing a present value.
+   *
+   * @param digest The array holding the digest.
+   * @param offset The index of the first byte of the digest.
+   * @param value  The value to be stored.
+   * @return {@code true} if the digest was not present before.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  public boolean put(final byte @Nullable [] digest,
+                     final int offset,
+                     final long value) {
+    return this.insert(digest, offset, value, true);
+  }
+
+  /**
+   * Stores the value for the digest starting at {@code offset} of the array, if the digest is absent.
+   *
+   * @param digest The array holding the digest.
+   * @param offset The index of the first byte of the digest.
+   * @param value  The value to be stored.
+   * @return {@code true} if the digest was not present before and the value was stored.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  public boolean putIfAbsent(final byte @Nullable [] digest,
+                             final int offset,
+                             final long value) {
+    return this.insert(digest, offset, value, false);
+  }
+
+  /**
+   * Returns the value stored for the digest of the hash value.
+   *
+   * @param hashValue    The hash value used as key.
+   * @param defaultValue The value returned if the digest is absent.
+   * @return The stored value or {@code defaultValue}.
+   * @throws IllegalArgumentException If the digest length differs from the digest length of the map.
+   */
+  public long get(@Nullable final IHashValue hashValue,
+                  final long defaultValue) {
+    //Null check
+    Objects.requireNonNull(hashValue);
+
+    return this.get(this.digestOf(hashValue), 0, defaultValue);
+  }
+
+  /**
+   * Returns the value stored for the digest starting at {@code offset} of the array.
+   *
+   * @param digest       The array holding the digest.
+   * @param offset       The index of the first byte of the digest.
+   * @param defaultValue The value returned if the digest is absent.
+   * @return The stored value or {@code defaultValue}.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  public long get(final byte @Nullable [] digest,
+                  final int offset,
+                  final long defaultValue) {
+    return this.valueOf(digest, offset, defaultValue);
+  }
+
+  /**
+   * Checks if the digest starting at {@code offset} of the array is present.
+   *
+   * @param digest The array holding the digest.
+   * @param offset The index of the first byte of the digest.
+   * @return {@code true} if the digest is present.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  public boolean containsKey(final byte @Nullable [] digest,
+                             final int offset) {
+    return this.containsDigest(digest, offset);
+  }
+}
@@ -0,0 +1,109 @@
+package dev.dotspace.dayhawk.security.hash.collection;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+
+/**
+ * The {@code DigestSet} class is a concurrent set of fixed width digests, intended for deduplication of large
+ * amounts of content by digest.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * DigestSet digestSet = new DigestSet(32, 100_000_000);
+ *
+ * if (digestSet.add(hashProcessor.hash(content))) {
+ *     // First occurrence of the content
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Only the digest bytes are stored, the algorithm of an {@link IHashValue} is ignored. A set should therefore
+ * only hold digests of one algorithm.</p>
+ *
+ * @see AbstractDigestTable
+ */
+public final class DigestSet extends AbstractDigestTable {
+  /**
+   * Constructs a {@code DigestSet} with {@link #DEFAULT_STRIPES} stripes.
+   *
+   * @param digestLength The length of every digest in bytes.
+   * @param expectedSize The number of digests the set is sized for, it grows beyond if needed.
+   * @throws IllegalArgumentException If a parameter is out of range.
+   */
+  public DigestSet(final int digestLength,
+                   final long expectedSize) {
+    this(digestLength, expectedSize, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Constructs a {@code DigestSet}.
+   *
+   * @param digestLength The length of every digest in bytes.
+   * @param expectedSize The number of digests the set is sized for, it grows beyond if needed.
+   * @param stripes      The number of stripes, a power of two. More stripes reduce contention of writers.
+   * @throws IllegalArgumentException If a parameter is out of range.
+   */
+  public DigestSet(final int digestLength,
+                   final long expectedSize,
+                   final int stripes) {
+    super(digestLength, expectedSize, stripes, false);
+  }
+
+  /**
+   * Adds the digest of the hash value.
+   *
+   * @param hashValue The hash value to be added.
+   * @return {@code true} if the digest was not present before.
+   * @throws IllegalArgumentException If the digest length differs from the digest length of the set.
+   */
+  public boolean add(@Nullable final IHashValue hashValue) {
+    //Null check
+    Objects.requireNonNull(hashValue);
+
+    return this.add(this.digestOf(hashValue), 0);
+  }
+
+  /**
+   * Adds the digest starting at {@code offset} of the array. The bytes are copied into the set.
+   *
+   * @param digest The array holding the digest.
+   * @param offset The index of the first byte of the digest.
+   * @return {@code true} if the digest was not present before.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  public boolean add(final byte @Nullable [] digest,
+                     final int offset) {
+    return this.insert(digest, offset, 0, false);
+  }
+
+  /**
+   * Checks if the digest of the hash value is present.
+   *
+   * @param hashValue The hash value to be checked.
+   * @return {@code true} if the digest is present.
+   * @throws IllegalArgumentException If the digest length differs from the digest length of the set.
+   */
+  public boolean contains(@Nullable final IHashValue hashValue) {
+    //Null check
+    Objects.requireNonNull(hashValue);
+
+    return this.contains(this.digestOf(hashValue), 0);
+  }
+
+  /**
+   * Checks if the digest starting at {@code offset} of the array is present.
+   *
+   * @param digest The array holding the digest.
+   * @param offset The index of the first byte of the digest.
+   * @return {@code true} if the digest is present.
+   * @throws IndexOutOfBoundsException If the digest does not fit into the array.
+   */
+  public boolean contains(final byte @Nullable [] digest,
+                          final int offset) {
+    return this.containsDigest(digest, offset);
+  }
+}
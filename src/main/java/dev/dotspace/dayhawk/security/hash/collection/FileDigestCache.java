@@ -0,0 +1,347 @@
+package dev.dotspace.dayhawk.security.hash.collection;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The {@code FileDigestCache} class remembers the digests of files, so unchanged files are not read again.
+ *
+ * <p>An entry is keyed by the absolute path and the algorithm, and is valid as long as size, modification time and
+ * file key (the inode on most file systems) of the file are unchanged. Checking an entry only reads the attributes
+ * of the file, never its content.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * FileDigestCache fileDigestCache = FileDigestCache.load(Path.of("digests.idx"), 2_000_000);
+ *
+ * // Rescan a tree, only changed files are hashed
+ * for (Path file : files) {
+ *     IHashValue hashValue = fileDigestCache.hash(hashProcessor, file);
+ * }
+ *
+ * fileDigestCache.save(Path.of("digests.idx"));
+ * }
+ * </pre>
+ *
+ * <p>The cache holds at most {@code maximumSize} entries and evicts the least recently used one. Files modified less
+ * than {@link #RACY_WINDOW_MILLIS} before they were hashed are not cached: a second modification within the
+ * resolution of the file system clock would not change the modification time.</p>
+ *
+ * <p>This class is thread safe.</p>
+ */
+public final class FileDigestCache {
+  /**
+   * Files modified this recently are hashed, but not cached.
+   */
+  public static final long RACY_WINDOW_MILLIS = 2_000;
+  /**
+   * First bytes of an index file: {@code FDC} and the format version. Version 2 stores the full file key.
+   */
+  private static final int MAGIC = 0x46444302;
+
+  /**
+   * The maximum number of entries.
+   */
+  private final int maximumSize;
+  /**
+   * Entries in access order, guarded by {@code this}.
+   */
+  private final @NotNull LinkedHashMap<CacheKey, CacheEntry> entries;
+
+  /**
+   * Constructs an empty {@code FileDigestCache}.
+   *
+   * @param maximumSize The maximum number of entries, at least one.
+   * @throws IllegalArgumentException If the size is less than one.
+   */
+  public FileDigestCache(final int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size=%d must be positive.".formatted(maximumSize));
+    }
+    this.maximumSize = maximumSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<CacheKey, CacheEntry> eldest) {
+        return this.size() > FileDigestCache.this.maximumSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the digest of the file, from the cache if the file is unchanged, otherwise hashed by the processor.
+   *
+   * @param hashProcessor The processor used on a cache miss, its algorithm is part of the key.
+   * @param path          The file to be hashed.
+   * @return The hash value of the file content.
+   * @throws DigestNotPresentException If the algorithm of the processor is not present.
+   * @throws IOException               If the attributes or the content of the file could not be read.
+   */
+  public @NotNull IHashValue hash(@Nullable final IHashProcessor hashProcessor,
+                                  @Nullable final Path path) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(hashProcessor);
+    Objects.requireNonNull(path);
+
+    final CacheKey key = new CacheKey(path.toAbsolutePath().normalize().toString(), hashProcessor.algorithm());
+    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    final CacheEntry cached;
+    synchronized (this) {
+      cached = this.entries.get(key);
+    }
+    if (cached != null && cached.matches(attributes)) {
+      return new ImmutableHashValue(key.algorithm, cached.digest.clone());
+    }
+
+    final long start = System.currentTimeMillis();
+    final IHashValue hashValue = hashProcessor.hash(path);
+    final BasicFileAttributes after = Files.readAttributes(path, BasicFileAttributes.class);
+    final CacheEntry entry = new CacheEntry(after, hashValue.digest());
+    //Only cache if the file did not change while it was read and can not change unnoticed afterwards.
+    if (entry.matches(attributes) && start - after.lastModifiedTime().toMillis() >= RACY_WINDOW_MILLIS) {
+      synchronized (this) {
+        this.entries.put(key, entry);
+      }
+    } else if (cached != null) {
+      synchronized (this) {
+        this.entries.remove(key, cached);
+      }
+    }
+    return hashValue;
+  }
+
+  /**
+   * Removes all entries of the file, for every algorithm.
+   *
+   * @param path The file to be removed.
+   */
+  public synchronized void invalidate(@Nullable final Path path) {
+    //Null check
+    Objects.requireNonNull(path);
+
+    final String absolutePath = path.toAbsolutePath().normalize().toString();
+    this.entries.keySet().removeIf(key -> key.path.equals(absolutePath));
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public synchronized void clear() {
+    this.entries.clear();
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return The number of entries.
+   */
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Writes all entries to an index file. The file is written next to the target and moved into place, a crash
+   * while saving leaves the previous index intact.
+   *
+   * @param index The index file.
+   * @throws IOException If the file could not be written.
+   */
+  public void save(@Nullable final Path index) throws IOException {
+    //Null check
+    Objects.requireNonNull(index);
+
+    final List<Map.Entry<CacheKey, CacheEntry>> snapshot;
+    synchronized (this) {
+      snapshot = new ArrayList<>(this.entries.entrySet());
+    }
+
+    //Algorithm names are written once and referenced by their number.
+    final Map<String, Integer> algorithms = new HashMap<>();
+    for (final Map.Entry<CacheKey, CacheEntry> entry : snapshot) {
+      algorithms.putIfAbsent(entry.getKey().algorithm, algorithms.size());
+    }
+
+    final Path absoluteIndex = index.toAbsolutePath();
+    final Path temporary =
+        Files.createTempFile(absoluteIndex.getParent(), absoluteIndex.getFileName().toString(), ".tmp");
+    try {
+      try (final DataOutputStream output = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+        output.writeInt(MAGIC);
+        output.writeInt(algorithms.size());
+        final String[] names = new String[algorithms.size()];
+        algorithms.forEach((name, number) -> names[number] = name);
+        for (final String name : names) {
+          output.writeUTF(name);
+        }
+
+        //Eldest first, loading in file order restores the access order.
+        output.writeInt(snapshot.size());
+        for (final Map.Entry<CacheKey, CacheEntry> entry : snapshot) {
+          final CacheEntry cacheEntry = entry.getValue();
+          output.writeUTF(entry.getKey().path);
+          output.writeInt(algorithms.get(entry.getKey().algorithm));
+          output.writeLong(cacheEntry.size);
+          output.writeLong(cacheEntry.modified);
+          output.writeUTF(cacheEntry.fileKey);
+          output.writeShort(cacheEntry.digest.length);
+          output.write(cacheEntry.digest);
+        }
+      }
+      Files.move(temporary, absoluteIndex, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  //static
+
+  /**
+   * Creates a cache from an index file written by {@link #save(Path)}. A missing index results in an empty cache,
+   * if the index holds more than {@code maximumSize} entries the least recently used ones are dropped.
+   *
+   * @param index       The index file.
+   * @param maximumSize The maximum number of entries, at least one.
+   * @return The loaded cache.
+   * @throws IOException              If the file could not be read, is not an index or is corrupt.
+   * @throws IllegalArgumentException If the size is less than one.
+   */
+  public static @NotNull FileDigestCache load(@Nullable final Path index,
+                                              final int maximumSize) throws IOException {
+    //Null check
+    Objects.requireNonNull(index);
+
+    final FileDigestCache fileDigestCache = new FileDigestCache(maximumSize);
+    if (Files.notExists(index)) {
+      return fileDigestCache;
+    }
+
+    try (final DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(index), 1 << 16))) {
+      if (input.readInt() != MAGIC) {
+        throw new IOException("File=%s is not a digest index.".formatted(index));
+      }
+      //Counts are not trusted for allocations, a corrupt count ends with the end of the file instead.
+      final int algorithmCount = input.readInt();
+      if (algorithmCount < 0) {
+        throw new IOException("Index=%s is corrupt, algorithm count=%d.".formatted(index, algorithmCount));
+      }
+      final List<String> algorithms = new ArrayList<>();
+      for (int number = 0; number < algorithmCount; number++) {
+        algorithms.add(input.readUTF());
+      }
+
+      final int count = input.readInt();
+      if (count < 0) {
+        throw new IOException("Index=%s is corrupt, entry count=%d.".formatted(index, count));
+      }
+      for (int number = 0; number < count; number++) {
+        final String path = input.readUTF();
+        final int algorithmNumber = input.readInt();
+        if (algorithmNumber < 0 || algorithmNumber >= algorithms.size()) {
+          throw new IOException("Index=%s is corrupt, algorithm number=%d.".formatted(index, algorithmNumber));
+        }
+        final String algorithm = algorithms.get(algorithmNumber);
+        final long size = input.readLong();
+        final long modified = input.readLong();
+        final String fileKey = input.readUTF();
+        final byte[] digest = new byte[input.readUnsignedShort()];
+        input.readFully(digest);
+        fileDigestCache.entries.put(new CacheKey(path, algorithm), new CacheEntry(size, modified, fileKey, digest));
+      }
+    }
+    return fileDigestCache;
+  }
+
+  /**
+   * Cache key, the absolute path and the algorithm of the digest.
+   */
+  private static final class CacheKey {
+    private final @NotNull String path;
+    private final @NotNull String algorithm;
+
+    private CacheKey(@NotNull final String path,
+                     @NotNull final String algorithm) {
+      this.path = path;
+      this.algorithm = algorithm;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      return object instanceof CacheKey key && this.path.equals(key.path) && this.algorithm.equals(key.algorithm);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.path.hashCode() + this.algorithm.hashCode();
+    }
+  }
+
+  /**
+   * Cached digest with the file attributes it is valid for.
+   */
+  private static final class CacheEntry {
+    private final long size;
+    /**
+     * Modification time in nanoseconds, as precise as the file system reports it.
+     */
+    private final long modified;
+    /**
+     * The file key as a string, empty if the file system has none.
+     */
+    private final @NotNull String fileKey;
+    private final byte @NotNull [] digest;
+
+    private CacheEntry(final long size,
+                       final long modified,
+                       @NotNull final String fileKey,
+                       final byte @NotNull [] digest) {
+      this.size = size;
+      this.modified = modified;
+      this.fileKey = fileKey;
+      this.digest = digest;
+    }
+
+    private CacheEntry(@NotNull final BasicFileAttributes attributes,
+                       final byte @NotNull [] digest) {
+      this(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+          fileKey(attributes), digest);
+    }
+
+    /**
+     * Checks if the file still has the attributes of this entry.
+     */
+    private boolean matches(@NotNull final BasicFileAttributes attributes) {
+      return this.size == attributes.size() &&
+          this.modified == attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) &&
+          this.fileKey.equals(fileKey(attributes));
+    }
+
+    private static @NotNull String fileKey(@NotNull final BasicFileAttributes attributes) {
+      final Object fileKey = attributes.fileKey();
+      return fileKey == null ? "" : fileKey.toString();
+    }
+  }
+}
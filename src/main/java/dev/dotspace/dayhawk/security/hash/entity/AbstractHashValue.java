@@ -31,7 +31,8 @@ import java.util.Objects;
  * </pre>
  *
  * <p>The {@code AbstractHashValue} class includes an {@code equals} method that compares the algorithm
- * and the hashed value for equality with another {@code IHashValue} instance.</p>
+ * and the hashed value for equality with another {@code IHashValue} instance, and a matching
+ * {@code hashCode} method.</p>
  *
  * @see IHashValue
  */
@@ -77,4 +78,12 @@ public abstract class AbstractHashValue implements IHashValue {
         this.algorithm.equals(hashValue.algorithm()) &&
         Arrays.equals(this.digest, hashValue.digest());
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return 31 * this.algorithm.hashCode() + Arrays.hashCode(this.digest);
+  }
 }
@@ -0,0 +1,316 @@
+package dev.dotspace.dayhawk.security.hash.entity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Text encodings of digests, backed by precomputed lookup tables.
+ *
+ * <p>Every encoding writes whole groups of input bytes per loop step, straight into the destination array. Other
+ * destinations go through a scratch array of the calling thread, so encoding into a caller owned destination does
+ * not allocate.</p>
+ */
+enum HashEncoding {
+  /**
+   * Lower case hexadecimal, two characters per byte.
+   */
+  HEX {
+    @Override
+    int length(final int bytes) {
+      return bytes * 2;
+    }
+
+    @Override
+    void write(final byte @NotNull [] digest,
+               final byte @NotNull [] destination,
+               final int offset) {
+      for (int index = 0, position = offset; index < digest.length; index++, position += 2) {
+        final int table = (digest[index] & 0xFF) << 1;
+        destination[position] = HEX_TABLE[table];
+        destination[position + 1] = HEX_TABLE[table + 1];
+      }
+    }
+
+    @Override
+    void write(final byte @NotNull [] digest,
+               final char @NotNull [] destination,
+               final int offset) {
+      for (int index = 0, position = offset; index < digest.length; index++, position += 2) {
+        final int table = (digest[index] & 0xFF) << 1;
+        destination[position] = (char) HEX_TABLE[table];
+        destination[position + 1] = (char) HEX_TABLE[table + 1];
+      }
+    }
+
+    @Override
+    byte @NotNull [] decode(@NotNull final CharSequence text) {
+      if ((text.length() & 1) != 0) {
+        throw new IllegalArgumentException("Hex text has an odd length=%d.".formatted(text.length()));
+      }
+
+      final byte[] digest = new byte[text.length() / 2];
+      for (int index = 0; index < digest.length; index++) {
+        digest[index] = (byte) (value(HEX_VALUES, text, index * 2) << 4 | value(HEX_VALUES, text, index * 2 + 1));
+      }
+      return digest;
+    }
+  },
+  /**
+   * Standard Base64 with padding, as defined by RFC 4648.
+   */
+  BASE64 {
+    @Override
+    int length(final int bytes) {
+      return (bytes + 2) / 3 * 4;
+    }
+
+    @Override
+    void write(final byte @NotNull [] digest,
+               final byte @NotNull [] destination,
+               final int offset) {
+      int index = 0, position = offset;
+      for (; index + 2 < digest.length; index += 3, position += 4) {
+        final int group = (digest[index] & 0xFF) << 16 | (digest[index + 1] & 0xFF) << 8 | digest[index + 2] & 0xFF;
+        destination[position] = BASE64_TABLE[group >>> 18];
+        destination[position + 1] = BASE64_TABLE[(group >>> 12) & 0x3F];
+        destination[position + 2] = BASE64_TABLE[(group >>> 6) & 0x3F];
+        destination[position + 3] = BASE64_TABLE[group & 0x3F];
+      }
+
+      final int remaining = digest.length - index;
+      if (remaining > 0) {
+        final int group = (digest[index] & 0xFF) << 16 | (remaining > 1 ? (digest[index + 1] & 0xFF) << 8 : 0);
+        destination[position] = BASE64_TABLE[group >>> 18];
+        destination[position + 1] = BASE64_TABLE[(group >>> 12) & 0x3F];
+        destination[position + 2] = remaining > 1 ? BASE64_TABLE[(group >>> 6) & 0x3F] : (byte) '=';
+        destination[position + 3] = '=';
+      }
+    }
+
+    @Override
+    void write(final byte @NotNull [] digest,
+               final char @NotNull [] destination,
+               final int offset) {
+      int index = 0, position = offset;
+      for (; index + 2 < digest.length; index += 3, position += 4) {
+        final int group = (digest[index] & 0xFF) << 16 | (digest[index + 1] & 0xFF) << 8 | digest[index + 2] & 0xFF;
+        destination[position] = (char) BASE64_TABLE[group >>> 18];
+        destination[position + 1] = (char) BASE64_TABLE[(group >>> 12) & 0x3F];
+        destination[position + 2] = (char) BASE64_TABLE[(group >>> 6) & 0x3F];
+        destination[position + 3] = (char) BASE64_TABLE[group & 0x3F];
+      }
+
+      final int remaining = digest.length - index;
+      if (remaining > 0) {
+        final int group = (digest[index] & 0xFF) << 16 | (remaining > 1 ? (digest[index + 1] & 0xFF) << 8 : 0);
+        destination[position] = (char) BASE64_TABLE[group >>> 18];
+        destination[position + 1] = (char) BASE64_TABLE[(group >>> 12) & 0x3F];
+        destination[position + 2] = remaining > 1 ? (char) BASE64_TABLE[(group >>> 6) & 0x3F] : '=';
+        destination[position + 3] = '=';
+      }
+    }
+
+    @Override
+    byte @NotNull [] decode(@NotNull final CharSequence text) {
+      if (text.length() % 4 != 0) {
+        throw new IllegalArgumentException("Base64 text length=%d is not a multiple of 4.".formatted(text.length()));
+      }
+
+      int padding = 0;
+      while (padding < 2 && padding < text.length() && text.charAt(text.length() - 1 - padding) == '=') {
+        padding++;
+      }
+      final byte[] digest = new byte[text.length() / 4 * 3 - padding];
+      for (int index = 0, offset = 0; index < text.length(); index += 4, offset += 3) {
+        final int last = text.length() - index == 4 ? padding : 0;
+        final int group = value(BASE64_VALUES, text, index) << 18 |
+            value(BASE64_VALUES, text, index + 1) << 12 |
+            (last > 1 ? 0 : value(BASE64_VALUES, text, index + 2) << 6) |
+            (last > 0 ? 0 : value(BASE64_VALUES, text, index + 3));
+        digest[offset] = (byte) (group >>> 16);
+        if (last < 2) {
+          digest[offset + 1] = (byte) (group >>> 8);
+        }
+        if (last < 1) {
+          digest[offset + 2] = (byte) group;
+        }
+      }
+      return digest;
+    }
+  };
+
+  /**
+   * Two hex characters for every byte value.
+   */
+  private static final byte[] HEX_TABLE = new byte[512];
+  /**
+   * The Base64 alphabet.
+   */
+  private static final byte[] BASE64_TABLE =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+  /**
+   * Values of ASCII characters, {@code -1} for characters outside the alphabet.
+   */
+  private static final byte[] HEX_VALUES = new byte[128], BASE64_VALUES = new byte[128];
+  /**
+   * Scratch arrays of the current thread, for destinations without accessible array.
+   */
+  private static final ThreadLocal<byte[]> BYTE_SCRATCH = ThreadLocal.withInitial(() -> new byte[128]);
+  private static final ThreadLocal<char[]> CHAR_SCRATCH = ThreadLocal.withInitial(() -> new char[128]);
+
+  static {
+    final byte[] digits = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    for (int value = 0; value < 256; value++) {
+      HEX_TABLE[value << 1] = digits[value >>> 4];
+      HEX_TABLE[value << 1 | 1] = digits[value & 0xF];
+    }
+
+    Arrays.fill(HEX_VALUES, (byte) -1);
+    for (int value = 0; value < 16; value++) {
+      HEX_VALUES[digits[value]] = (byte) value;
+      HEX_VALUES[Character.toUpperCase(digits[value])] = (byte) value;
+    }
+
+    Arrays.fill(BASE64_VALUES, (byte) -1);
+    for (int value = 0; value < BASE64_TABLE.length; value++) {
+      BASE64_VALUES[BASE64_TABLE[value]] = (byte) value;
+    }
+  }
+
+  /**
+   * Returns the number of characters of an encoded digest.
+   *
+   * @param bytes The length of the digest.
+   * @return The length of the text.
+   */
+  abstract int length(final int bytes);
+
+  /**
+   * Writes the encoded digest as ASCII bytes into the array. The caller checks the bounds.
+   *
+   * @param digest      The digest to be encoded.
+   * @param destination The array to write to.
+   * @param offset      The index of the first byte written.
+   */
+  abstract void write(final byte @NotNull [] digest,
+                      final byte @NotNull [] destination,
+                      final int offset);
+
+  /**
+   * Writes the encoded digest into the array. The caller checks the bounds.
+   *
+   * @param digest      The digest to be encoded.
+   * @param destination The array to write to.
+   * @param offset      The index of the first character written.
+   */
+  abstract void write(final byte @NotNull [] digest,
+                      final char @NotNull [] destination,
+                      final int offset);
+
+  /**
+   * Decodes the given text.
+   *
+   * @param text The encoded digest.
+   * @return The decoded digest.
+   * @throws IllegalArgumentException If the text is not valid in this encoding.
+   */
+  abstract byte @NotNull [] decode(@NotNull final CharSequence text);
+
+  /**
+   * Encodes the digest into a new string.
+   */
+  @NotNull String encode(final byte @NotNull [] digest) {
+    final int length = this.length(digest.length);
+    final byte[] scratch = byteScratch(length);
+    this.write(digest, scratch, 0);
+    return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Appends the encoded digest to the builder.
+   */
+  @NotNull StringBuilder encode(final byte @NotNull [] digest,
+                                @NotNull final StringBuilder builder) {
+    final int length = this.length(digest.length);
+    final char[] scratch = charScratch(length);
+    this.write(digest, scratch, 0);
+    return builder.append(scratch, 0, length);
+  }
+
+  /**
+   * Writes the encoded digest into the array, starting at {@code offset}.
+   */
+  int encode(final byte @NotNull [] digest,
+             final char @NotNull [] destination,
+             final int offset) {
+    final int length = this.length(digest.length);
+    Objects.checkFromIndexSize(offset, length, destination.length);
+    this.write(digest, destination, offset);
+    return length;
+  }
+
+  /**
+   * Writes the encoded digest as ASCII bytes at the position of the buffer and advances the position.
+   */
+  int encode(final byte @NotNull [] digest,
+             @NotNull final ByteBuffer destination) {
+    final int length = this.length(digest.length);
+    if (destination.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+
+    if (destination.hasArray()) {
+      this.write(digest, destination.array(), destination.arrayOffset() + destination.position());
+      destination.position(destination.position() + length);
+    } else {
+      final byte[] scratch = byteScratch(length);
+      this.write(digest, scratch, 0);
+      destination.put(scratch, 0, length);
+    }
+    return length;
+  }
+
+  /**
+   * Returns the byte scratch array of the current thread, with at least the given length.
+   */
+  private static byte @NotNull [] byteScratch(final int length) {
+    byte[] scratch = BYTE_SCRATCH.get();
+    if (scratch.length < length) {
+      BYTE_SCRATCH.set(scratch = new byte[length]);
+    }
+    return scratch;
+  }
+
+  /**
+   * Returns the char scratch array of the current thread, with at least the given length.
+   */
+  private static char @NotNull [] charScratch(final int length) {
+    char[] scratch = CHAR_SCRATCH.get();
+    if (scratch.length < length) {
+      CHAR_SCRATCH.set(scratch = new char[length]);
+    }
+    return scratch;
+  }
+
+  /**
+   * Looks up the value of a character.
+   *
+   * @throws IllegalArgumentException If the character is outside the alphabet.
+   */
+  private static int value(final byte @NotNull [] values,
+                           @NotNull final CharSequence text,
+                           final int index) {
+    final char character = text.charAt(index);
+    final int value = character < 128 ? values[character] : -1;
+    if (value < 0) {
+      throw new IllegalArgumentException("Illegal character=%s at index=%d.".formatted(character, index));
+    }
+    return value;
+  }
+}
@@ -3,6 +3,8 @@ package dev.dotspace.dayhawk.security.hash.entity;
 import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * The {@code IHashValue} interface extends the {@link AlgorithmObject} interface, representing the result
  * of a hashing operation. It provides methods to retrieve the algorithm used for hashing and the
@@ -23,6 +25,11 @@ import org.jetbrains.annotations.NotNull;
  * }
  * </pre>
  *
+ * <p>The digest can be encoded as lower case hex or Base64 text, either into a new {@code String} or into a
+ * {@code StringBuilder}, {@code char[]} or {@code ByteBuffer} owned by the caller. The encoders use precomputed
+ * lookup tables. {@link ImmutableHashValue#fromHex(String, CharSequence)} and
+ * {@link ImmutableHashValue#fromBase64(String, CharSequence)} parse the text again.</p>
+ *
  * <p>The {@code IHashValue} interface is typically used to represent the result of hashing operations,
  * providing a standardized way to access algorithm information and hashed values.</p>
  *
@@ -36,4 +43,92 @@ public interface IHashValue extends AlgorithmObject {
    * @return The byte array representing the hashed value.
    */
   byte @NotNull [] digest();
+
+  /**
+   * Encodes the digest as lower case hex text.
+   *
+   * @return The hex text of the digest.
+   */
+  default @NotNull String hex() {
+    return HashEncoding.HEX.encode(this.digest());
+  }
+
+  /**
+   * Appends the digest as lower case hex text to the given builder.
+   *
+   * @param builder The builder to append to.
+   * @return The given builder.
+   */
+  default @NotNull StringBuilder hex(@NotNull final StringBuilder builder) {
+    return HashEncoding.HEX.encode(this.digest(), builder);
+  }
+
+  /**
+   * Writes the digest as lower case hex text into the given array.
+   *
+   * @param destination The array to write to.
+   * @param offset      The index of the first character written.
+   * @return The number of characters written, twice the digest length.
+   * @throws IndexOutOfBoundsException If the text does not fit into the array.
+   */
+  default int hex(final char @NotNull [] destination,
+                  final int offset) {
+    return HashEncoding.HEX.encode(this.digest(), destination, offset);
+  }
+
+  /**
+   * Writes the digest as lower case hex text in ASCII at the position of the given buffer and advances the
+   * position.
+   *
+   * @param destination The buffer to write to.
+   * @return The number of bytes written, twice the digest length.
+   * @throws java.nio.BufferOverflowException If the text does not fit into the buffer.
+   */
+  default int hex(@NotNull final ByteBuffer destination) {
+    return HashEncoding.HEX.encode(this.digest(), destination);
+  }
+
+  /**
+   * Encodes the digest as Base64 text with padding.
+   *
+   * @return The Base64 text of the digest.
+   */
+  default @NotNull String base64() {
+    return HashEncoding.BASE64.encode(this.digest());
+  }
+
+  /**
+   * Appends the digest as Base64 text with padding to the given builder.
+   *
+   * @param builder The builder to append to.
+   * @return The given builder.
+   */
+  default @NotNull StringBuilder base64(@NotNull final StringBuilder builder) {
+    return HashEncoding.BASE64.encode(this.digest(), builder);
+  }
+
+  /**
+   * Writes the digest as Base64 text with padding into the given array.
+   *
+   * @param destination The array to write to.
+   * @param offset      The index of the first character written.
+   * @return The number of characters written.
+   * @throws IndexOutOfBoundsException If the text does not fit into the array.
+   */
+  default int base64(final char @NotNull [] destination,
+                     final int offset) {
+    return HashEncoding.BASE64.encode(this.digest(), destination, offset);
+  }
+
+  /**
+   * Writes the digest as Base64 text with padding in ASCII at the position of the given buffer and advances the
+   * position.
+   *
+   * @param destination The buffer to write to.
+   * @return The number of bytes written.
+   * @throws java.nio.BufferOverflowException If the text does not fit into the buffer.
+   */
+  default int base64(@NotNull final ByteBuffer destination) {
+    return HashEncoding.BASE64.encode(this.digest(), destination);
+  }
 }
@@ -3,6 +3,8 @@ package dev.dotspace.dayhawk.security.hash.entity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 /**
  * The {@code ImmutableHashValue} class is a final implementation of the {@link AbstractHashValue} class,
  * representing an immutable instance of a hashed value resulting from a hashing operation.
@@ -38,5 +40,36 @@ public final class ImmutableHashValue extends AbstractHashValue {
                             byte @NotNull [] digest) {
     super(algorithm, digest);
   }
-}
 
+  /**
+   * Creates an immutable hash value from a digest encoded as hex text. Upper and lower case digits are accepted.
+   *
+   * @param algorithm The algorithm used for hashing.
+   * @param hex       The hex text of the digest.
+   * @return The decoded hash value.
+   * @throws IllegalArgumentException If the text is not valid hex.
+   */
+  public static @NotNull ImmutableHashValue fromHex(@Nullable final String algorithm,
+                                                    @Nullable final CharSequence hex) {
+    //Null check
+    Objects.requireNonNull(hex);
+
+    return new ImmutableHashValue(algorithm, HashEncoding.HEX.decode(hex));
+  }
+
+  /**
+   * Creates an immutable hash value from a digest encoded as Base64 text with padding.
+   *
+   * @param algorithm The algorithm used for hashing.
+   * @param base64    The Base64 text of the digest.
+   * @return The decoded hash value.
+   * @throws IllegalArgumentException If the text is not valid Base64.
+   */
+  public static @NotNull ImmutableHashValue fromBase64(@Nullable final String algorithm,
+                                                       @Nullable final CharSequence base64) {
+    //Null check
+    Objects.requireNonNull(base64);
+
+    return new ImmutableHashValue(algorithm, HashEncoding.BASE64.decode(base64));
+  }
+}
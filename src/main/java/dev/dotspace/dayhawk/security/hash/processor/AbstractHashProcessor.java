@@ -1,19 +1,72 @@
 package dev.dotspace.dayhawk.security.hash.processor;
 
+import dev.dotspace.dayhawk.security.hash.checksum.ChecksumProvider;
 import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
 import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
 import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 
+/**
+ * The {@code AbstractHashProcessor} class is an abstract implementation of the {@link IHashProcessor} interface.
+ *
+ * <p>A processor can be shared between any number of threads. Every thread works on its own {@link MessageDigest},
+ * which is cloned once from a prototype instance the first time the thread uses the processor. After that no
+ * digest is created or looked up on the hot path and no lock is taken.</p>
+ *
+ * @see IHashProcessor
+ */
 public abstract class AbstractHashProcessor implements IHashProcessor {
-  private @Nullable MessageDigest messageDigest;
+  /**
+   * Size of the block buffer used to read streams and channels.
+   */
+  protected static final int BUFFER_SIZE = 64 * 1024;
+  /**
+   * Block buffer of the current thread, reused for every stream and channel.
+   */
+  private static final @NotNull ThreadLocal<ByteBuffer> THREAD_BUFFER =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+  /**
+   * Bounds of the byte size of one batch of {@link #hashAll(List, Executor)}.
+   */
+  private static final long MIN_BATCH_BYTES = 16 * 1024, MAX_BATCH_BYTES = 1024 * 1024;
+  /**
+   * Fixed cost of a single secret within a batch, expressed in bytes.
+   */
+  private static final int SECRET_OVERHEAD = 256;
+
+  /**
+   * The name of the hash algorithm.
+   */
+  private final @NotNull String algorithm;
+  /**
+   * Prototype digest, only used to create the per thread instances. {@code null} if the algorithm is not present.
+   */
+  private final @Nullable MessageDigest prototype;
+  /**
+   * Digest instance of the current thread.
+   */
+  private final @NotNull ThreadLocal<MessageDigest> threadDigest;
 
   /**
    * Constructs a new {@code HashProcessor} for the specified hash algorithm.
@@ -28,12 +81,24 @@ public abstract class AbstractHashProcessor implements IHashProcessor {
     //Null check
     Objects.requireNonNull(algorithm);
 
+    this.algorithm = algorithm;
+    MessageDigest prototype;
     try {
-      this.messageDigest = MessageDigest.getInstance(algorithm);
+      prototype = MessageDigest.getInstance(algorithm);
     } catch (final NoSuchAlgorithmException exception) {
-      this.messageDigest = null;
+      prototype = checksum(algorithm);
       //Later error handling.
     }
+    this.prototype = prototype;
+    this.threadDigest = ThreadLocal.withInitial(this::copyPrototype);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull String algorithm() {
+    return this.algorithm;
   }
 
   /**
@@ -47,13 +112,271 @@ public abstract class AbstractHashProcessor implements IHashProcessor {
     return this.hashValue(secret, bytes -> bytes);
   }
 
+  /**
+   * See {@link IHashProcessor#hash(InputStream)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable InputStream inputStream) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(inputStream);
+
+    final MessageDigest messageDigest = this.messageDigest();
+    final byte[] buffer = THREAD_BUFFER.get().array();
+
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      messageDigest.update(buffer, 0, read);
+    }
+    return this.hashValue(messageDigest);
+  }
+
+  /**
+   * See {@link IHashProcessor#hash(ReadableByteChannel)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable ReadableByteChannel channel) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(channel);
+
+    final MessageDigest messageDigest = this.messageDigest();
+    final ByteBuffer buffer = THREAD_BUFFER.get();
+
+    buffer.clear();
+    while (channel.read(buffer) != -1) {
+      buffer.flip();
+      messageDigest.update(buffer);
+      buffer.clear();
+    }
+    return this.hashValue(messageDigest);
+  }
+
+  /**
+   * See {@link IHashProcessor#hash(Path)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable Path path) throws DigestNotPresentException, IOException {
+    return this.hash(path, DEFAULT_MAP_WINDOW);
+  }
+
+  /**
+   * See {@link IHashProcessor#hash(Path, long)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable Path path,
+                                  long windowSize) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(path);
+    if (windowSize < 1 || windowSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Window size=%d is out of range.".formatted(windowSize));
+    }
+
+    try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = fileChannel.size();
+
+      //Mapping costs more than copying a few blocks.
+      if (size <= BUFFER_SIZE) {
+        return this.hash(fileChannel);
+      }
+
+      final MessageDigest messageDigest = this.messageDigest();
+      for (long position = 0; position < size; position += windowSize) {
+        messageDigest.update(fileChannel.map(FileChannel.MapMode.READ_ONLY, position,
+            Math.min(windowSize, size - position)));
+      }
+      return this.hashValue(messageDigest);
+    }
+  }
+
+  /**
+   * See {@link IHashProcessor#hash(ByteBuffer)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable ByteBuffer buffer) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(buffer);
+
+    final MessageDigest messageDigest = this.messageDigest();
+    //A view shares the content but keeps position and limit of the caller untouched.
+    messageDigest.update(buffer.duplicate());
+    return this.hashValue(messageDigest);
+  }
+
+  /**
+   * See {@link IHashProcessor#hash(ByteBuffer...)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable ByteBuffer... buffers) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(buffers);
+    for (final ByteBuffer buffer : buffers) {
+      Objects.requireNonNull(buffer);
+    }
+
+    final MessageDigest messageDigest = this.messageDigest();
+    for (final ByteBuffer buffer : buffers) {
+      messageDigest.update(buffer.duplicate());
+    }
+    return this.hashValue(messageDigest);
+  }
+
+  /**
+   * See {@link IHashProcessor#hash(byte[], int, int, byte[], int)}
+   */
+  @Override
+  public int hash(byte @Nullable [] input,
+                  int offset,
+                  int length,
+                  byte @Nullable [] output,
+                  int outputOffset) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(input);
+    Objects.requireNonNull(output);
+
+    final MessageDigest messageDigest = this.messageDigest();
+    Objects.checkFromIndexSize(offset, length, input.length);
+    Objects.checkFromIndexSize(outputOffset, messageDigest.getDigestLength(), output.length);
+
+    messageDigest.update(input, offset, length);
+    try {
+      return messageDigest.digest(output, outputOffset, output.length - outputOffset);
+    } catch (final DigestException exception) {
+      //Only possible if the provider reports a wrong digest length.
+      throw new IndexOutOfBoundsException(exception.getMessage());
+    }
+  }
+
+  /**
+   * See {@link IHashProcessor#digestLength()}
+   */
+  @Override
+  public int digestLength() throws DigestNotPresentException {
+    return this.messageDigest().getDigestLength();
+  }
+
+  /**
+   * See {@link IHashProcessor#hashAll(List)}
+   */
+  @Override
+  public @NotNull List<IHashValue> hashAll(@Nullable List<byte[]> secrets) throws DigestNotPresentException {
+    return this.hashAll(secrets, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * See {@link IHashProcessor#hashAll(Stream)}
+   */
+  @Override
+  public @NotNull List<IHashValue> hashAll(@Nullable Stream<byte[]> secrets) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(secrets);
+
+    return this.hashAll(secrets.toList(), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * See {@link IHashProcessor#hashAll(List, Executor)}
+   */
+  @Override
+  public @NotNull List<IHashValue> hashAll(@Nullable List<byte[]> secrets,
+                                           @Nullable Executor executor) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(secrets);
+    Objects.requireNonNull(executor);
+    //Fail before any task is submitted.
+    this.messageDigest();
+
+    final byte[][] input = secrets.toArray(new byte[0][]);
+    long totalBytes = 0;
+    for (final byte[] secret : input) {
+      totalBytes += Objects.requireNonNull(secret).length + SECRET_OVERHEAD;
+    }
+
+    //Aim for a few batches per worker to even out uneven secrets.
+    final int parallelism = executor instanceof ForkJoinPool forkJoinPool ?
+        forkJoinPool.getParallelism() : Runtime.getRuntime().availableProcessors();
+    final long batchBytes = Math.max(MIN_BATCH_BYTES, Math.min(MAX_BATCH_BYTES, totalBytes / (parallelism * 4L)));
+
+    final IHashValue[] values = new IHashValue[input.length];
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    int start = 0;
+    long bytes = 0;
+    for (int index = 0; index < input.length; index++) {
+      bytes += input[index].length + SECRET_OVERHEAD;
+      if (bytes >= batchBytes || index == input.length - 1) {
+        final int from = start, to = index + 1;
+        futures.add(CompletableFuture.runAsync(() -> this.hashBatch(input, values, from, to), executor));
+        start = to;
+        bytes = 0;
+      }
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    return List.of(values);
+  }
+
+  /**
+   * See {@link IHashProcessor#incremental()}
+   */
+  @Override
+  public @NotNull IIncrementalHasher incremental() throws DigestNotPresentException {
+    //Fails if the algorithm is not present.
+    this.messageDigest();
+
+    return new IncrementalHasher(this.copyPrototype(), 0);
+  }
+
+  /**
+   * See {@link IHashProcessor#resumable()}
+   */
+  @Override
+  public @NotNull IIncrementalHasher resumable() {
+    if (!Sha256State.ALGORITHM.equalsIgnoreCase(this.algorithm)) {
+      throw new UnsupportedOperationException("Algorithm=%s is not resumable.".formatted(this.algorithm));
+    }
+    return new IncrementalHasher(new Sha256State(), 0);
+  }
+
+  /**
+   * See {@link IHashProcessor#resume(byte[])}
+   */
+  @Override
+  public @NotNull IIncrementalHasher resume(byte @Nullable [] checkpoint) {
+    //Null check
+    Objects.requireNonNull(checkpoint);
+
+    final IncrementalHasher incrementalHasher = IncrementalHasher.resume(checkpoint);
+    if (!incrementalHasher.algorithm().equalsIgnoreCase(this.algorithm)) {
+      throw new IllegalArgumentException("Checkpoint algorithm=%s does not match algorithm=%s."
+          .formatted(incrementalHasher.algorithm(), this.algorithm));
+    }
+    return incrementalHasher;
+  }
+
+  /**
+   * Returns the {@link MessageDigest} of the current thread in its initial state.
+   *
+   * <p>The returned instance must only be used by the calling thread and must not be leaked to other threads.</p>
+   *
+   * @return The digest of the current thread.
+   * @throws DigestNotPresentException If the algorithm of this processor is not present.
+   */
+  protected @NotNull MessageDigest messageDigest() throws DigestNotPresentException {
+    if (this.prototype == null) {
+      throw new DigestNotPresentException("No message digest algorithm found.");
+    }
+
+    final MessageDigest messageDigest = this.threadDigest.get();
+    //Reset in case a previous operation of this thread was interrupted by an exception.
+    messageDigest.reset();
+    return messageDigest;
+  }
+
   /**
    * Performs a hash operation on the specified input using the provided function and returns
    * an {@link IHashValue} representing the result.
    *
    * <p>The input of the hash operation is processed by the specified function, which converts
-   * the input into a byte array. The resulting byte array is then hashed using the underlying
-   * {@link MessageDigest} instance associated with this {@code IHashProcessor}.</p>
+   * the input into a byte array. The resulting byte array is then hashed using the {@link MessageDigest}
+   * instance of the calling thread.</p>
    *
    * <p>The resulting {@code IHashValue} encapsulates the algorithm used for hashing and the
    * hashed value.</p>
@@ -78,13 +401,74 @@ public abstract class AbstractHashProcessor implements IHashProcessor {
    */
   private <TYPE> IHashValue hashValue(@NotNull final TYPE type,
                                       @NotNull final Function<TYPE, byte[]> function) throws DigestNotPresentException {
-    if(this.messageDigest == null) {
-      throw new DigestNotPresentException("No message digest algorithm found.");
-    }
+    final MessageDigest messageDigest = this.messageDigest();
 
     //Convert bytes of secret to key.
     return new ImmutableHashValue(
-        this.messageDigest.getAlgorithm(),
-        this.messageDigest.digest(function.apply(type)));
+        messageDigest.getAlgorithm(),
+        messageDigest.digest(function.apply(type)));
+  }
+
+  /**
+   * Completes the given digest and wraps the result into an {@link IHashValue}.
+   *
+   * @param messageDigest The digest holding the state of the current operation.
+   * @return An {@code IHashValue} representing the result of the hash operation.
+   */
+  protected @NotNull IHashValue hashValue(@NotNull final MessageDigest messageDigest) {
+    return new ImmutableHashValue(messageDigest.getAlgorithm(), messageDigest.digest());
+  }
+
+  /**
+   * Hashes the secrets of one batch with the digest of the executing thread.
+   *
+   * @param secrets The secrets of all batches.
+   * @param values  The array receiving the hash values of all batches.
+   * @param from    The index of the first secret of this batch, inclusive.
+   * @param to      The index of the last secret of this batch, exclusive.
+   */
+  private void hashBatch(final byte @NotNull [][] secrets,
+                         @NotNull final IHashValue[] values,
+                         final int from,
+                         final int to) {
+    final MessageDigest messageDigest = this.threadDigest.get();
+    messageDigest.reset();
+    for (int index = from; index < to; index++) {
+      values[index] = new ImmutableHashValue(messageDigest.getAlgorithm(), messageDigest.digest(secrets[index]));
+    }
+  }
+
+  /**
+   * Looks up an algorithm of the {@link ChecksumProvider}, which is not installed into the JCA.
+   *
+   * @param algorithm The name of the algorithm.
+   * @return The checksum digest, {@code null} if there is none of this name.
+   */
+  private static @Nullable MessageDigest checksum(@NotNull final String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm, ChecksumProvider.instance());
+    } catch (final NoSuchAlgorithmException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * Creates a new digest for the calling thread from the prototype. Cloning keeps the provider lookup off
+   * the hot path; providers without clone support fall back to a lookup bound to the prototype provider.
+   *
+   * @return A new, independent digest instance.
+   */
+  private @NotNull MessageDigest copyPrototype() {
+    final MessageDigest prototype = Objects.requireNonNull(this.prototype);
+    try {
+      return (MessageDigest) prototype.clone();
+    } catch (final CloneNotSupportedException cloneException) {
+      try {
+        return MessageDigest.getInstance(prototype.getAlgorithm(), prototype.getProvider());
+      } catch (final NoSuchAlgorithmException exception) {
+        //Not possible, the provider already served this algorithm.
+        throw new IllegalStateException(exception);
+      }
+    }
   }
 }
@@ -1,11 +1,22 @@
 package dev.dotspace.dayhawk.security.hash.processor;
 
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
 import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
 import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
 import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
 
 /**
  * The {@code IHashProcessor} interface defines a contract for hash processors in the security framework.
@@ -31,11 +42,14 @@ import org.jetbrains.annotations.Nullable;
  * hashing a byte array representing a secret. It throws a {@link DigestNotPresentException} if the resulting
  * hash value is not present.</p>
  *
+ * <p>Processors are thread safe. A single instance can be shared by any number of threads.</p>
+ *
  * @see ISecurityProcessor
+ * @see AlgorithmObject
  * @see IHashValue
  * @see DigestNotPresentException
  */
-public interface IHashProcessor extends ISecurityProcessor {
+public interface IHashProcessor extends ISecurityProcessor, AlgorithmObject {
   /**
    * Generates a hash value for the given secret.
    *
@@ -45,5 +59,203 @@ public interface IHashProcessor extends ISecurityProcessor {
    */
   @NotNull
   IHashValue hash(final byte @Nullable [] secret) throws DigestNotPresentException;
-}
 
+  /**
+   * Generates a hash value for all remaining bytes of the given stream.
+   *
+   * <p>The stream is read in fixed size blocks, the memory used is constant and independent of the length of the
+   * stream. The stream is consumed but not closed.</p>
+   *
+   * @param inputStream The stream to be hashed.
+   * @return An {@code IHashValue} representing the generated hash.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @throws IOException               If the stream could not be read.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final InputStream inputStream) throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates a hash value for all remaining bytes of the given channel.
+   *
+   * <p>The channel is read in fixed size blocks, the memory used is constant and independent of the length of the
+   * channel. The channel is consumed but not closed.</p>
+   *
+   * @param channel The channel to be hashed.
+   * @return An {@code IHashValue} representing the generated hash.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @throws IOException               If the channel could not be read.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final ReadableByteChannel channel) throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates a hash value for the content of the given file.
+   *
+   * <p>The file is mapped into memory in windows of {@link #DEFAULT_MAP_WINDOW} bytes, which are passed to the digest
+   * without copying them to the heap.</p>
+   *
+   * <p>Mapped windows are never unmapped explicitly, Java has no public API for it. They are released once the
+   * garbage collector collects them: until then they count against the address space and, on Windows, the file can
+   * not be deleted or truncated.</p>
+   *
+   * @param path The file to be hashed.
+   * @return An {@code IHashValue} representing the generated hash.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @throws IOException               If the file could not be read.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final Path path) throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates a hash value for the content of the given file.
+   *
+   * <p>The file is mapped into memory in windows of {@code windowSize} bytes, which are passed to the digest
+   * without copying them to the heap. Smaller windows reduce the address space used per file, larger windows
+   * reduce the number of mappings for very large files. As with {@link #hash(Path)}, windows are only released by
+   * the garbage collector.</p>
+   *
+   * @param path       The file to be hashed.
+   * @param windowSize The maximum number of bytes mapped at once, between 1 and {@link Integer#MAX_VALUE}.
+   * @return An {@code IHashValue} representing the generated hash.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @throws IOException               If the file could not be read.
+   * @throws IllegalArgumentException  If the window size is out of range.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final Path path,
+                  final long windowSize) throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates a hash value for the remaining bytes of the given buffer.
+   *
+   * <p>Heap and direct buffers are read in place, no bytes are copied. The position and limit of the buffer are not
+   * changed, the same buffer can therefore be hashed by several threads at once.</p>
+   *
+   * @param buffer The buffer to be hashed.
+   * @return An {@code IHashValue} representing the generated hash.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final ByteBuffer buffer) throws DigestNotPresentException;
+
+  /**
+   * Generates a single hash value over the remaining bytes of all given buffers, in the given order.
+   *
+   * <p>The result equals the hash of the concatenated buffers. Heap and direct buffers are read in place, no bytes
+   * are copied. The position and limit of the buffers are not changed.</p>
+   *
+   * @param buffers The buffers to be hashed.
+   * @return An {@code IHashValue} representing the generated hash.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final ByteBuffer... buffers) throws DigestNotPresentException;
+
+  /**
+   * Hashes {@code length} bytes of {@code input} starting at {@code offset} and writes the digest into
+   * {@code output} starting at {@code outputOffset}.
+   *
+   * <p>This variant allocates no memory per call and is intended for hot paths, which reuse the output array.
+   * {@link #digestLength()} returns the number of bytes needed in {@code output}.</p>
+   *
+   * @param input        The array holding the bytes to be hashed.
+   * @param offset       The index of the first byte to be hashed.
+   * @param length       The number of bytes to be hashed.
+   * @param output       The array the digest is written to.
+   * @param outputOffset The index the digest is written to.
+   * @return The number of bytes written to {@code output}.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @throws IndexOutOfBoundsException If a range is outside of its array or the digest does not fit.
+   */
+  int hash(final byte @Nullable [] input,
+           final int offset,
+           final int length,
+           final byte @Nullable [] output,
+           final int outputOffset) throws DigestNotPresentException;
+
+  /**
+   * Returns the length of the digests generated by this processor in bytes.
+   *
+   * @return The digest length in bytes.
+   * @throws DigestNotPresentException If the digest of this processor is not present.
+   */
+  int digestLength() throws DigestNotPresentException;
+
+  /**
+   * Generates a hash value for every secret of the list, in parallel on the {@link ForkJoinPool#commonPool()}.
+   *
+   * @param secrets The secrets to be hashed.
+   * @return The hash values, in the order of the secrets.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @see #hashAll(List, Executor)
+   */
+  @NotNull
+  List<IHashValue> hashAll(@Nullable final List<byte[]> secrets) throws DigestNotPresentException;
+
+  /**
+   * Generates a hash value for every secret of the stream, in parallel on the {@link ForkJoinPool#commonPool()}.
+   * The stream is collected before the work is distributed.
+   *
+   * @param secrets The secrets to be hashed.
+   * @return The hash values, in the encounter order of the stream.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @see #hashAll(List, Executor)
+   */
+  @NotNull
+  List<IHashValue> hashAll(@Nullable final Stream<byte[]> secrets) throws DigestNotPresentException;
+
+  /**
+   * Generates a hash value for every secret of the list, in parallel on the given executor.
+   *
+   * <p>The secrets are split into batches of similar byte size, many small secrets share one task while large
+   * secrets get a task of their own. Every worker thread reuses its own digest.</p>
+   *
+   * @param secrets  The secrets to be hashed.
+   * @param executor The executor running the batches.
+   * @return The hash values, in the order of the secrets.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   */
+  @NotNull
+  List<IHashValue> hashAll(@Nullable final List<byte[]> secrets,
+                           @Nullable final Executor executor) throws DigestNotPresentException;
+
+  /**
+   * Creates a handle hashing input that arrives over time. The hasher uses a digest of its own and is independent
+   * of this processor afterwards.
+   *
+   * @return A new hasher at offset {@code 0}.
+   * @throws DigestNotPresentException If the algorithm of this processor is not present.
+   */
+  @NotNull
+  IIncrementalHasher incremental() throws DigestNotPresentException;
+
+  /**
+   * Creates a handle hashing input that arrives over time, whose state can be saved with
+   * {@link IIncrementalHasher#checkpoint()} and restored with {@link #resume(byte[])}.
+   *
+   * <p>The state of the digests of the JCA providers can not be read, resumable hashers therefore use a Java
+   * implementation of the algorithm. It is slower than {@link #incremental()}, but continuing a checkpoint avoids
+   * reading the already hashed input again. Only SHA-256 is supported.</p>
+   *
+   * @return A new hasher at offset {@code 0}.
+   * @throws UnsupportedOperationException If the algorithm of this processor is not SHA-256.
+   */
+  @NotNull
+  IIncrementalHasher resumable();
+
+  /**
+   * Creates a hasher continuing from a checkpoint. The input has to be continued at
+   * {@link IIncrementalHasher#offset()}.
+   *
+   * @param checkpoint The checkpoint written by {@link IIncrementalHasher#checkpoint()}.
+   * @return A resumable hasher with the state of the checkpoint.
+   * @throws IllegalArgumentException If the checkpoint is damaged or of another algorithm.
+   */
+  @NotNull
+  IIncrementalHasher resume(final byte @Nullable [] checkpoint);
+
+  /**
+   * Default number of bytes mapped at once by {@link #hash(Path)}.
+   */
+  long DEFAULT_MAP_WINDOW = 256L * 1024 * 1024;
+}
@@ -0,0 +1,97 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * The {@code IIncrementalHasher} interface defines a handle hashing input that arrives over time, such as a growing
+ * log segment.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IIncrementalHasher hasher = hashProcessor.resumable();
+ * hasher.update(appendedBytes);
+ *
+ * // Hash of everything appended so far, the hasher continues
+ * IHashValue current = hasher.snapshot();
+ *
+ * // Persist the state and continue after a restart at hasher.offset()
+ * byte[] checkpoint = hasher.checkpoint();
+ * IIncrementalHasher resumed = hashProcessor.resume(checkpoint);
+ * }
+ * </pre>
+ *
+ * <p>A hasher is not thread safe, it is owned by the code feeding the input.</p>
+ *
+ * @see IHashProcessor#incremental()
+ * @see IHashProcessor#resumable()
+ */
+public interface IIncrementalHasher extends AlgorithmObject {
+  /**
+   * Appends the given bytes.
+   *
+   * @param input The bytes to be appended.
+   * @return This hasher.
+   */
+  @NotNull IIncrementalHasher update(final byte @Nullable [] input);
+
+  /**
+   * Appends {@code length} bytes of the array, starting at {@code offset}.
+   *
+   * @param input  The array holding the bytes.
+   * @param offset The index of the first byte.
+   * @param length The number of bytes.
+   * @return This hasher.
+   * @throws IndexOutOfBoundsException If the range does not fit into the array.
+   */
+  @NotNull IIncrementalHasher update(final byte @Nullable [] input,
+                                     final int offset,
+                                     final int length);
+
+  /**
+   * Appends the remaining bytes of the buffer. The position and limit of the buffer are not changed.
+   *
+   * @param buffer The bytes to be appended.
+   * @return This hasher.
+   */
+  @NotNull IIncrementalHasher update(@Nullable final ByteBuffer buffer);
+
+  /**
+   * Returns the number of bytes appended so far, the offset at which the input continues.
+   *
+   * @return The number of bytes.
+   */
+  long offset();
+
+  /**
+   * Generates the hash value of all bytes appended so far. The hasher is not changed and accepts further input.
+   *
+   * <p>The hash is computed on a copy of the digest. Digests that can not be copied, such as {@code CRC32C}, have no
+   * snapshot: their hash is only available once, at the end of the input.</p>
+   *
+   * @return An {@code IHashValue} representing the hash of the input up to {@link #offset()}.
+   * @throws UnsupportedOperationException If the digest of the algorithm can not be copied.
+   */
+  @NotNull IHashValue snapshot();
+
+  /**
+   * Returns the intermediate state as a compact byte array, see {@link IHashProcessor#resume(byte[])}.
+   *
+   * @return The checkpoint.
+   * @throws UnsupportedOperationException If the hasher was not created by {@link IHashProcessor#resumable()}.
+   */
+  byte @NotNull [] checkpoint();
+
+  /**
+   * Checks if {@link #checkpoint()} is supported.
+   *
+   * @return {@code true} if the state of this hasher can be saved.
+   */
+  boolean checkpointable();
+}
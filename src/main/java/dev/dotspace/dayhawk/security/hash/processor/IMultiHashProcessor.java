@@ -0,0 +1,100 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The {@code IMultiHashProcessor} interface defines a contract for processors generating the hash values of several
+ * algorithms in a single pass over the input.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IMultiHashProcessor multiHashProcessor = new MultiHashProcessor(List.of("MD5", "SHA-1", "SHA-256"));
+ *
+ * // Read the artifact once for all three digests
+ * Map<String, IHashValue> hashValues = multiHashProcessor.hash(Path.of("artifact.jar"));
+ * IHashValue sha256 = hashValues.get("SHA-256");
+ * }
+ * </pre>
+ *
+ * <p>Every returned map holds one entry per algorithm, keyed by the name given to the processor and in the same
+ * order. Processors are thread safe.</p>
+ *
+ * @see ISecurityProcessor
+ * @see IHashProcessor
+ */
+public interface IMultiHashProcessor extends ISecurityProcessor, AlgorithmObject {
+  /**
+   * Returns the algorithms of this processor.
+   *
+   * @return The names of the algorithms, in the order of the returned maps.
+   */
+  @NotNull List<String> algorithms();
+
+  /**
+   * Generates the hash values for the given secret.
+   *
+   * @param secret The byte array representing the secret to be hashed.
+   * @return The hash value of every algorithm.
+   * @throws DigestNotPresentException If a hash value is not present.
+   */
+  @NotNull Map<String, IHashValue> hash(final byte @Nullable [] secret) throws DigestNotPresentException;
+
+  /**
+   * Generates the hash values for the remaining content of the given stream. The stream is read once and is not
+   * closed.
+   *
+   * @param inputStream The stream to be hashed.
+   * @return The hash value of every algorithm.
+   * @throws DigestNotPresentException If a hash value is not present.
+   * @throws IOException               If the stream could not be read.
+   */
+  @NotNull Map<String, IHashValue> hash(@Nullable final InputStream inputStream)
+      throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates the hash values for the remaining content of the given channel. The channel is read once and is not
+   * closed.
+   *
+   * @param channel The channel to be hashed.
+   * @return The hash value of every algorithm.
+   * @throws DigestNotPresentException If a hash value is not present.
+   * @throws IOException               If the channel could not be read.
+   */
+  @NotNull Map<String, IHashValue> hash(@Nullable final ReadableByteChannel channel)
+      throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates the hash values for the content of the given file.
+   *
+   * @param path The file to be hashed.
+   * @return The hash value of every algorithm.
+   * @throws DigestNotPresentException If a hash value is not present.
+   * @throws IOException               If the file could not be read.
+   */
+  @NotNull Map<String, IHashValue> hash(@Nullable final Path path) throws DigestNotPresentException, IOException;
+
+  /**
+   * Generates the hash values for the remaining bytes of the given buffer. The position and limit of the buffer are
+   * not changed.
+   *
+   * @param buffer The buffer to be hashed.
+   * @return The hash value of every algorithm.
+   * @throws DigestNotPresentException If a hash value is not present.
+   */
+  @NotNull Map<String, IHashValue> hash(@Nullable final ByteBuffer buffer) throws DigestNotPresentException;
+}
@@ -0,0 +1,95 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+ * The {@code IPasswordHashProcessor} interface defines a contract for processors deriving password hashes with a
+ * deliberately slow key derivation function.
+ *
+ * <p>Derivation runs on an executor owned by the processor. Callers get a {@link CompletableFuture} and are not
+ * blocked, and the number of concurrent derivations is bounded by the size of that executor, so a burst of logins
+ * can not take all threads of the application.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IPasswordHashProcessor passwordHashProcessor = new PasswordHashProcessor(Duration.ofMillis(100));
+ *
+ * // Store a new password
+ * byte[] salt = passwordHashProcessor.salt();
+ * passwordHashProcessor.hash(password, salt).thenAccept(hashValue -> store(salt, hashValue));
+ *
+ * // Check a login
+ * passwordHashProcessor.verify(password, storedSalt, storedHashValue).thenAccept(valid -> ...);
+ * }
+ * </pre>
+ *
+ * <p>The {@link IHashValue#algorithm()} of a result names the iteration count, in the form
+ * {@code PBKDF2WithHmacSHA256:600000}. Stored values stay verifiable when a later processor is calibrated to a
+ * different count.</p>
+ *
+ * <p>Futures complete exceptionally with a {@link DigestNotPresentException} if the key derivation function is not
+ * present, and with a {@link RejectedExecutionException} if the queue of the processor is full or the processor is
+ * closed. Hash values that can not be verified at all are rejected when {@link #verify(char[], byte[], IHashValue)}
+ * is called, before any work is queued.</p>
+ *
+ * @see ISecurityProcessor
+ * @see IHashValue
+ */
+public interface IPasswordHashProcessor extends ISecurityProcessor, AlgorithmObject, AutoCloseable {
+  /**
+   * Derives the hash of the given password with the calibrated iteration count. The password is copied, the
+   * caller may clear its array as soon as this method returns.
+   *
+   * @param password The password to be hashed.
+   * @param salt     The salt of the password, see {@link #salt()}.
+   * @return A future completed with the derived hash value.
+   */
+  @NotNull CompletableFuture<IHashValue> hash(final char @Nullable [] password,
+                                              final byte @Nullable [] salt);
+
+  /**
+   * Checks if the given password matches a hash value generated by {@link #hash(char[], byte[])}. The iteration
+   * count is taken from the algorithm of the hash value, the comparison takes constant time.
+   *
+   * @param password  The password to be checked.
+   * @param salt      The salt used for the hash value.
+   * @param hashValue The stored hash value.
+   * @return A future completed with {@code true} if the password matches.
+   * @throws IllegalArgumentException If the hash value was not generated by {@link #hash(char[], byte[])}, or names
+   *                                  an iteration count or digest length out of the range of the implementation.
+   *                                  Thrown by this method, not through the future.
+   */
+  @NotNull CompletableFuture<Boolean> verify(final char @Nullable [] password,
+                                             final byte @Nullable [] salt,
+                                             @Nullable final IHashValue hashValue);
+
+  /**
+   * Generates a new random salt.
+   *
+   * @return The salt.
+   */
+  byte @NotNull [] salt();
+
+  /**
+   * Returns the iteration count used for new hash values.
+   *
+   * @return The iteration count.
+   */
+  int iterations();
+
+  /**
+   * Stops the executor of this processor. Queued derivations are still completed, new ones are rejected.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,65 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+
+/**
+ * The {@code ITreeHashProcessor} interface defines a contract for processors generating the root of a binary
+ * Merkle tree over their input.
+ *
+ * <p>The input is split into leaves of a fixed size. Leaves are hashed independently of each other, which allows
+ * to spread the work over all cores, and the leaf hashes are combined pairwise up to a single root.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * ITreeHashProcessor treeHashProcessor = new TreeHashProcessor("SHA-256", 1024 * 1024);
+ *
+ * // Generate the root of a large file
+ * IHashValue root = treeHashProcessor.hash(Path.of("artifact.bin"));
+ * }
+ * </pre>
+ *
+ * <p>The root depends only on the input, the algorithm and the leaf size. It is not equal to the plain hash of
+ * the input. The {@link #algorithm()} of the processor and of its results names the tree parameters.</p>
+ *
+ * @see ISecurityProcessor
+ * @see IHashProcessor
+ */
+public interface ITreeHashProcessor extends ISecurityProcessor, AlgorithmObject {
+  /**
+   * Generates the tree root for the given secret.
+   *
+   * @param secret The byte array representing the secret to be hashed.
+   * @return An {@code IHashValue} representing the root of the tree.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   */
+  @NotNull
+  IHashValue hash(final byte @Nullable [] secret) throws DigestNotPresentException;
+
+  /**
+   * Generates the tree root for the content of the given file.
+   *
+   * @param path The file to be hashed.
+   * @return An {@code IHashValue} representing the root of the tree.
+   * @throws DigestNotPresentException If the resulting hash value is not present.
+   * @throws IOException               If the file could not be read.
+   */
+  @NotNull
+  IHashValue hash(@Nullable final Path path) throws DigestNotPresentException, IOException;
+
+  /**
+   * Returns the number of bytes hashed into one leaf.
+   *
+   * @return The leaf size in bytes.
+   */
+  int leafSize();
+}
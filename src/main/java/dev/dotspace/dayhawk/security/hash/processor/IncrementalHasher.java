@@ -0,0 +1,189 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+
+/**
+ * See {@link IIncrementalHasher}
+ *
+ * <p>A checkpoint holds a magic number, the algorithm, the state of a {@link Sha256State} and a CRC32 of all
+ * preceding bytes, about 120 bytes in total.</p>
+ */
+final class IncrementalHasher implements IIncrementalHasher {
+  /**
+   * First bytes of a checkpoint: {@code DHC} and the format version.
+   */
+  private static final int MAGIC = 0x44484301;
+
+  /**
+   * The digest owned by this hasher, not shared with any thread local.
+   */
+  private final @NotNull MessageDigest messageDigest;
+  /**
+   * Number of bytes appended so far.
+   */
+  private long offset;
+
+  /**
+   * Constructs an {@code IncrementalHasher} continuing from the state of the digest.
+   *
+   * @param messageDigest The digest, owned by the hasher from now on.
+   * @param offset        The number of bytes already hashed into the digest.
+   */
+  IncrementalHasher(@NotNull final MessageDigest messageDigest,
+                    final long offset) {
+    this.messageDigest = messageDigest;
+    this.offset = offset;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull String algorithm() {
+    return this.messageDigest.getAlgorithm();
+  }
+
+  /**
+   * See {@link IIncrementalHasher#update(byte[])}
+   */
+  @Override
+  public @NotNull IIncrementalHasher update(byte @Nullable [] input) {
+    //Null check
+    Objects.requireNonNull(input);
+
+    return this.update(input, 0, input.length);
+  }
+
+  /**
+   * See {@link IIncrementalHasher#update(byte[], int, int)}
+   */
+  @Override
+  public @NotNull IIncrementalHasher update(byte @Nullable [] input,
+                                            int offset,
+                                            int length) {
+    //Null check
+    Objects.requireNonNull(input);
+    Objects.checkFromIndexSize(offset, length, input.length);
+
+    this.messageDigest.update(input, offset, length);
+    this.offset += length;
+    return this;
+  }
+
+  /**
+   * See {@link IIncrementalHasher#update(ByteBuffer)}
+   */
+  @Override
+  public @NotNull IIncrementalHasher update(@Nullable ByteBuffer buffer) {
+    //Null check
+    Objects.requireNonNull(buffer);
+
+    this.offset += buffer.remaining();
+    this.messageDigest.update(buffer.duplicate());
+    return this;
+  }
+
+  /**
+   * See {@link IIncrementalHasher#offset()}
+   */
+  @Override
+  public long offset() {
+    return this.offset;
+  }
+
+  /**
+   * See {@link IIncrementalHasher#snapshot()}
+   */
+  @Override
+  public @NotNull IHashValue snapshot() {
+    try {
+      //Completing a copy leaves the state of this hasher untouched.
+      return new ImmutableHashValue(this.algorithm(), ((MessageDigest) this.messageDigest.clone()).digest());
+    } catch (final CloneNotSupportedException exception) {
+      throw new UnsupportedOperationException(
+          "Digest of algorithm=%s can not be copied.".formatted(this.algorithm()), exception);
+    }
+  }
+
+  /**
+   * See {@link IIncrementalHasher#checkpoint()}
+   */
+  @Override
+  public byte @NotNull [] checkpoint() {
+    if (!(this.messageDigest instanceof Sha256State sha256State)) {
+      throw new UnsupportedOperationException("Hasher of algorithm=%s is not resumable.".formatted(this.algorithm()));
+    }
+
+    final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(128);
+    try (final DataOutputStream output = new DataOutputStream(byteArrayOutputStream)) {
+      output.writeInt(MAGIC);
+      output.writeUTF(Sha256State.ALGORITHM);
+      sha256State.write(output);
+      output.writeInt(crc(byteArrayOutputStream.toByteArray(), byteArrayOutputStream.size()));
+    } catch (final IOException exception) {
+      //Not possible, the output is in memory.
+      throw new IllegalStateException(exception);
+    }
+    return byteArrayOutputStream.toByteArray();
+  }
+
+  /**
+   * See {@link IIncrementalHasher#checkpointable()}
+   */
+  @Override
+  public boolean checkpointable() {
+    return this.messageDigest instanceof Sha256State;
+  }
+
+  //static
+
+  /**
+   * Creates a hasher from a checkpoint written by {@link #checkpoint()}.
+   *
+   * @param checkpoint The checkpoint.
+   * @return A hasher continuing at the offset of the checkpoint.
+   * @throws IllegalArgumentException If the checkpoint is damaged or of an unknown format.
+   */
+  static @NotNull IncrementalHasher resume(final byte @NotNull [] checkpoint) {
+    if (checkpoint.length < 8 || crc(checkpoint, checkpoint.length - 4) !=
+        ByteBuffer.wrap(checkpoint, checkpoint.length - 4, 4).getInt()) {
+      throw new IllegalArgumentException("Checkpoint is damaged.");
+    }
+
+    try (final DataInputStream input = new DataInputStream(
+        new ByteArrayInputStream(checkpoint, 0, checkpoint.length - 4))) {
+      if (input.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Checkpoint has an unknown format.");
+      }
+      final String algorithm = input.readUTF();
+      if (!Sha256State.ALGORITHM.equals(algorithm)) {
+        throw new IllegalArgumentException("Checkpoint algorithm=%s is not supported.".formatted(algorithm));
+      }
+      final Sha256State sha256State = Sha256State.read(input);
+      return new IncrementalHasher(sha256State, sha256State.length());
+    } catch (final IOException exception) {
+      throw new IllegalArgumentException("Checkpoint is truncated.", exception);
+    }
+  }
+
+  private static int crc(final byte @NotNull [] bytes,
+                         final int length) {
+    final CRC32 crc32 = new CRC32();
+    crc32.update(bytes, 0, length);
+    return (int) crc32.getValue();
+  }
+}
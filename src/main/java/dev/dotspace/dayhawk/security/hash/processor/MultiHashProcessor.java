@@ -0,0 +1,295 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+
+/**
+ * See {@link IMultiHashProcessor}
+ *
+ * <p>Streams and channels are read block by block, every block is passed to all digests before the next one is
+ * read. Inputs already in memory or mapped from a file are passed to the digests concurrently if they hold at least
+ * {@link #PARALLEL_THRESHOLD} bytes: every digest runs in its own task over the same memory, so the wall time is
+ * close to that of the slowest algorithm instead of the sum of all.</p>
+ */
+public final class MultiHashProcessor implements IMultiHashProcessor {
+  /**
+   * Minimum size of an input to update the digests concurrently.
+   */
+  public static final long PARALLEL_THRESHOLD = 4 * 1024 * 1024;
+
+  /**
+   * Names of the algorithms, joined by {@code +}.
+   */
+  private final @NotNull String algorithm;
+  /**
+   * Names of the algorithms as given to the constructor.
+   */
+  private final @NotNull List<String> algorithms;
+  /**
+   * One processor per algorithm, only used for their per thread digests.
+   */
+  private final @NotNull AbstractHashProcessor[] processors;
+
+  /**
+   * Constructs a new {@code MultiHashProcessor} for the given algorithms.
+   *
+   * @param algorithms The names of the algorithms, each listed by {@link HashManager#algorithmList()}.
+   * @throws NullPointerException      If the collection or one of its names is {@code null}.
+   * @throws IllegalArgumentException  If the collection is empty or holds a name twice.
+   * @throws DigestNotPresentException If an algorithm is not present.
+   */
+  public MultiHashProcessor(@Nullable final Collection<String> algorithms) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(algorithms);
+
+    this.algorithms = List.copyOf(algorithms);
+    if (this.algorithms.isEmpty() || this.algorithms.stream().distinct().count() != this.algorithms.size()) {
+      throw new IllegalArgumentException("Algorithms=%s must be distinct and not empty.".formatted(algorithms));
+    }
+
+    final List<String> present = HashManager.instance().algorithmList();
+    this.processors = new AbstractHashProcessor[this.algorithms.size()];
+    for (int index = 0; index < this.processors.length; index++) {
+      final String name = this.algorithms.get(index);
+      if (present.stream().noneMatch(name::equalsIgnoreCase)) {
+        throw new DigestNotPresentException("Digest algorithm=%s is not present.".formatted(name));
+      }
+      this.processors[index] = new HashProcessor(name);
+      //Fails if the provider lists the algorithm, but can not create it.
+      this.processors[index].messageDigest();
+    }
+    this.algorithm = String.join("+", this.algorithms);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull String algorithm() {
+    return this.algorithm;
+  }
+
+  /**
+   * See {@link IMultiHashProcessor#algorithms()}
+   */
+  @Override
+  public @NotNull List<String> algorithms() {
+    return this.algorithms;
+  }
+
+  /**
+   * See {@link IMultiHashProcessor#hash(byte[])}
+   */
+  @Override
+  public @NotNull Map<String, IHashValue> hash(byte @Nullable [] secret) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(secret);
+
+    return this.hash(List.of(ByteBuffer.wrap(secret)), secret.length);
+  }
+
+  /**
+   * See {@link IMultiHashProcessor#hash(InputStream)}
+   */
+  @Override
+  public @NotNull Map<String, IHashValue> hash(@Nullable InputStream inputStream)
+      throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(inputStream);
+
+    final MessageDigest[] messageDigests = this.messageDigests();
+    final byte[] buffer = new byte[AbstractHashProcessor.BUFFER_SIZE];
+
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      for (final MessageDigest messageDigest : messageDigests) {
+        messageDigest.update(buffer, 0, read);
+      }
+    }
+    return this.hashValues(messageDigests);
+  }
+
+  /**
+   * See {@link IMultiHashProcessor#hash(ReadableByteChannel)}
+   */
+  @Override
+  public @NotNull Map<String, IHashValue> hash(@Nullable ReadableByteChannel channel)
+      throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(channel);
+
+    final MessageDigest[] messageDigests = this.messageDigests();
+    final ByteBuffer buffer = ByteBuffer.allocate(AbstractHashProcessor.BUFFER_SIZE);
+
+    while (channel.read(buffer) != -1) {
+      buffer.flip();
+      for (final MessageDigest messageDigest : messageDigests) {
+        messageDigest.update(buffer.duplicate());
+      }
+      buffer.clear();
+    }
+    return this.hashValues(messageDigests);
+  }
+
+  /**
+   * See {@link IMultiHashProcessor#hash(Path)}
+   */
+  @Override
+  public @NotNull Map<String, IHashValue> hash(@Nullable Path path) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(path);
+
+    try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = fileChannel.size();
+
+      //Mapping costs more than copying a few blocks.
+      if (size <= AbstractHashProcessor.BUFFER_SIZE) {
+        return this.hash(fileChannel);
+      }
+
+      //The file is mapped once, all digests read the same pages.
+      final List<ByteBuffer> windows = new ArrayList<>();
+      for (long position = 0; position < size; position += IHashProcessor.DEFAULT_MAP_WINDOW) {
+        windows.add(fileChannel.map(FileChannel.MapMode.READ_ONLY, position,
+            Math.min(IHashProcessor.DEFAULT_MAP_WINDOW, size - position)));
+      }
+      return this.hash(windows, size);
+    }
+  }
+
+  /**
+   * See {@link IMultiHashProcessor#hash(ByteBuffer)}
+   */
+  @Override
+  public @NotNull Map<String, IHashValue> hash(@Nullable ByteBuffer buffer) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(buffer);
+
+    return this.hash(List.of(buffer), buffer.remaining());
+  }
+
+  /**
+   * Passes the windows in order to every digest, concurrently if the input is large enough.
+   *
+   * @param windows The input, read through views so positions are not changed.
+   * @param size    The total number of bytes of all windows.
+   * @return The hash value of every algorithm.
+   * @throws DigestNotPresentException If a hash value is not present.
+   */
+  private @NotNull Map<String, IHashValue> hash(@NotNull final List<ByteBuffer> windows,
+                                                final long size) throws DigestNotPresentException {
+    if (size < PARALLEL_THRESHOLD || this.processors.length == 1) {
+      final MessageDigest[] messageDigests = this.messageDigests();
+      for (final ByteBuffer window : windows) {
+        for (final MessageDigest messageDigest : messageDigests) {
+          messageDigest.update(window.duplicate());
+        }
+      }
+      return this.hashValues(messageDigests);
+    }
+
+    //Every task uses the digest of the thread it runs on, the last algorithm runs on the calling thread.
+    final IHashValue[] values = new IHashValue[this.processors.length];
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int index = 0; index < this.processors.length - 1; index++) {
+      final int current = index;
+      futures.add(CompletableFuture.runAsync(() -> values[current] = this.hashWindows(current, windows)));
+    }
+
+    try {
+      values[values.length - 1] = this.hashWindows(values.length - 1, windows);
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    } catch (final CompletionException exception) {
+      if (exception.getCause() instanceof DigestNotPresentException digestNotPresentException) {
+        throw digestNotPresentException;
+      }
+      throw exception;
+    }
+    return this.map(values);
+  }
+
+  /**
+   * Hashes all windows with one algorithm, using the digest of the executing thread.
+   *
+   * @param index   The index of the algorithm.
+   * @param windows The input.
+   * @return The hash value of the algorithm.
+   * @throws CompletionException Wrapping a {@link DigestNotPresentException}, if the hash value is not present.
+   */
+  private @NotNull IHashValue hashWindows(final int index,
+                                          @NotNull final List<ByteBuffer> windows) {
+    try {
+      final MessageDigest messageDigest = this.processors[index].messageDigest();
+      for (final ByteBuffer window : windows) {
+        messageDigest.update(window.duplicate());
+      }
+      return this.processors[index].hashValue(messageDigest);
+    } catch (final DigestNotPresentException exception) {
+      throw new CompletionException(exception);
+    }
+  }
+
+  /**
+   * Returns the digests of the current thread, one per algorithm, in their initial state.
+   *
+   * @return The digests.
+   * @throws DigestNotPresentException If an algorithm is not present.
+   */
+  private @NotNull MessageDigest @NotNull [] messageDigests() throws DigestNotPresentException {
+    final MessageDigest[] messageDigests = new MessageDigest[this.processors.length];
+    for (int index = 0; index < messageDigests.length; index++) {
+      messageDigests[index] = this.processors[index].messageDigest();
+    }
+    return messageDigests;
+  }
+
+  /**
+   * Completes the digests.
+   *
+   * @param messageDigests The digests holding the state of the current operation.
+   * @return The hash value of every algorithm.
+   */
+  private @NotNull Map<String, IHashValue> hashValues(@NotNull final MessageDigest @NotNull [] messageDigests) {
+    final IHashValue[] values = new IHashValue[messageDigests.length];
+    for (int index = 0; index < values.length; index++) {
+      values[index] = this.processors[index].hashValue(messageDigests[index]);
+    }
+    return this.map(values);
+  }
+
+  /**
+   * Maps the values to the names of their algorithms.
+   *
+   * @param values The hash values, in the order of the algorithms.
+   * @return An unmodifiable map in the order of the algorithms.
+   */
+  private @NotNull Map<String, IHashValue> map(@NotNull final IHashValue @NotNull [] values) {
+    final Map<String, IHashValue> map = new LinkedHashMap<>();
+    for (int index = 0; index < values.length; index++) {
+      map.put(this.algorithms.get(index), values[index]);
+    }
+    return Collections.unmodifiableMap(map);
+  }
+}
@@ -0,0 +1,302 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * See {@link IPasswordHashProcessor}
+ *
+ * <p>Hashes are derived with PBKDF2WithHmacSHA256. The iteration count is calibrated once, when the processor is
+ * constructed: a fixed number of iterations is timed on the current machine and scaled to the target latency.</p>
+ */
+public final class PasswordHashProcessor implements IPasswordHashProcessor {
+  /**
+   * The key derivation function used by this processor.
+   */
+  public static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  /**
+   * Target latency of a single derivation, if none is given.
+   */
+  public static final Duration DEFAULT_TARGET_LATENCY = Duration.ofMillis(100);
+  /**
+   * Lower bound of the calibrated iteration count.
+   */
+  public static final int MIN_ITERATIONS = 1_000;
+  /**
+   * Upper bound of the calibrated iteration count and of the count of verified hash values. Stored hash values name
+   * their own count, an unbounded count would let a single value occupy a thread for hours. The bound does not
+   * depend on the calibration, so values stay verifiable by processors calibrated to fewer iterations.
+   */
+  public static final int MAX_ITERATIONS = 10_000_000;
+  /**
+   * Length of generated salts and derived hashes in bytes.
+   */
+  private static final int SALT_LENGTH = 16, HASH_LENGTH = 32;
+  /**
+   * Iterations of one calibration round and the number of rounds, the fastest round is used.
+   */
+  private static final int CALIBRATION_ITERATIONS = 10_000, CALIBRATION_ROUNDS = 3;
+  /**
+   * Number of the next executor thread, only used for thread names.
+   */
+  private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+  /**
+   * The name of the algorithm including the calibrated iteration count.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull String algorithm;
+  /**
+   * The calibrated iteration count.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final int iterations;
+  /**
+   * The executor running all derivations of this processor.
+   */
+  private final @NotNull ThreadPoolExecutor executor;
+  /**
+   * Source of salts.
+   */
+  private final @NotNull SecureRandom secureRandom = new SecureRandom();
+
+  /**
+   * Constructs a new {@code PasswordHashProcessor} calibrated to {@link #DEFAULT_TARGET_LATENCY}, with one thread
+   * for every two available cores.
+   */
+  public PasswordHashProcessor() {
+    this(DEFAULT_TARGET_LATENCY);
+  }
+
+  /**
+   * Constructs a new {@code PasswordHashProcessor} calibrated to the given latency, with one thread for every two
+   * available cores.
+   *
+   * @param targetLatency The time a single derivation should take on this machine. Must not be {@code null}.
+   * @throws NullPointerException If the provided latency is {@code null}.
+   */
+  public PasswordHashProcessor(@Nullable final Duration targetLatency) {
+    this(targetLatency, Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2) * 64);
+  }
+
+  /**
+   * Constructs a new {@code PasswordHashProcessor} calibrated to the given latency.
+   *
+   * @param targetLatency The time a single derivation should take on this machine. Must not be {@code null}.
+   * @param threads       The maximum number of concurrent derivations.
+   * @param queueCapacity The maximum number of waiting derivations, further requests are rejected.
+   * @throws NullPointerException     If the provided latency is {@code null}.
+   * @throws IllegalArgumentException If the latency is not positive or threads or capacity are less than one.
+   */
+  public PasswordHashProcessor(@Nullable final Duration targetLatency,
+                               final int threads,
+                               final int queueCapacity) {
+    //Null check
+    Objects.requireNonNull(targetLatency);
+
+    if (targetLatency.isNegative() || targetLatency.isZero()) {
+      throw new IllegalArgumentException("Target latency must be positive.");
+    }
+    if (threads < 1 || queueCapacity < 1) {
+      throw new IllegalArgumentException("Threads=%d and queue capacity=%d must be positive."
+          .formatted(threads, queueCapacity));
+    }
+
+    this.iterations = calibrate(targetLatency);
+    this.algorithm = ALGORITHM + ":" + this.iterations;
+    this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+      final Thread thread = new Thread(runnable, "password-hash-" + THREAD_NUMBER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * See {@link IPasswordHashProcessor#hash(char[], byte[])}
+   */
+  @Override
+  public @NotNull CompletableFuture<IHashValue> hash(char @Nullable [] password,
+                                                     byte @Nullable [] salt) {
+    //Null check
+    Objects.requireNonNull(password);
+    Objects.requireNonNull(salt);
+
+    final char[] passwordCopy = password.clone();
+    final byte[] saltCopy = salt.clone();
+    return this.submit(passwordCopy, () -> new ImmutableHashValue(this.algorithm,
+        derive(passwordCopy, saltCopy, this.iterations, HASH_LENGTH)));
+  }
+
+  /**
+   * See {@link IPasswordHashProcessor#verify(char[], byte[], IHashValue)}
+   *
+   * @throws IllegalArgumentException If the hash value was not generated by a {@code PasswordHashProcessor}, its
+   *                                  digest is empty or longer than generated hashes, or its iteration count is
+   *                                  below {@link #MIN_ITERATIONS} or above {@link #MAX_ITERATIONS}.
+   */
+  @Override
+  public @NotNull CompletableFuture<Boolean> verify(char @Nullable [] password,
+                                                    byte @Nullable [] salt,
+                                                    @Nullable IHashValue hashValue) {
+    //Null check
+    Objects.requireNonNull(password);
+    Objects.requireNonNull(salt);
+    Objects.requireNonNull(hashValue);
+
+    final int iterations = iterations(hashValue.algorithm());
+    if (iterations < MIN_ITERATIONS || iterations > MAX_ITERATIONS) {
+      throw new IllegalArgumentException("Iteration count=%d is not between %d and %d."
+          .formatted(iterations, MIN_ITERATIONS, MAX_ITERATIONS));
+    }
+    final byte[] expected = hashValue.digest();
+    if (expected.length < 1 || expected.length > HASH_LENGTH) {
+      throw new IllegalArgumentException("Digest length=%d is not between 1 and %d."
+          .formatted(expected.length, HASH_LENGTH));
+    }
+    final char[] passwordCopy = password.clone();
+    final byte[] saltCopy = salt.clone();
+    return this.submit(passwordCopy, () -> MessageDigest.isEqual(expected,
+        derive(passwordCopy, saltCopy, iterations, expected.length)));
+  }
+
+  /**
+   * See {@link IPasswordHashProcessor#salt()}
+   */
+  @Override
+  public byte @NotNull [] salt() {
+    final byte[] salt = new byte[SALT_LENGTH];
+    this.secureRandom.nextBytes(salt);
+    return salt;
+  }
+
+  /**
+   * See {@link IPasswordHashProcessor#close()}
+   */
+  @Override
+  public void close() {
+    this.executor.shutdown();
+  }
+
+  /**
+   * Runs the task on the executor of this processor.
+   *
+   * @param password The password copy of the task, cleared here if the task is rejected and never runs.
+   * @param supplier The derivation to run.
+   * @param <T>      The result type.
+   * @return The future of the task, completed exceptionally if the task was rejected.
+   */
+  private <T> @NotNull CompletableFuture<T> submit(final char @NotNull [] password,
+                                                   @NotNull final Supplier<T> supplier) {
+    try {
+      return CompletableFuture.supplyAsync(supplier, this.executor);
+    } catch (final RejectedExecutionException exception) {
+      Arrays.fill(password, '\0');
+      return CompletableFuture.failedFuture(exception);
+    }
+  }
+
+  //static
+
+  /**
+   * Derives a hash and clears the password afterwards.
+   *
+   * @param password   The password, cleared by this method.
+   * @param salt       The salt.
+   * @param iterations The iteration count.
+   * @param length     The length of the hash in bytes.
+   * @return The derived hash.
+   * @throws CompletionException Wrapping a {@link DigestNotPresentException}, if the function is not present.
+   */
+  private static byte @NotNull [] derive(final char @NotNull [] password,
+                                         final byte @NotNull [] salt,
+                                         final int iterations,
+                                         final int length) {
+    final PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterations, length * 8);
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(keySpec).getEncoded();
+    } catch (final NoSuchAlgorithmException | InvalidKeySpecException exception) {
+      throw new CompletionException(
+          new DigestNotPresentException("Key derivation algorithm=%s is not present.".formatted(ALGORITHM), exception));
+    } finally {
+      keySpec.clearPassword();
+      Arrays.fill(password, '\0');
+    }
+  }
+
+  /**
+   * Times {@link #CALIBRATION_ITERATIONS} on this machine and scales them to the target latency.
+   *
+   * @param targetLatency The time a single derivation should take.
+   * @return The iteration count, between {@link #MIN_ITERATIONS} and {@link #MAX_ITERATIONS}.
+   */
+  private static int calibrate(@NotNull final Duration targetLatency) {
+    final char[] password = "calibration".toCharArray();
+    final byte[] salt = new byte[SALT_LENGTH];
+    long fastest = Long.MAX_VALUE;
+    try {
+      //The first round also loads and warms up the provider.
+      for (int round = 0; round <= CALIBRATION_ROUNDS; round++) {
+        final long start = System.nanoTime();
+        derive(password.clone(), salt, CALIBRATION_ITERATIONS, HASH_LENGTH);
+        final long time = System.nanoTime() - start;
+        if (round > 0) {
+          fastest = Math.min(fastest, time);
+        }
+      }
+    } catch (final CompletionException exception) {
+      //Function not present, every derivation will fail with the same exception.
+      return MIN_ITERATIONS;
+    }
+
+    final double iterations = (double) targetLatency.toNanos() / Math.max(1, fastest) * CALIBRATION_ITERATIONS;
+    return (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, iterations));
+  }
+
+  /**
+   * Reads the iteration count from the algorithm of a hash value.
+   *
+   * @param algorithm The algorithm of the hash value.
+   * @return The iteration count.
+   * @throws IllegalArgumentException If the algorithm does not name a count.
+   */
+  private static int iterations(@Nullable final String algorithm) {
+    if (algorithm == null || !algorithm.startsWith(ALGORITHM + ":")) {
+      throw new IllegalArgumentException("Hash value algorithm=%s is not %s.".formatted(algorithm, ALGORITHM));
+    }
+    try {
+      return Integer.parseInt(algorithm.substring(ALGORITHM.length() + 1));
+    } catch (final NumberFormatException exception) {
+      throw new IllegalArgumentException("Hash value algorithm=%s has no iteration count.".formatted(algorithm),
+          exception);
+    }
+  }
+}
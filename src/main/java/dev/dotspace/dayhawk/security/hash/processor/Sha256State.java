@@ -0,0 +1,225 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.security.MessageDigest;
+
+
+/**
+ * SHA-256 as defined by FIPS 180-4, implemented in Java so its intermediate state can be written and read again.
+ *
+ * <p>The digests of the JCA providers do not expose their state. This class is only used where the state has to
+ * outlive the process, see {@link IHashProcessor#resumable()}; it is slower than the intrinsic of the JDK provider.</p>
+ */
+final class Sha256State extends MessageDigest implements Cloneable {
+  /**
+   * Name of the implemented algorithm.
+   */
+  static final String ALGORITHM = "SHA-256";
+  /**
+   * Round constants.
+   */
+  private static final int[] K = {
+      0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+      0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+      0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+      0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+      0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+      0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+      0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+      0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2};
+  /**
+   * Initial hash value.
+   */
+  private static final int[] INITIAL = {
+      0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19};
+  private static final int BLOCK_SIZE = 64, DIGEST_LENGTH = 32;
+
+  private int[] state = INITIAL.clone();
+  private byte[] block = new byte[BLOCK_SIZE];
+  /**
+   * Message schedule, only kept to avoid an allocation per block.
+   */
+  private int[] schedule = new int[64];
+  /**
+   * Number of bytes hashed so far.
+   */
+  private long length;
+
+  Sha256State() {
+    super(ALGORITHM);
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return DIGEST_LENGTH;
+  }
+
+  @Override
+  protected void engineUpdate(final byte input) {
+    this.block[(int) (this.length++ & (BLOCK_SIZE - 1))] = input;
+    if ((this.length & (BLOCK_SIZE - 1)) == 0) {
+      this.compress(this.block, 0);
+    }
+  }
+
+  @Override
+  protected void engineUpdate(final byte @NotNull [] input,
+                              int offset,
+                              int length) {
+    int buffered = (int) (this.length & (BLOCK_SIZE - 1));
+    this.length += length;
+
+    //Fill a partial block first.
+    if (buffered > 0) {
+      final int fill = Math.min(length, BLOCK_SIZE - buffered);
+      System.arraycopy(input, offset, this.block, buffered, fill);
+      offset += fill;
+      length -= fill;
+      if (buffered + fill < BLOCK_SIZE) {
+        return;
+      }
+      this.compress(this.block, 0);
+    }
+
+    //Whole blocks are compressed straight from the input.
+    for (; length >= BLOCK_SIZE; offset += BLOCK_SIZE, length -= BLOCK_SIZE) {
+      this.compress(input, offset);
+    }
+    System.arraycopy(input, offset, this.block, 0, length);
+  }
+
+  @Override
+  protected byte @NotNull [] engineDigest() {
+    final long bits = this.length << 3;
+    final int buffered = (int) (this.length & (BLOCK_SIZE - 1));
+    final byte[] padding = new byte[(buffered < 56 ? 56 : 120) - buffered + 8];
+    padding[0] = (byte) 0x80;
+    for (int index = 0; index < 8; index++) {
+      padding[padding.length - 1 - index] = (byte) (bits >>> (index * 8));
+    }
+    this.engineUpdate(padding, 0, padding.length);
+
+    final byte[] digest = new byte[DIGEST_LENGTH];
+    for (int index = 0; index < 8; index++) {
+      writeInt(digest, index * 4, this.state[index]);
+    }
+    this.engineReset();
+    return digest;
+  }
+
+  @Override
+  protected void engineReset() {
+    System.arraycopy(INITIAL, 0, this.state, 0, INITIAL.length);
+    this.length = 0;
+  }
+
+  @Override
+  public @NotNull Object clone() throws CloneNotSupportedException {
+    final Sha256State copy = (Sha256State) super.clone();
+    copy.state = this.state.clone();
+    copy.block = this.block.clone();
+    copy.schedule = new int[64];
+    return copy;
+  }
+
+  /**
+   * Returns the number of bytes hashed since the last reset.
+   *
+   * @return The number of bytes.
+   */
+  long length() {
+    return this.length;
+  }
+
+  /**
+   * Writes the intermediate state: length, hash value and the bytes of the incomplete block.
+   *
+   * @param output The output to write to.
+   * @throws IOException If the output could not be written.
+   */
+  void write(@NotNull final DataOutput output) throws IOException {
+    output.writeLong(this.length);
+    for (final int word : this.state) {
+      output.writeInt(word);
+    }
+    output.write(this.block, 0, (int) (this.length & (BLOCK_SIZE - 1)));
+  }
+
+  /**
+   * Reads a state written by {@link #write(DataOutput)}.
+   *
+   * @param input The input to read from.
+   * @return A digest continuing from the written state.
+   * @throws IOException If the input could not be read.
+   */
+  static @NotNull Sha256State read(@NotNull final DataInput input) throws IOException {
+    final Sha256State sha256State = new Sha256State();
+    sha256State.length = input.readLong();
+    if (sha256State.length < 0) {
+      throw new IOException("Negative length=%d.".formatted(sha256State.length));
+    }
+    for (int index = 0; index < sha256State.state.length; index++) {
+      sha256State.state[index] = input.readInt();
+    }
+    input.readFully(sha256State.block, 0, (int) (sha256State.length & (BLOCK_SIZE - 1)));
+    return sha256State;
+  }
+
+  /**
+   * Processes one block of 64 bytes.
+   */
+  private void compress(final byte @NotNull [] input,
+                        final int offset) {
+    final int[] w = this.schedule;
+    for (int index = 0; index < 16; index++) {
+      final int position = offset + index * 4;
+      w[index] = (input[position] & 0xFF) << 24 | (input[position + 1] & 0xFF) << 16 |
+          (input[position + 2] & 0xFF) << 8 | input[position + 3] & 0xFF;
+    }
+    for (int index = 16; index < 64; index++) {
+      final int s0 = Integer.rotateRight(w[index - 15], 7) ^ Integer.rotateRight(w[index - 15], 18) ^
+          (w[index - 15] >>> 3);
+      final int s1 = Integer.rotateRight(w[index - 2], 17) ^ Integer.rotateRight(w[index - 2], 19) ^
+          (w[index - 2] >>> 10);
+      w[index] = w[index - 16] + s0 + w[index - 7] + s1;
+    }
+
+    int a = this.state[0], b = this.state[1], c = this.state[2], d = this.state[3];
+    int e = this.state[4], f = this.state[5], g = this.state[6], h = this.state[7];
+    for (int index = 0; index < 64; index++) {
+      final int t1 = h + (Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25)) +
+          (e & f ^ ~e & g) + K[index] + w[index];
+      final int t2 = (Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22)) +
+          (a & b ^ a & c ^ b & c);
+      h = g;
+      g = f;
+      f = e;
+      e = d + t1;
+      d = c;
+      c = b;
+      b = a;
+      a = t1 + t2;
+    }
+    this.state[0] += a;
+    this.state[1] += b;
+    this.state[2] += c;
+    this.state[3] += d;
+    this.state[4] += e;
+    this.state[5] += f;
+    this.state[6] += g;
+    this.state[7] += h;
+  }
+
+  private static void writeInt(final byte @NotNull [] array,
+                               final int offset,
+                               final int value) {
+    array[offset] = (byte) (value >>> 24);
+    array[offset + 1] = (byte) (value >>> 16);
+    array[offset + 2] = (byte) (value >>> 8);
+    array[offset + 3] = (byte) value;
+  }
+}
@@ -0,0 +1,227 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * See {@link ITreeHashProcessor}
+ *
+ * <p>Leaves are hashed as {@code H(0x00 || leaf)} and inner nodes as {@code H(0x01 || left || right)}, the same
+ * domain separation as RFC 6962. A node without a sibling is promoted unchanged to the next level. Empty input is
+ * a single empty leaf.</p>
+ *
+ * <p>Leaves and large tree levels are processed in parallel on the {@link java.util.concurrent.ForkJoinPool}
+ * executing the call, by default the common pool. Files are read with positional reads, every thread reuses a
+ * buffer of one leaf.</p>
+ */
+public final class TreeHashProcessor implements ITreeHashProcessor {
+  /**
+   * Default number of bytes hashed into one leaf.
+   */
+  public static final int DEFAULT_LEAF_SIZE = 1024 * 1024;
+  /**
+   * Domain separation prefixes of leaves and inner nodes.
+   */
+  private static final byte[] LEAF_PREFIX = {0x00}, NODE_PREFIX = {0x01};
+  /**
+   * Tree levels smaller than this are combined on the calling thread.
+   */
+  private static final int PARALLEL_LEVEL_SIZE = 1024;
+
+  /**
+   * The processor hashing leaves and nodes.
+   */
+  private final @NotNull IHashProcessor hashProcessor;
+  /**
+   * The number of bytes hashed into one leaf.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final int leafSize;
+  /**
+   * The name of the tree algorithm, including the tree parameters.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull String algorithm;
+  /**
+   * Leaf buffer of the current thread, used to read files.
+   */
+  private final @NotNull ThreadLocal<ByteBuffer> leafBuffer;
+
+  /**
+   * Constructs a {@code TreeHashProcessor} with leaves of {@link #DEFAULT_LEAF_SIZE} bytes.
+   *
+   * @param algorithm The name of the hash algorithm. Must not be {@code null}.
+   * @throws NullPointerException If the provided algorithm is {@code null}.
+   */
+  public TreeHashProcessor(@Nullable final String algorithm) {
+    this(algorithm, DEFAULT_LEAF_SIZE);
+  }
+
+  /**
+   * Constructs a {@code TreeHashProcessor} with the given leaf size.
+   *
+   * @param algorithm The name of the hash algorithm. Must not be {@code null}.
+   * @param leafSize  The number of bytes hashed into one leaf.
+   * @throws NullPointerException     If the provided algorithm is {@code null}.
+   * @throws IllegalArgumentException If the leaf size is not positive.
+   */
+  public TreeHashProcessor(@Nullable final String algorithm,
+                           final int leafSize) {
+    this(new HashProcessor(algorithm), leafSize);
+  }
+
+  /**
+   * Constructs a {@code TreeHashProcessor} on top of the given processor.
+   *
+   * @param hashProcessor The processor hashing leaves and nodes.
+   * @param leafSize      The number of bytes hashed into one leaf.
+   * @throws NullPointerException     If the provided processor is {@code null}.
+   * @throws IllegalArgumentException If the leaf size is not positive.
+   */
+  public TreeHashProcessor(@Nullable final IHashProcessor hashProcessor,
+                           final int leafSize) {
+    //Null check
+    Objects.requireNonNull(hashProcessor);
+    if (leafSize < 1) {
+      throw new IllegalArgumentException("Leaf size=%d must be positive.".formatted(leafSize));
+    }
+
+    this.hashProcessor = hashProcessor;
+    this.leafSize = leafSize;
+    this.algorithm = "%s/MERKLE(leaf=%d,fanout=2)".formatted(hashProcessor.algorithm(), leafSize);
+    this.leafBuffer = ThreadLocal.withInitial(() -> ByteBuffer.allocate(leafSize));
+  }
+
+  /**
+   * See {@link ITreeHashProcessor#hash(byte[])}
+   */
+  @Override
+  public @NotNull IHashValue hash(byte @Nullable [] secret) throws DigestNotPresentException {
+    //Null check
+    Objects.requireNonNull(secret);
+    //Fail before any task is submitted.
+    this.hashProcessor.digestLength();
+
+    final int leaves = Math.max(1, (int) ((secret.length + (long) this.leafSize - 1) / this.leafSize));
+    final byte[][] level = new byte[leaves][];
+    IntStream.range(0, leaves).parallel().forEach(leaf -> {
+      final int offset = leaf * this.leafSize;
+      level[leaf] = this.leaf(ByteBuffer.wrap(secret, offset, Math.min(this.leafSize, secret.length - offset)));
+    });
+    return this.root(level);
+  }
+
+  /**
+   * See {@link ITreeHashProcessor#hash(Path)}
+   */
+  @Override
+  public @NotNull IHashValue hash(@Nullable Path path) throws DigestNotPresentException, IOException {
+    //Null check
+    Objects.requireNonNull(path);
+    //Fail before any task is submitted.
+    this.hashProcessor.digestLength();
+
+    try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = fileChannel.size();
+      final long leaves = Math.max(1, (size + this.leafSize - 1) / this.leafSize);
+      if (leaves > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("File=%s needs more than %d leaves.".formatted(path, Integer.MAX_VALUE));
+      }
+
+      final byte[][] level = new byte[(int) leaves][];
+      try {
+        IntStream.range(0, level.length).parallel().forEach(leaf -> {
+          final ByteBuffer buffer = this.leafBuffer.get().clear();
+          final long position = (long) leaf * this.leafSize;
+          buffer.limit((int) Math.min(this.leafSize, size - position));
+          try {
+            while (buffer.hasRemaining() && fileChannel.read(buffer, position + buffer.position()) != -1) {
+              //Read until the leaf is complete or the file ends.
+            }
+          } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+          }
+          level[leaf] = this.leaf(buffer.flip());
+        });
+      } catch (final UncheckedIOException exception) {
+        throw exception.getCause();
+      }
+      return this.root(level);
+    }
+  }
+
+  /**
+   * Combines the leaf hashes level by level up to the root.
+   *
+   * @param leaves The hashes of all leaves.
+   * @return The root of the tree.
+   */
+  private @NotNull IHashValue root(final byte @NotNull [][] leaves) {
+    byte[][] level = leaves;
+    while (level.length > 1) {
+      final byte[][] lower = level;
+      final byte[][] upper = new byte[(lower.length + 1) / 2][];
+      final IntStream nodes = IntStream.range(0, upper.length);
+      (upper.length < PARALLEL_LEVEL_SIZE ? nodes : nodes.parallel()).forEach(node -> {
+        final int left = node * 2;
+        upper[node] = left + 1 < lower.length ? this.node(lower[left], lower[left + 1]) : lower[left];
+      });
+      level = upper;
+    }
+    return new ImmutableHashValue(this.algorithm, level[0]);
+  }
+
+  /**
+   * Hashes a single leaf.
+   *
+   * @param leaf The content of the leaf.
+   * @return The hash of the leaf.
+   */
+  private byte @NotNull [] leaf(@NotNull final ByteBuffer leaf) {
+    return this.digest(ByteBuffer.wrap(LEAF_PREFIX), leaf);
+  }
+
+  /**
+   * Hashes an inner node.
+   *
+   * @param left  The hash of the left child.
+   * @param right The hash of the right child.
+   * @return The hash of the node.
+   */
+  private byte @NotNull [] node(final byte @NotNull [] left,
+                                final byte @NotNull [] right) {
+    return this.digest(ByteBuffer.wrap(NODE_PREFIX), ByteBuffer.wrap(left), ByteBuffer.wrap(right));
+  }
+
+  /**
+   * Hashes the given buffers with the underlying processor.
+   *
+   * @param buffers The buffers to be hashed.
+   * @return The digest of the buffers.
+   */
+  private byte @NotNull [] digest(@NotNull final ByteBuffer... buffers) {
+    try {
+      return this.hashProcessor.hash(buffers).digest();
+    } catch (final DigestNotPresentException exception) {
+      //Not possible, the presence is checked before the work is distributed.
+      throw new IllegalStateException(exception);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package dev.dotspace.dayhawk.security.mac;
+
+import dev.dotspace.dayhawk.security.entity.AbstractSecurityManager;
+import dev.dotspace.dayhawk.security.mac.processor.IMacProcessor;
+import dev.dotspace.dayhawk.security.mac.processor.MacProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.Key;
+import java.security.Security;
+import java.util.ArrayList;
+
+
+/**
+ * The {@code AbstractMacManager} class is an abstract implementation of the {@link AbstractSecurityManager}
+ * class for MAC managers in the security framework.
+ *
+ * <p>The list of supported algorithms is initialized with the {@code Mac} algorithms of all installed
+ * security providers.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * // Create a MAC manager instance
+ * AbstractMacManager macManager = new ConcreteMacManager();
+ *
+ * // Obtain a MAC processor for a specific algorithm and key
+ * IMacProcessor macProcessor = macManager.processor("HmacSHA256", key);
+ * }
+ * </pre>
+ *
+ * @see AbstractSecurityManager
+ * @see IMacManager
+ * @see IMacProcessor
+ */
+public abstract class AbstractMacManager extends AbstractSecurityManager<IMacProcessor> implements IMacManager {
+
+  /**
+   * Constructs an {@code AbstractMacManager} with the list of supported MAC algorithms.
+   */
+  protected AbstractMacManager() {
+    super(new ArrayList<>(Security.getAlgorithms("Mac")));
+  }
+
+  /**
+   * Creates and returns a MAC processor for the specified algorithm with a newly generated key.
+   *
+   * @param algorithm The MAC algorithm for which a processor is to be created.
+   * @return An {@code IMacProcessor} instance for the specified algorithm.
+   */
+  @Override
+  public @NotNull IMacProcessor processor(@Nullable String algorithm) {
+    return new MacProcessor(algorithm);
+  }
+
+  /**
+   * Creates and returns a MAC processor for the specified algorithm and key.
+   *
+   * @param algorithm The MAC algorithm for which a processor is to be created.
+   * @param key       The key of the processor.
+   * @return An {@code IMacProcessor} instance for the specified algorithm and key.
+   */
+  @Override
+  public @NotNull IMacProcessor processor(@Nullable String algorithm,
+                                          @Nullable Key key) {
+    return new MacProcessor(algorithm, key);
+  }
+}
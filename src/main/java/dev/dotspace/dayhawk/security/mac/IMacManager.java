@@ -0,0 +1,43 @@
+package dev.dotspace.dayhawk.security.mac;
+
+import dev.dotspace.dayhawk.security.entity.ISecurityManager;
+import dev.dotspace.dayhawk.security.mac.processor.IMacProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.Key;
+
+
+/**
+ * The {@code IMacManager} interface extends the {@link ISecurityManager} interface
+ * with specialized functionalities related to message authentication codes. It specifically deals
+ * with the management of {@link IMacProcessor} instances.
+ *
+ * <p>A MAC processor is bound to a single key. The inherited {@link #processor(String)} generates a new random
+ * key for the processor, {@link #processor(String, Key)} binds the processor to an existing key.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IMacManager macManager = MacManager.instance();
+ *
+ * // Obtain a processor for a signing key
+ * IMacProcessor macProcessor = macManager.processor("HmacSHA256", signingKey);
+ * }
+ * </pre>
+ *
+ * @author Day-Hawk
+ * @see ISecurityManager
+ * @see IMacProcessor
+ */
+public interface IMacManager extends ISecurityManager<IMacProcessor> {
+  /**
+   * Retrieves a MAC processor for the specified algorithm, bound to the given key.
+   *
+   * @param algorithm The name of the MAC algorithm.
+   * @param key       The key of the processor.
+   * @return An {@link IMacProcessor} for the specified algorithm and key.
+   */
+  @NotNull IMacProcessor processor(@Nullable final String algorithm,
+                                   @Nullable final Key key);
+}
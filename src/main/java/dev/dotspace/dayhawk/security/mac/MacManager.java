@@ -0,0 +1,40 @@
+package dev.dotspace.dayhawk.security.mac;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * The {@code MacManager} class is a concrete implementation of the {@link AbstractMacManager}
+ * class for MAC managers in the security framework.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * // Access the singleton instance of the MAC manager
+ * IMacManager macManager = MacManager.instance();
+ *
+ * // Obtain a MAC processor for a specific algorithm and key
+ * IMacProcessor macProcessor = macManager.processor("HmacSHA256", key);
+ * }
+ * </pre>
+ *
+ * <p>The {@code MacManager} class follows the singleton pattern and provides a static instance of the
+ * {@code IMacManager} interface for obtaining MAC processors.</p>
+ *
+ * @see AbstractMacManager
+ * @see IMacManager
+ */
+@NoArgsConstructor(access=AccessLevel.PRIVATE)
+public final class MacManager extends AbstractMacManager {
+
+  /**
+   * The singleton instance of the {@code IMacManager}.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final static @NotNull IMacManager instance = new MacManager();
+}
@@ -0,0 +1,85 @@
+package dev.dotspace.dayhawk.security.mac.exception;
+
+import dev.dotspace.dayhawk.security.exception.AbstractSecurityException;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * The {@code AbstractMacException} class is an abstract implementation of the {@link AbstractSecurityException}
+ * class, providing a base class for exceptions related to message authentication operations.
+ *
+ * <p>This class extends {@code AbstractSecurityException} and includes constructors for creating instances
+ * with various levels of detail, such as a message, cause, and suppression flags.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * // Create a custom MAC exception
+ * AbstractMacException macException = // ...
+ *
+ * // Access exception details
+ * String message = macException.getMessage();
+ * Throwable cause = macException.getCause();
+ * }
+ * </pre>
+ *
+ * <p>The {@code AbstractMacException} class is intended to be extended by specific MAC-related exceptions,
+ * providing a common base class for exception handling in message authentication operations.</p>
+ *
+ * @see AbstractSecurityException
+ */
+public abstract class AbstractMacException extends AbstractSecurityException {
+
+  /**
+   * Constructs an {@code AbstractMacException} with no detail message.
+   */
+  public AbstractMacException() {
+  }
+
+  /**
+   * Constructs an {@code AbstractMacException} with the specified detail message.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   */
+  public AbstractMacException(@Nullable String message) {
+    super(message);
+  }
+
+  /**
+   * Constructs an {@code AbstractMacException} with the specified detail message and cause.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   * @param cause   The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public AbstractMacException(@Nullable String message, @Nullable Throwable cause) {
+    super(message, cause);
+  }
+
+  /**
+   * Constructs an {@code AbstractMacException} with the specified cause and a detail message of
+   * (cause==null ? null : cause.toString()) (which typically contains the class and detail message
+   * of cause).
+   *
+   * @param cause The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public AbstractMacException(@Nullable Throwable cause) {
+    super(cause);
+  }
+
+  /**
+   * Constructs an {@code AbstractMacException} with the specified detail message, cause,
+   * suppression enabled or disabled, and writable stack trace enabled or disabled.
+   *
+   * @param message            The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   * @param cause              The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   * @param enableSuppression  Whether or not suppression is enabled or disabled.
+   * @param writableStackTrace Whether or not the stack trace should be writable.
+   */
+  public AbstractMacException(@Nullable String message,
+                               @Nullable Throwable cause,
+                               boolean enableSuppression,
+                               boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
+
@@ -0,0 +1,83 @@
+package dev.dotspace.dayhawk.security.mac.exception;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The {@code MacNotPresentException} class is a specific implementation of the {@link AbstractMacException}
+ * class, representing an exception indicating that a MAC algorithm is not present.
+ *
+ * <p>This class extends {@code AbstractMacException} and includes constructors for creating instances
+ * with various levels of detail, such as a message, cause, and suppression flags.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * // Create a MAC not present exception
+ * MacNotPresentException macException = // ...
+ *
+ * // Access exception details
+ * String message = macException.getMessage();
+ * Throwable cause = macException.getCause();
+ * }
+ * </pre>
+ *
+ * <p>The {@code MacNotPresentException} class is intended to be thrown when a MAC algorithm is expected
+ * but not found by any security provider.</p>
+ *
+ * @see AbstractMacException
+ */
+public final class MacNotPresentException extends AbstractMacException {
+
+  /**
+   * Constructs a {@code MacNotPresentException} with no detail message.
+   */
+  public MacNotPresentException() {
+  }
+
+  /**
+   * Constructs a {@code MacNotPresentException} with the specified detail message.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   */
+  public MacNotPresentException(@Nullable String message) {
+    super(message);
+  }
+
+  /**
+   * Constructs a {@code MacNotPresentException} with the specified detail message and cause.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   * @param cause   The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public MacNotPresentException(@Nullable String message, @Nullable Throwable cause) {
+    super(message, cause);
+  }
+
+  /**
+   * Constructs a {@code MacNotPresentException} with the specified cause and a detail message of
+   * (cause==null ? null : cause.toString()) (which typically contains the class and detail message
+   * of cause).
+   *
+   * @param cause The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public MacNotPresentException(@Nullable Throwable cause) {
+    super(cause);
+  }
+
+  /**
+   * Constructs a {@code MacNotPresentException} with the specified detail message, cause,
+   * suppression enabled or disabled, and writable stack trace enabled or disabled.
+   *
+   * @param message            The detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+   * @param cause              The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   * @param enableSuppression  Whether or not suppression is enabled or disabled.
+   * @param writableStackTrace Whether or not the stack trace should be writable.
+   */
+  public MacNotPresentException(@Nullable String message,
+                                   @Nullable Throwable cause,
+                                   boolean enableSuppression,
+                                   boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
+
@@ -0,0 +1,226 @@
+package dev.dotspace.dayhawk.security.mac.processor;
+
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import dev.dotspace.dayhawk.security.mac.exception.MacNotPresentException;
+import dev.dotspace.dayhawk.security.pool.InstancePool;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Objects;
+
+
+/**
+ * The {@code AbstractMacProcessor} class is an abstract implementation of the {@link IMacProcessor} interface.
+ *
+ * <p>The {@link Mac} is created and initialized with the key once, when the processor is constructed. Calls borrow
+ * a copy of this prototype from an {@link InstancePool}, the copies keep the computed key schedule and are reset
+ * by {@link Mac#doFinal()} before they are returned to the pool.</p>
+ *
+ * @see IMacProcessor
+ */
+public abstract class AbstractMacProcessor implements IMacProcessor {
+  /**
+   * Length of keys generated for algorithms without a {@link KeyGenerator}.
+   */
+  private static final int FALLBACK_KEY_LENGTH = 32;
+
+  /**
+   * The name of the MAC algorithm.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull String algorithm;
+  /**
+   * The key of this processor.
+   */
+  @Getter
+  @Accessors(fluent=true)
+  private final @NotNull Key key;
+  /**
+   * Initialized prototype, only used to create pooled instances. {@code null} if the initialization failed.
+   */
+  private final @Nullable Mac prototype;
+  /**
+   * The cause of a failed initialization.
+   */
+  private final @Nullable Exception failure;
+  /**
+   * Idle initialized instances.
+   */
+  private final @NotNull InstancePool<Mac> pool = new InstancePool<>();
+
+  /**
+   * Constructs an {@code AbstractMacProcessor} for the specified algorithm with a newly generated key.
+   *
+   * <p>The key is created by the {@link KeyGenerator} of the algorithm. If there is none, 32
+   * random bytes are used.</p>
+   *
+   * @param algorithm The name of the MAC algorithm. Must not be {@code null}.
+   * @throws NullPointerException If the provided algorithm is {@code null}.
+   */
+  protected AbstractMacProcessor(@Nullable final String algorithm) {
+    this(algorithm, generateKey(algorithm));
+  }
+
+  /**
+   * Constructs an {@code AbstractMacProcessor} for the specified algorithm and key.
+   *
+   * @param algorithm The name of the MAC algorithm. Must not be {@code null}.
+   * @param key       The key of the processor. Must not be {@code null}.
+   * @throws NullPointerException If the provided algorithm or key is {@code null}.
+   */
+  protected AbstractMacProcessor(@Nullable final String algorithm,
+                                 @Nullable final Key key) {
+    //Null check
+    Objects.requireNonNull(algorithm);
+    Objects.requireNonNull(key);
+
+    this.algorithm = algorithm;
+    this.key = key;
+
+    Mac prototype;
+    Exception failure;
+    try {
+      prototype = Mac.getInstance(algorithm);
+      prototype.init(key);
+      failure = null;
+    } catch (final NoSuchAlgorithmException | InvalidKeyException exception) {
+      prototype = null;
+      failure = exception;
+      //Later error handling.
+    }
+    this.prototype = prototype;
+    this.failure = failure;
+  }
+
+  /**
+   * See {@link IMacProcessor#mac(byte[])}
+   */
+  @Override
+  public @NotNull IHashValue mac(byte @Nullable [] data) throws MacNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(data);
+
+    final Mac mac = this.acquire();
+    final byte[] tag = mac.doFinal(data);
+    this.pool.release(mac);
+    return new ImmutableHashValue(this.algorithm, tag);
+  }
+
+  /**
+   * See {@link IMacProcessor#mac(ByteBuffer)}
+   */
+  @Override
+  public @NotNull IHashValue mac(@Nullable ByteBuffer buffer) throws MacNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(buffer);
+
+    final Mac mac = this.acquire();
+    mac.update(buffer.duplicate());
+    final byte[] tag = mac.doFinal();
+    this.pool.release(mac);
+    return new ImmutableHashValue(this.algorithm, tag);
+  }
+
+  /**
+   * See {@link IMacProcessor#verify(byte[], byte[])}
+   */
+  @Override
+  public boolean verify(byte @Nullable [] data,
+                        byte @Nullable [] tag) throws MacNotPresentException, IllegalKeyException {
+    //Null check
+    Objects.requireNonNull(tag);
+
+    return MessageDigest.isEqual(this.mac(data).digest(), tag);
+  }
+
+  /**
+   * See {@link IMacProcessor#macLength()}
+   */
+  @Override
+  public int macLength() throws MacNotPresentException, IllegalKeyException {
+    final Mac mac = this.acquire();
+    final int length = mac.getMacLength();
+    this.pool.release(mac);
+    return length;
+  }
+
+  /**
+   * Borrows an initialized instance from the pool, or copies the prototype if the pool is empty.
+   *
+   * @return An initialized instance, owned by the caller until it is released.
+   * @throws MacNotPresentException If the algorithm of this processor is not present.
+   * @throws IllegalKeyException    If the key can not be used with the algorithm.
+   */
+  private @NotNull Mac acquire() throws MacNotPresentException, IllegalKeyException {
+    if (this.prototype == null) {
+      if (this.failure instanceof InvalidKeyException) {
+        throw new IllegalKeyException(this.failure);
+      }
+      throw new MacNotPresentException("Mac algorithm=%s is not present.".formatted(this.algorithm), this.failure);
+    }
+
+    final Mac mac = this.pool.acquire();
+    return mac != null ? mac : this.copyPrototype(this.prototype);
+  }
+
+  /**
+   * Creates a new initialized instance. Cloning keeps the key schedule of the prototype, providers without
+   * clone support fall back to a new instance, which is initialized again.
+   *
+   * @param prototype The initialized prototype.
+   * @return A new, independent instance.
+   * @throws IllegalKeyException If the key can not be used with the algorithm.
+   */
+  private @NotNull Mac copyPrototype(@NotNull final Mac prototype) throws IllegalKeyException {
+    try {
+      return (Mac) prototype.clone();
+    } catch (final CloneNotSupportedException cloneException) {
+      try {
+        final Mac mac = Mac.getInstance(prototype.getAlgorithm(), prototype.getProvider());
+        mac.init(this.key);
+        return mac;
+      } catch (final NoSuchAlgorithmException exception) {
+        //Not possible, the provider already served this algorithm.
+        throw new IllegalStateException(exception);
+      } catch (final InvalidKeyException exception) {
+        throw new IllegalKeyException(exception);
+      }
+    }
+  }
+
+  //static
+
+  /**
+   * Generates a new key for the given algorithm.
+   *
+   * @param algorithm The name of the MAC algorithm.
+   * @return The generated key.
+   * @throws NullPointerException If the provided algorithm is {@code null}.
+   */
+  private static @NotNull Key generateKey(@Nullable final String algorithm) {
+    //Null check
+    Objects.requireNonNull(algorithm);
+
+    try {
+      return KeyGenerator.getInstance(algorithm).generateKey();
+    } catch (final NoSuchAlgorithmException exception) {
+      final byte[] key = new byte[FALLBACK_KEY_LENGTH];
+      new SecureRandom().nextBytes(key);
+      return new SecretKeySpec(key, algorithm);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package dev.dotspace.dayhawk.security.mac.processor;
+
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.entity.AlgorithmObject;
+import dev.dotspace.dayhawk.security.entity.ISecurityProcessor;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.mac.exception.MacNotPresentException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.security.Key;
+
+
+/**
+ * The {@code IMacProcessor} interface defines a contract for processors generating message authentication
+ * codes with a fixed key.
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * IMacProcessor macProcessor = MacManager.instance().processor("HmacSHA256", signingKey);
+ *
+ * try {
+ *     // Sign a request
+ *     IHashValue tag = macProcessor.mac(requestBytes);
+ *
+ *     // Verify a received tag
+ *     boolean valid = macProcessor.verify(requestBytes, receivedTag);
+ * } catch (MacNotPresentException | IllegalKeyException e) {
+ *     // Handle missing algorithm or unusable key
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Processors are thread safe. The key schedule is computed once per processor, a single instance should be
+ * shared for all messages of a key.</p>
+ *
+ * @see ISecurityProcessor
+ * @see IHashValue
+ * @see MacNotPresentException
+ */
+public interface IMacProcessor extends ISecurityProcessor, AlgorithmObject {
+  /**
+   * Returns the key this processor is bound to.
+   *
+   * @return The key of the processor.
+   */
+  @NotNull Key key();
+
+  /**
+   * Generates the authentication code of the given data.
+   *
+   * @param data The data to be authenticated.
+   * @return An {@code IHashValue} holding the authentication code.
+   * @throws MacNotPresentException If the algorithm of this processor is not present.
+   * @throws IllegalKeyException    If the key can not be used with the algorithm.
+   */
+  @NotNull IHashValue mac(final byte @Nullable [] data) throws MacNotPresentException, IllegalKeyException;
+
+  /**
+   * Generates the authentication code of the remaining bytes of the given buffer. The buffer is read in place,
+   * its position and limit are not changed.
+   *
+   * @param buffer The buffer to be authenticated.
+   * @return An {@code IHashValue} holding the authentication code.
+   * @throws MacNotPresentException If the algorithm of this processor is not present.
+   * @throws IllegalKeyException    If the key can not be used with the algorithm.
+   */
+  @NotNull IHashValue mac(@Nullable final ByteBuffer buffer) throws MacNotPresentException, IllegalKeyException;
+
+  /**
+   * Checks if the given tag is the authentication code of the data. The comparison takes constant time.
+   *
+   * @param data The data to be verified.
+   * @param tag  The expected authentication code.
+   * @return {@code true} if the tag matches the data.
+   * @throws MacNotPresentException If the algorithm of this processor is not present.
+   * @throws IllegalKeyException    If the key can not be used with the algorithm.
+   */
+  boolean verify(final byte @Nullable [] data,
+                 final byte @Nullable [] tag) throws MacNotPresentException, IllegalKeyException;
+
+  /**
+   * Returns the length of the authentication codes generated by this processor in bytes.
+   *
+   * @return The length in bytes.
+   * @throws MacNotPresentException If the algorithm of this processor is not present.
+   * @throws IllegalKeyException    If the key can not be used with the algorithm.
+   */
+  int macLength() throws MacNotPresentException, IllegalKeyException;
+}
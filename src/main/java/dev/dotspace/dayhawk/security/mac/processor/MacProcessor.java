@@ -0,0 +1,33 @@
+package dev.dotspace.dayhawk.security.mac.processor;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.security.Key;
+
+
+/**
+ * See {@link IMacProcessor}
+ */
+public final class MacProcessor extends AbstractMacProcessor {
+  /**
+   * Constructs a new {@code MacProcessor} for the specified algorithm with a newly generated key.
+   *
+   * @param algorithm The name of the MAC algorithm. Must not be {@code null}.
+   * @throws NullPointerException If the provided algorithm is {@code null}.
+   */
+  public MacProcessor(@Nullable String algorithm) {
+    super(algorithm);
+  }
+
+  /**
+   * Constructs a new {@code MacProcessor} for the specified algorithm and key.
+   *
+   * @param algorithm The name of the MAC algorithm. Must not be {@code null}.
+   * @param key       The key of the processor. Must not be {@code null}.
+   * @throws NullPointerException If the provided algorithm or key is {@code null}.
+   */
+  public MacProcessor(@Nullable String algorithm,
+                      @Nullable Key key) {
+    super(algorithm, key);
+  }
+}
@@ -0,0 +1,132 @@
+package dev.dotspace.dayhawk.security.pool;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+
+/**
+ * The {@code InstancePool} class is a bounded, lock-free pool of reusable instances, such as initialized
+ * {@link javax.crypto.Mac} or {@link javax.crypto.Cipher} objects.
+ *
+ * <p>Instances are kept in a fixed number of slots, which are claimed and filled with compare-and-set operations.
+ * Every thread starts probing at its own slot, so threads rarely compete for the same slot. Neither
+ * {@link #acquire()} nor {@link #release(Object)} allocates memory.</p>
+ *
+ * <p>Usage Example:</p>
+ * <pre>
+ * {@code
+ * InstancePool<Mac> pool = new InstancePool<>(8);
+ *
+ * Mac mac = pool.acquire();
+ * if (mac == null) {
+ *     mac = // Create a new instance
+ * }
+ * try {
+ *     // Use the instance exclusively
+ * } finally {
+ *     pool.release(mac);
+ * }
+ * }
+ * </pre>
+ *
+ * @param <TYPE> The type of the pooled instances.
+ * @author Day-Hawk
+ */
+public final class InstancePool<TYPE> {
+  /**
+   * Default number of slots, twice the number of available processors.
+   */
+  public static final int DEFAULT_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+  /**
+   * The slots holding idle instances, {@code null} marks a free slot.
+   */
+  private final @NotNull AtomicReferenceArray<TYPE> slots;
+
+  /**
+   * Constructs an {@code InstancePool} with {@link #DEFAULT_CAPACITY} slots.
+   */
+  public InstancePool() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an {@code InstancePool} with the given number of slots.
+   *
+   * @param capacity The maximum number of idle instances kept by the pool.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  public InstancePool(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity=%d must be positive.".formatted(capacity));
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Takes an idle instance out of the pool. The caller owns the instance until it is released again.
+   *
+   * @return An idle instance or {@code null} if the pool is empty.
+   */
+  public @Nullable TYPE acquire() {
+    final int length = this.slots.length();
+    final int start = this.probe();
+    for (int i = 0; i < length; i++) {
+      final int index = (start + i) % length;
+      final TYPE instance = this.slots.get(index);
+      if (instance != null && this.slots.compareAndSet(index, instance, null)) {
+        return instance;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns an instance to the pool. The caller must not use the instance afterwards.
+   *
+   * @param instance The instance to be kept for reuse.
+   * @return {@code true} if the instance was added, {@code false} if the pool is full and the instance was dropped.
+   * @throws NullPointerException If the instance is {@code null}.
+   */
+  public boolean release(@Nullable final TYPE instance) {
+    //Null check
+    Objects.requireNonNull(instance);
+
+    final int length = this.slots.length();
+    final int start = this.probe();
+    for (int i = 0; i < length; i++) {
+      final int index = (start + i) % length;
+      if (this.slots.get(index) == null && this.slots.compareAndSet(index, null, instance)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes all idle instances from the pool.
+   *
+   * @param consumer Receives every removed instance, for example to wipe its state.
+   */
+  public void clear(@NotNull final Consumer<TYPE> consumer) {
+    for (int index = 0; index < this.slots.length(); index++) {
+      final TYPE instance = this.slots.getAndSet(index, null);
+      if (instance != null) {
+        consumer.accept(instance);
+      }
+    }
+  }
+
+  /**
+   * Returns the first slot probed by the current thread.
+   *
+   * @return The index of the slot.
+   */
+  private int probe() {
+    return (int) (Thread.currentThread().getId() % this.slots.length());
+  }
+}
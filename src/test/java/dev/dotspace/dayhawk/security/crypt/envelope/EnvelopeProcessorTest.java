@@ -0,0 +1,163 @@
+package dev.dotspace.dayhawk.security.crypt.envelope;
+
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import dev.dotspace.dayhawk.security.crypt.processor.CryptProcessor;
+import dev.dotspace.dayhawk.security.crypt.processor.ICryptProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public final class EnvelopeProcessorTest {
+
+  @Test
+  @DisplayName("Test EnvelopeProcessor")
+  public void testProcessor() throws Exception {
+    final AtomicInteger unwraps = new AtomicInteger();
+    final IEnvelopeProcessor processor =
+        new EnvelopeProcessor(countingProcessor("AESWrap", unwraps), key(1));
+
+    //Positive
+    Assertions.assertEquals("AES/GCM/ENVELOPE", processor.algorithm());
+    for (final int size : new int[]{0, 1, 100, 70_000}) {
+      final byte[] data = data(size);
+      Assertions.assertArrayEquals(data, processor.decrypt(processor.encrypt(data).data()).data());
+    }
+    final byte[] data = data(1000);
+    final byte[] encrypted = processor.encrypt(data).data();
+    //Every envelope has its own data key.
+    Assertions.assertFalse(Arrays.equals(encrypted, processor.encrypt(data).data()));
+    //The data key is unwrapped once, then read from the cache.
+    unwraps.set(0);
+    for (int round = 0; round < 5; round++) {
+      Assertions.assertArrayEquals(data, processor.decrypt(encrypted).data());
+    }
+    Assertions.assertEquals(1, unwraps.get());
+
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+    final IEnvelopeProcessor rsaProcessor = new EnvelopeProcessor(
+        new CryptProcessor("RSA/ECB/OAEPWithSHA-256AndMGF1Padding"), keyPair.getPublic(), keyPair.getPrivate(),
+        16, Duration.ofMinutes(1));
+    Assertions.assertArrayEquals(data, rsaProcessor.decrypt(rsaProcessor.encrypt(data).data()).data());
+
+    //Negative
+    final byte[] tamperedData = encrypted.clone();
+    tamperedData[tamperedData.length - 1] ^= 1;
+    Assertions.assertThrows(PaddingException.class, () -> processor.decrypt(tamperedData));
+    final byte[] tamperedKey = encrypted.clone();
+    tamperedKey[EnvelopeFormat.HEADER_LENGTH] ^= 1;
+    Assertions.assertThrows(IllegalKeyException.class, () -> processor.decrypt(tamperedKey));
+    final byte[] tamperedVersion = encrypted.clone();
+    tamperedVersion[0] = 2;
+    Assertions.assertThrows(PaddingException.class, () -> processor.decrypt(tamperedVersion));
+    Assertions.assertThrows(IllegalBlockException.class, () -> processor.decrypt(Arrays.copyOf(encrypted, 20)));
+    Assertions.assertThrows(IllegalBlockException.class, () -> processor.decrypt(new byte[2]));
+    Assertions.assertThrows(IllegalKeyException.class,
+        () -> new EnvelopeProcessor(new CryptProcessor("AESWrap"), key(2)).decrypt(encrypted));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new EnvelopeProcessor(new CryptProcessor("AESWrap"), key(1), key(1), 0, Duration.ofMinutes(1)));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new EnvelopeProcessor(new CryptProcessor("AESWrap"), key(1), key(1), 1, Duration.ZERO));
+  }
+
+  @Test
+  @DisplayName("Test data key eviction")
+  public void testEviction() throws Exception {
+    final AtomicInteger unwraps = new AtomicInteger();
+    final IEnvelopeProcessor processor = new EnvelopeProcessor(countingProcessor("AESWrap", unwraps), key(1),
+        key(1), 2, Duration.ofMinutes(1));
+    final byte[][] encrypted = new byte[3][];
+    for (int index = 0; index < encrypted.length; index++) {
+      encrypted[index] = processor.encrypt(data(index + 10)).data();
+    }
+
+    //Positive
+    for (final byte[] envelope : encrypted) {
+      processor.decrypt(envelope);
+    }
+    Assertions.assertEquals(2, processor.cachedKeys());
+    Assertions.assertEquals(3, unwraps.get());
+    //The least recently used key was evicted, the two others are cached.
+    processor.decrypt(encrypted[1]);
+    processor.decrypt(encrypted[2]);
+    Assertions.assertEquals(3, unwraps.get());
+    processor.decrypt(encrypted[0]);
+    Assertions.assertEquals(4, unwraps.get());
+
+    processor.invalidateAll();
+    Assertions.assertEquals(0, processor.cachedKeys());
+    Assertions.assertArrayEquals(data(10), processor.decrypt(encrypted[0]).data());
+    Assertions.assertEquals(5, unwraps.get());
+
+    final IEnvelopeProcessor expiringProcessor = new EnvelopeProcessor(countingProcessor("AESWrap", unwraps),
+        key(1), key(1), 2, Duration.ofMillis(1));
+    unwraps.set(0);
+    expiringProcessor.decrypt(encrypted[0]);
+    Thread.sleep(20);
+    expiringProcessor.decrypt(encrypted[0]);
+    Assertions.assertEquals(2, unwraps.get());
+
+    //Negative
+    final DataKey dataKey = new DataKey(new byte[]{1, 2, 3}, "AES");
+    dataKey.destroy();
+    Assertions.assertTrue(dataKey.isDestroyed());
+    Assertions.assertThrows(IllegalStateException.class, dataKey::getEncoded);
+    final SecretKey formatKey = EnvelopeFormat.dataKey();
+    final byte[] envelope = EnvelopeFormat.seal(new byte[0], formatKey, data(10));
+    Assertions.assertArrayEquals(data(10), EnvelopeFormat.open(formatKey, envelope));
+    EnvelopeFormat.destroy(formatKey);
+    Assertions.assertThrows(IllegalStateException.class, () -> EnvelopeFormat.open(formatKey, envelope));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> EnvelopeFormat.destroy(key(1)));
+    Assertions.assertThrows(NotSerializableException.class,
+        () -> new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(EnvelopeFormat.dataKey()));
+  }
+
+  /**
+   * Returns a processor counting the unwrapped keys.
+   */
+  private static ICryptProcessor countingProcessor(final String algorithm,
+                                                   final AtomicInteger unwraps) {
+    final ICryptProcessor cryptProcessor = new CryptProcessor(algorithm);
+    return (ICryptProcessor) Proxy.newProxyInstance(ICryptProcessor.class.getClassLoader(),
+        new Class<?>[]{ICryptProcessor.class}, (proxy, method, arguments) -> {
+          if (method.getName().equals("unwrap")) {
+            unwraps.incrementAndGet();
+          }
+          try {
+            return method.invoke(cryptProcessor, arguments);
+          } catch (final InvocationTargetException exception) {
+            throw exception.getCause();
+          }
+        });
+  }
+
+  private static SecretKey key(final int seed) {
+    final byte[] key = new byte[32];
+    new Random(seed).nextBytes(key);
+    return new SecretKeySpec(key, "AES");
+  }
+
+  private static byte[] data(final int size) {
+    final byte[] data = new byte[size];
+    new Random(size).nextBytes(data);
+    return data;
+  }
+}
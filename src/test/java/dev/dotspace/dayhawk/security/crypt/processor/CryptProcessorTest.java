@@ -0,0 +1,400 @@
+package dev.dotspace.dayhawk.security.crypt.processor;
+
+import dev.dotspace.dayhawk.security.crypt.entity.ICryptValue;
+import dev.dotspace.dayhawk.security.crypt.exception.AlgorithmNotPresentException;
+import dev.dotspace.dayhawk.security.crypt.exception.BufferSizeException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalBlockException;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import dev.dotspace.dayhawk.security.crypt.mode.CipherMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+
+public final class CryptProcessorTest {
+
+  @Test
+  @DisplayName("Test pooled ciphers")
+  public void testPooledCiphers() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AES/ECB/PKCS5Padding");
+    final SecretKey key = key();
+
+    //Positive
+    for (int index = 0; index < 3; index++) {
+      final byte[] data = ("message-" + index).getBytes();
+      Assertions.assertArrayEquals(data, processor.decrypt(key, processor.encrypt(key, data).data()).data());
+    }
+    final byte[] data = "concurrent".getBytes();
+    final byte[] expected = processor.encrypt(key, data).data();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int index = 0; index < 8; index++) {
+      futures.add(CompletableFuture.runAsync(() -> {
+        try {
+          for (int round = 0; round < 200; round++) {
+            Assertions.assertArrayEquals(expected, processor.encrypt(key, data).data());
+            Assertions.assertArrayEquals(data, processor.decrypt(key, expected).data());
+          }
+        } catch (final Exception exception) {
+          throw new IllegalStateException(exception);
+        }
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+    //More keys than pools, a key per message evicts pools while the first key stays usable.
+    for (int index = 0; index < AbstractCryptProcessor.MAX_POOLED_KEYS * 3; index++) {
+      final SecretKey messageKey = new SecretKeySpec(key.getEncoded(), "AES");
+      Assertions.assertArrayEquals(expected, processor.encrypt(messageKey, data).data());
+      Assertions.assertArrayEquals(data, processor.decrypt(key, expected).data());
+    }
+
+    //Negative
+    Assertions.assertThrows(IllegalBlockException.class,
+        () -> processor.decrypt(key, Arrays.copyOf(expected, expected.length - 1)));
+    //A failed operation must not leave a broken cipher in the pool.
+    Assertions.assertArrayEquals(data, processor.decrypt(key, expected).data());
+    Assertions.assertThrows(NullPointerException.class, () -> processor.encrypt(key, null));
+  }
+
+  @Test
+  @DisplayName("Test pooled ciphers with IV")
+  public void testPooledCiphersWithIv() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AES/GCM/NoPadding");
+    final SecretKey key = key();
+    final byte[] data = "nonce".getBytes();
+    final GCMParameterSpec parameterSpec = new GCMParameterSpec(128, new byte[12]);
+
+    //Positive
+    //Every call with a plain key initializes the pooled cipher again, with a fresh IV.
+    Assertions.assertFalse(Arrays.equals(processor.encrypt(key, data).data(), processor.encrypt(key, data).data()));
+    final byte[] cipherText = processor.encrypt(key, parameterSpec, data).data();
+    Assertions.assertArrayEquals(data, processor.decrypt(key, parameterSpec, cipherText).data());
+    Assertions.assertArrayEquals(data, processor.decrypt(key, parameterSpec, cipherText).data());
+
+    //Negative
+    //The pooled cipher remembers the IV of its last encryption.
+    Assertions.assertThrows(IllegalKeyException.class, () -> processor.encrypt(key, parameterSpec, data));
+    final byte[] freshIv = new byte[12];
+    freshIv[11] = 1;
+    Assertions.assertNotNull(processor.encrypt(key, new GCMParameterSpec(128, freshIv), data));
+    //Parameters no cipher accepts are still a wrong configuration.
+    Assertions.assertThrows(AlgorithmNotPresentException.class,
+        () -> processor.encrypt(key, new IvParameterSpec(new byte[12]), data));
+    cipherText[0] ^= 1;
+    Assertions.assertThrows(PaddingException.class, () -> processor.decrypt(key, parameterSpec, cipherText));
+  }
+
+  @Test
+  @DisplayName("Test streaming encryption")
+  public void testStreaming() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AES/CBC/PKCS5Padding");
+    final SecretKey key = key();
+    final IvParameterSpec parameterSpec = new IvParameterSpec(new byte[16]);
+    //Not a multiple of the block buffer or the block size.
+    final byte[] data = new byte[AbstractCryptProcessor.BUFFER_SIZE * 3 + 1234];
+    new Random(3).nextBytes(data);
+    final byte[] expected = processor.encrypt(key, parameterSpec, data).data();
+
+    //Positive
+    final ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+    Assertions.assertEquals(expected.length,
+        processor.encrypt(key, parameterSpec, new ByteArrayInputStream(data), encrypted));
+    Assertions.assertArrayEquals(expected, encrypted.toByteArray());
+
+    final ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+    Assertions.assertEquals(data.length, processor.decrypt(key, parameterSpec,
+        Channels.newChannel(new ByteArrayInputStream(expected)), Channels.newChannel(decrypted)));
+    Assertions.assertArrayEquals(data, decrypted.toByteArray());
+
+    final ICryptProcessor gcmProcessor = new CryptProcessor("AES/GCM/NoPadding");
+    final ByteArrayOutputStream gcmEncrypted = new ByteArrayOutputStream();
+    gcmProcessor.encrypt(key, new GCMParameterSpec(128, new byte[12]), new ByteArrayInputStream(data), gcmEncrypted);
+    final ByteArrayOutputStream gcmDecrypted = new ByteArrayOutputStream();
+    gcmProcessor.decrypt(key, new GCMParameterSpec(128, new byte[12]),
+        new ByteArrayInputStream(gcmEncrypted.toByteArray()), gcmDecrypted);
+    Assertions.assertArrayEquals(data, gcmDecrypted.toByteArray());
+
+    final ICryptProcessor ecbProcessor = new CryptProcessor("AES/ECB/PKCS5Padding");
+    final ByteArrayOutputStream ecbEncrypted = new ByteArrayOutputStream();
+    ecbProcessor.encrypt(key, new ByteArrayInputStream(new byte[0]), ecbEncrypted);
+    Assertions.assertEquals(16, ecbEncrypted.size());
+
+    //Negative
+    final byte[] truncated = Arrays.copyOf(expected, expected.length - 1);
+    Assertions.assertThrows(IllegalBlockException.class, () -> processor.decrypt(key, parameterSpec,
+        new ByteArrayInputStream(truncated), new ByteArrayOutputStream()));
+    final byte[] tampered = gcmEncrypted.toByteArray();
+    tampered[tampered.length / 2] ^= 1;
+    Assertions.assertThrows(PaddingException.class, () -> gcmProcessor.decrypt(key,
+        new GCMParameterSpec(128, new byte[12]), new ByteArrayInputStream(tampered), new ByteArrayOutputStream()));
+    Assertions.assertThrows(NullPointerException.class,
+        () -> processor.encrypt(key, (InputStream) null, new ByteArrayOutputStream()));
+  }
+
+  @Test
+  @DisplayName("Test buffer encryption")
+  public void testBuffers() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AES/GCM/NoPadding");
+    final SecretKey key = key();
+    final byte[] data = new byte[1500];
+    new Random(5).nextBytes(data);
+    final ByteBuffer input = ByteBuffer.allocateDirect(data.length).put(data).flip();
+
+    //Positive
+    final int size = processor.outputSize(CipherMode.ENCRYPT, key, data.length);
+    Assertions.assertEquals(data.length + 16, size);
+    final ByteBuffer encrypted = ByteBuffer.allocateDirect(size);
+    final GCMParameterSpec parameterSpec = new GCMParameterSpec(128, new byte[12]);
+    Assertions.assertEquals(size, processor.outputSize(CipherMode.ENCRYPT, key, parameterSpec, data.length));
+    Assertions.assertEquals(size, processor.encrypt(key, parameterSpec, input, encrypted));
+    Assertions.assertFalse(input.hasRemaining());
+    Assertions.assertFalse(encrypted.hasRemaining());
+
+    encrypted.flip();
+    final ByteBuffer decrypted = ByteBuffer.allocateDirect(
+        processor.outputSize(CipherMode.DECRYPT, key, parameterSpec, encrypted.remaining()));
+    Assertions.assertEquals(data.length, processor.decrypt(key, parameterSpec, encrypted, decrypted));
+    final byte[] result = new byte[data.length];
+    decrypted.flip().get(result);
+    Assertions.assertArrayEquals(data, result);
+
+    final ICryptProcessor ecbProcessor = new CryptProcessor("AES/ECB/PKCS5Padding");
+    final ByteBuffer ecbEncrypted = ByteBuffer.allocate(ecbProcessor.outputSize(CipherMode.ENCRYPT, key, 20));
+    Assertions.assertEquals(32, ecbProcessor.encrypt(key, ByteBuffer.wrap(data, 0, 20), ecbEncrypted));
+    final ByteBuffer ecbDecrypted = ByteBuffer.allocate(32);
+    Assertions.assertEquals(20, ecbProcessor.decrypt(key, ecbEncrypted.flip(), ecbDecrypted));
+    Assertions.assertEquals(ByteBuffer.wrap(data, 0, 20), ecbDecrypted.flip());
+
+    //Negative
+    final ByteBuffer smallInput = ByteBuffer.wrap(data);
+    final ByteBuffer small = ByteBuffer.allocate(16);
+    Assertions.assertThrows(BufferSizeException.class, () -> processor.encrypt(key, smallInput, small));
+    Assertions.assertEquals(data.length, smallInput.remaining());
+    Assertions.assertEquals(0, small.position());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> processor.outputSize(CipherMode.ENCRYPT, key, -1));
+    Assertions.assertThrows(NullPointerException.class, () -> processor.encrypt(key, (ByteBuffer) null, small));
+  }
+
+  @Test
+  @DisplayName("Test array range encryption")
+  public void testArrayRanges() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AES/CBC/PKCS5Padding");
+    final SecretKey key = key();
+    final IvParameterSpec parameterSpec = new IvParameterSpec(new byte[16]);
+    final byte[] data = "header|payload of the message|trailer".getBytes();
+    final int offset = 7, length = 22;
+    final byte[] expected = processor.encrypt(key, parameterSpec, Arrays.copyOfRange(data, offset, offset + length))
+        .data();
+
+    //Positive
+    final byte[] encrypted = new byte[4 + processor.outputSize(CipherMode.ENCRYPT, key, parameterSpec, length)];
+    final int encryptedLength = processor.encrypt(key, parameterSpec, data, offset, length, encrypted, 4);
+    Assertions.assertArrayEquals(expected, Arrays.copyOfRange(encrypted, 4, 4 + encryptedLength));
+
+    final byte[] decrypted = new byte[encryptedLength];
+    final int decryptedLength = processor.decrypt(key, parameterSpec, encrypted, 4, encryptedLength, decrypted, 0);
+    Assertions.assertArrayEquals(Arrays.copyOfRange(data, offset, offset + length),
+        Arrays.copyOf(decrypted, decryptedLength));
+
+    final ICryptProcessor ecbProcessor = new CryptProcessor("AES/ECB/PKCS5Padding");
+    final byte[] output = new byte[ecbProcessor.outputSize(CipherMode.ENCRYPT, key, length)];
+    for (int round = 0; round < 3; round++) {
+      Assertions.assertEquals(output.length, ecbProcessor.encrypt(key, data, offset, length, output, 0));
+      Assertions.assertArrayEquals(ecbProcessor.encrypt(key, Arrays.copyOfRange(data, offset, offset + length))
+          .data(), output);
+    }
+
+    //Negative
+    final byte[] small = new byte[8];
+    Assertions.assertThrows(BufferSizeException.class, () -> ecbProcessor.encrypt(key, data, 0, length, small, 0));
+    Assertions.assertArrayEquals(new byte[8], small);
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+        () -> ecbProcessor.encrypt(key, data, offset, data.length, output, 0));
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+        () -> ecbProcessor.encrypt(key, data, 0, length, output, output.length + 1));
+    Assertions.assertThrows(NullPointerException.class, () -> ecbProcessor.encrypt(key, null, 0, 0, output, 0));
+  }
+
+  @Test
+  @DisplayName("Test authenticated encryption with generated nonces")
+  public void testAead() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AES/GCM/NoPadding");
+    final SecretKey key = key();
+    final byte[] data = "authenticated message".getBytes();
+    final byte[] associatedData = "header".getBytes();
+
+    //Positive
+    final byte[][] encrypted = new byte[3][];
+    for (int index = 0; index < encrypted.length; index++) {
+      encrypted[index] = processor.encryptAead(key, data, associatedData).data();
+      Assertions.assertEquals(AbstractCryptProcessor.AEAD_NONCE_LENGTH + data.length + 16, encrypted[index].length);
+      Assertions.assertArrayEquals(data, processor.decryptAead(key, encrypted[index], associatedData).data());
+    }
+    //Same prefix for the key, counter counts up.
+    for (int index = 0; index < encrypted.length; index++) {
+      Assertions.assertArrayEquals(Arrays.copyOf(encrypted[0], 8), Arrays.copyOf(encrypted[index], 8));
+      Assertions.assertEquals(index, ByteBuffer.wrap(encrypted[index], 8, 4).getInt());
+    }
+    //Equal key material continues the counter of the key.
+    final SecretKey copy = new SecretKeySpec(key.getEncoded(), "AES");
+    final byte[] fourth = processor.encryptAead(copy, data).data();
+    Assertions.assertEquals(3, ByteBuffer.wrap(fourth, 8, 4).getInt());
+    Assertions.assertArrayEquals(data, processor.decryptAead(key, fourth).data());
+    //A discarded key starts a new counter with a new prefix.
+    processor.discard(key);
+    final byte[] fifth = processor.encryptAead(key, data).data();
+    Assertions.assertEquals(0, ByteBuffer.wrap(fifth, 8, 4).getInt());
+    Assertions.assertFalse(Arrays.equals(Arrays.copyOf(encrypted[0], 8), Arrays.copyOf(fifth, 8)));
+
+    final ICryptProcessor chaChaProcessor = new CryptProcessor("ChaCha20-Poly1305");
+    final SecretKey chaChaKey = new SecretKeySpec(new byte[32], "ChaCha20");
+    Assertions.assertArrayEquals(data, chaChaProcessor.decryptAead(chaChaKey,
+        chaChaProcessor.encryptAead(chaChaKey, data, associatedData).data(), associatedData).data());
+
+    //Negative
+    final byte[] tampered = encrypted[0].clone();
+    tampered[tampered.length - 1] ^= 1;
+    Assertions.assertThrows(PaddingException.class, () -> processor.decryptAead(key, tampered, associatedData));
+    Assertions.assertThrows(PaddingException.class, () -> processor.decryptAead(key, encrypted[0]));
+    Assertions.assertThrows(IllegalBlockException.class, () -> processor.decryptAead(key, new byte[11]));
+    Assertions.assertThrows(AlgorithmNotPresentException.class,
+        () -> new CryptProcessor("AES/CBC/PKCS5Padding").encryptAead(key, data));
+
+    final ICryptProcessor limitedProcessor = new CryptProcessor("AES/GCM/NoPadding", 2);
+    limitedProcessor.encryptAead(key, data);
+    limitedProcessor.encryptAead(key, data);
+    Assertions.assertThrows(IllegalKeyException.class, () -> limitedProcessor.encryptAead(key, data));
+    Assertions.assertThrows(IllegalKeyException.class, () -> limitedProcessor.encryptAead(key, data));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new CryptProcessor("AES/GCM/NoPadding", 0));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new CryptProcessor("AES/GCM/NoPadding", AbstractCryptProcessor.DEFAULT_AEAD_MESSAGE_LIMIT + 1));
+  }
+
+  @Test
+  @DisplayName("Test key wrapping")
+  public void testWrap() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("AESWrap");
+    final SecretKey key = key();
+    final SecretKey dataKey = key();
+
+    //Positive
+    final ICryptValue wrapped = processor.wrap(key, dataKey);
+    Assertions.assertEquals(CipherMode.WRAP, wrapped.cipherMode());
+    for (int round = 0; round < 3; round++) {
+      Assertions.assertArrayEquals(dataKey.getEncoded(),
+          processor.unwrap(key, processor.wrap(key, dataKey).data(), "AES").getEncoded());
+    }
+    processor.discard(key);
+    Assertions.assertArrayEquals(dataKey.getEncoded(), processor.unwrap(key, wrapped.data(), "AES").getEncoded());
+
+    //Negative
+    final byte[] tampered = wrapped.data().clone();
+    tampered[0] ^= 1;
+    Assertions.assertThrows(IllegalKeyException.class, () -> processor.unwrap(key, tampered, "AES"));
+    Assertions.assertThrows(IllegalKeyException.class, () -> processor.unwrap(key(), wrapped.data(), "AES"));
+    Assertions.assertThrows(NullPointerException.class, () -> processor.wrap(key, null));
+  }
+
+  @Test
+  @DisplayName("Test hybrid certificate encryption")
+  public void testHybrid() throws Exception {
+    final ICryptProcessor processor = new CryptProcessor("RSA/ECB/OAEPWithSHA-256AndMGF1Padding");
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+    final Certificate certificate = certificate(keyPair.getPublic());
+    final byte[] data = new byte[100_000];
+    new Random(7).nextBytes(data);
+
+    //Positive
+    final byte[] encrypted = processor.encryptHybrid(certificate, data).data();
+    //Header and wrapped key, then the data and its tag.
+    Assertions.assertEquals(3 + 256 + data.length + 16, encrypted.length);
+    Assertions.assertArrayEquals(data, processor.decryptHybrid(keyPair.getPrivate(), encrypted).data());
+    Assertions.assertArrayEquals(new byte[0],
+        processor.decryptHybrid(keyPair.getPrivate(), processor.encryptHybrid(certificate, new byte[0]).data())
+            .data());
+    //Every message has its own data key.
+    Assertions.assertFalse(Arrays.equals(encrypted, processor.encryptHybrid(certificate, data).data()));
+
+    //Negative
+    final byte[] tamperedData = encrypted.clone();
+    tamperedData[tamperedData.length - 20] ^= 1;
+    Assertions.assertThrows(PaddingException.class, () -> processor.decryptHybrid(keyPair.getPrivate(), tamperedData));
+    final byte[] tamperedKey = encrypted.clone();
+    tamperedKey[10] ^= 1;
+    Assertions.assertThrows(IllegalKeyException.class,
+        () -> processor.decryptHybrid(keyPair.getPrivate(), tamperedKey));
+    final byte[] tamperedVersion = encrypted.clone();
+    tamperedVersion[0] = 0;
+    Assertions.assertThrows(PaddingException.class,
+        () -> processor.decryptHybrid(keyPair.getPrivate(), tamperedVersion));
+    Assertions.assertThrows(IllegalBlockException.class,
+        () -> processor.decryptHybrid(keyPair.getPrivate(), Arrays.copyOf(encrypted, 100)));
+    Assertions.assertThrows(IllegalKeyException.class,
+        () -> processor.decryptHybrid(keyPairGenerator.generateKeyPair().getPrivate(), encrypted));
+    //Plain RSA defaults to PKCS#1 v1.5 padding.
+    final ICryptProcessor pkcs1Processor = new CryptProcessor("RSA");
+    Assertions.assertThrows(AlgorithmNotPresentException.class, () -> pkcs1Processor.encryptHybrid(certificate, data));
+    Assertions.assertThrows(AlgorithmNotPresentException.class,
+        () -> pkcs1Processor.decryptHybrid(keyPair.getPrivate(), encrypted));
+  }
+
+  /**
+   * Returns a certificate of the public key, Cipher only reads the key of certificates other than X.509.
+   */
+  private static Certificate certificate(final PublicKey publicKey) {
+    return new Certificate("test") {
+      @Override
+      public byte[] getEncoded() {
+        return publicKey.getEncoded();
+      }
+
+      @Override
+      public void verify(final PublicKey key) {
+      }
+
+      @Override
+      public void verify(final PublicKey key,
+                         final String sigProvider) {
+      }
+
+      @Override
+      public String toString() {
+        return "Certificate of " + publicKey;
+      }
+
+      @Override
+      public PublicKey getPublicKey() {
+        return publicKey;
+      }
+    };
+  }
+
+  private static SecretKey key() throws Exception {
+    final KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+    keyGenerator.init(128);
+    return keyGenerator.generateKey();
+  }
+}
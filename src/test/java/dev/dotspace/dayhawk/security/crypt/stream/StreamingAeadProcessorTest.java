@@ -0,0 +1,229 @@
+package dev.dotspace.dayhawk.security.crypt.stream;
+
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.crypt.exception.PaddingException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+
+public final class StreamingAeadProcessorTest {
+
+  private static final int SEGMENT_SIZE = 1024;
+
+  @Test
+  @DisplayName("Test StreamingAeadProcessor")
+  public void testProcessor() throws Exception {
+    final IStreamingAeadProcessor processor = new StreamingAeadProcessor(SEGMENT_SIZE, ForkJoinPool.commonPool());
+    final SecretKey key = key(1);
+
+    //Positive
+    Assertions.assertEquals("AES/GCM/STREAM(segment=1024)", processor.algorithm());
+    Assertions.assertEquals(SEGMENT_SIZE, processor.segmentSize());
+    //Empty, partial, exactly one segment, many segments and window boundaries.
+    for (final int size : new int[]{0, 1, SEGMENT_SIZE, SEGMENT_SIZE + 1, SEGMENT_SIZE * 64, SEGMENT_SIZE * 37 + 5}) {
+      final byte[] data = data(size);
+      final byte[] encrypted = encrypt(processor, key, data);
+      Assertions.assertEquals(processor.ciphertextSize(size), encrypted.length);
+      Assertions.assertArrayEquals(data, decrypt(processor, key, encrypted));
+    }
+    final byte[] data = data(SEGMENT_SIZE * 5 + 100);
+    //Every message has its own salt.
+    Assertions.assertFalse(Arrays.equals(encrypt(processor, key, data), encrypt(processor, key, data)));
+    //The segment size is read from the header.
+    Assertions.assertArrayEquals(data, decrypt(new StreamingAeadProcessor(), key, encrypt(processor, key, data)));
+
+    //Negative
+    final byte[] encrypted = encrypt(processor, key, data);
+    final int segment = SEGMENT_SIZE + SegmentCipher.TAG_LENGTH;
+    for (final int position : new int[]{10, SegmentCipher.LENGTH + 5, encrypted.length - 1}) {
+      final byte[] tampered = encrypted.clone();
+      tampered[position] ^= 1;
+      Assertions.assertThrows(PaddingException.class, () -> decrypt(processor, key, tampered));
+    }
+    //Cut at a segment boundary, the remaining last segment is not marked as last.
+    Assertions.assertThrows(PaddingException.class,
+        () -> decrypt(processor, key, Arrays.copyOf(encrypted, SegmentCipher.LENGTH + 3 * segment)));
+    Assertions.assertThrows(PaddingException.class,
+        () -> decrypt(processor, key, Arrays.copyOf(encrypted, encrypted.length - 20)));
+    Assertions.assertThrows(PaddingException.class,
+        () -> decrypt(processor, key, Arrays.copyOf(encrypted, encrypted.length + 16)));
+    Assertions.assertThrows(PaddingException.class,
+        () -> decrypt(processor, key, Arrays.copyOf(encrypted, SegmentCipher.LENGTH)));
+    Assertions.assertThrows(PaddingException.class, () -> decrypt(processor, key, new byte[5]));
+    Assertions.assertThrows(PaddingException.class, () -> decrypt(processor, key(2), encrypted));
+    Assertions.assertThrows(IllegalKeyException.class,
+        () -> encrypt(processor, new SecretKeySpec(new byte[10], "AES"), data));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new StreamingAeadProcessor(16, ForkJoinPool.commonPool()));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> processor.ciphertextSize(-1));
+  }
+
+  @Test
+  @DisplayName("Test seekable decryption")
+  public void testSeekable() throws Exception {
+    final IStreamingAeadProcessor processor = new StreamingAeadProcessor(SEGMENT_SIZE, ForkJoinPool.commonPool());
+    final SecretKey key = key(3);
+    final byte[] data = data(SEGMENT_SIZE * 20 + 300);
+    final byte[] encrypted = encrypt(processor, key, data);
+    final Path file = Files.createTempFile("stream", ".enc");
+    Files.write(file, encrypted);
+
+    //Positive
+    try (final SeekableByteChannel channel = processor.open(key, file)) {
+      Assertions.assertEquals(data.length, channel.size());
+      final Random random = new Random(11);
+      for (int round = 0; round < 50; round++) {
+        final int position = random.nextInt(data.length);
+        final int length = Math.min(random.nextInt(3 * SEGMENT_SIZE), data.length - position);
+        this.assertRange(channel, data, position, length);
+      }
+      this.assertRange(channel, data, data.length - 300, 300);
+      Assertions.assertEquals(-1, channel.position(data.length).read(ByteBuffer.allocate(1)));
+      Assertions.assertThrows(NonWritableChannelException.class, () -> channel.write(ByteBuffer.allocate(1)));
+    }
+    final byte[] empty = encrypt(processor, key, new byte[0]);
+    try (final SeekableByteChannel channel = processor.open(key, new SeekableInMemoryChannel(empty))) {
+      Assertions.assertEquals(0, channel.size());
+      Assertions.assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+    }
+
+    //Only the segments of a range are verified.
+    final byte[] tampered = encrypted.clone();
+    tampered[SegmentCipher.LENGTH + 10 * (SEGMENT_SIZE + SegmentCipher.TAG_LENGTH) + 3] ^= 1;
+    try (final SeekableByteChannel channel = processor.open(key, new SeekableInMemoryChannel(tampered))) {
+      this.assertRange(channel, data, 2 * SEGMENT_SIZE, SEGMENT_SIZE * 3);
+      //Negative
+      final IOException exception = Assertions.assertThrows(IOException.class,
+          () -> channel.position(10L * SEGMENT_SIZE + 5).read(ByteBuffer.allocate(10)));
+      Assertions.assertInstanceOf(PaddingException.class, exception.getCause());
+    }
+
+    //Negative
+    final byte[] truncated = Arrays.copyOf(encrypted, SegmentCipher.LENGTH + 4 * (SEGMENT_SIZE + 16));
+    try (final SeekableByteChannel channel = processor.open(key, new SeekableInMemoryChannel(truncated))) {
+      Assertions.assertThrows(IOException.class,
+          () -> channel.position(3L * SEGMENT_SIZE).read(ByteBuffer.allocate(1)));
+    }
+    Assertions.assertThrows(PaddingException.class,
+        () -> processor.open(key, new SeekableInMemoryChannel(Arrays.copyOf(encrypted, 20))));
+    final SeekableByteChannel closed = processor.open(key, file);
+    closed.close();
+    Assertions.assertThrows(ClosedChannelException.class, () -> closed.read(ByteBuffer.allocate(1)));
+    Files.delete(file);
+  }
+
+  private void assertRange(final SeekableByteChannel channel,
+                           final byte[] data,
+                           final int position,
+                           final int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    channel.position(position);
+    while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+      //Read the whole range.
+    }
+    Assertions.assertArrayEquals(Arrays.copyOfRange(data, position, position + length), buffer.array());
+    Assertions.assertEquals(position + length, channel.position());
+  }
+
+  /**
+   * Channel over an array, the JDK has no public implementation.
+   */
+  private static final class SeekableInMemoryChannel implements SeekableByteChannel {
+    private final byte[] bytes;
+    private int position;
+
+    private SeekableInMemoryChannel(final byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public int read(final ByteBuffer buffer) {
+      if (this.position >= this.bytes.length) {
+        return -1;
+      }
+      final int length = Math.min(buffer.remaining(), this.bytes.length - this.position);
+      buffer.put(this.bytes, this.position, length);
+      this.position += length;
+      return length;
+    }
+
+    @Override
+    public int write(final ByteBuffer buffer) {
+      throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() {
+      return this.position;
+    }
+
+    @Override
+    public SeekableByteChannel position(final long position) {
+      this.position = (int) Math.min(position, this.bytes.length);
+      return this;
+    }
+
+    @Override
+    public long size() {
+      return this.bytes.length;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) {
+      throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  static SecretKey key(final int seed) {
+    final byte[] key = new byte[32];
+    new Random(seed).nextBytes(key);
+    return new SecretKeySpec(key, "AES");
+  }
+
+  static byte[] data(final int size) {
+    final byte[] data = new byte[size];
+    new Random(size).nextBytes(data);
+    return data;
+  }
+
+  static byte[] encrypt(final IStreamingAeadProcessor processor,
+                        final SecretKey key,
+                        final byte[] data) throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    Assertions.assertEquals(processor.encrypt(key, new ByteArrayInputStream(data), output), output.size());
+    return output.toByteArray();
+  }
+
+  private static byte[] decrypt(final IStreamingAeadProcessor processor,
+                                final SecretKey key,
+                                final byte[] encrypted) throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    Assertions.assertEquals(processor.decrypt(key, new ByteArrayInputStream(encrypted), output), output.size());
+    return output.toByteArray();
+  }
+}
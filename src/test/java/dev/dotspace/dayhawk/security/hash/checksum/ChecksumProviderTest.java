@@ -0,0 +1,82 @@
+package dev.dotspace.dayhawk.security.hash.checksum;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+
+public final class ChecksumProviderTest {
+
+  @Test
+  @DisplayName("Test ChecksumProvider")
+  public void testProvider() throws Exception {
+    //Positive
+    Assertions.assertTrue(HashManager.instance().algorithmList().contains("CRC32C"));
+    Assertions.assertTrue(HashManager.instance().algorithmList().contains("XXH64"));
+    Assertions.assertNotNull(MessageDigest.getInstance("XXH64", ChecksumProvider.instance()));
+
+    //Negative
+    Assertions.assertThrows(NoSuchAlgorithmException.class, () -> MessageDigest.getInstance("XXH64"));
+  }
+
+  @Test
+  @DisplayName("Test XXH64")
+  public void testXxh64() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor("XXH64");
+
+    //Positive, reference values of xxHash.
+    Assertions.assertEquals("ef46db3751d8e999", processor.hash(new byte[0]).hex());
+    Assertions.assertEquals("44bc2cf5ad770999", processor.hash("abc".getBytes()).hex());
+    Assertions.assertEquals("fbcea83c8a378bf1",
+        processor.hash("Nobody inspects the spammish repetition".getBytes()).hex());
+    Assertions.assertEquals(8, processor.digestLength());
+    this.assertStreaming(processor);
+  }
+
+  @Test
+  @DisplayName("Test CRC32C")
+  public void testCrc32c() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor("CRC32C");
+    final byte[] input = "123456789".getBytes();
+    final CRC32C crc32c = new CRC32C();
+    crc32c.update(input);
+
+    //Positive, check value of CRC-32C.
+    Assertions.assertEquals("e3069283", processor.hash(input).hex());
+    Assertions.assertEquals(HexFormat.of().toHexDigits((int) crc32c.getValue()), processor.hash(input).hex());
+    Assertions.assertEquals(4, processor.digestLength());
+    this.assertStreaming(processor);
+  }
+
+  /**
+   * Checks that streams, heap, direct and sliced buffers all give the hash of the plain array.
+   */
+  private void assertStreaming(final IHashProcessor processor) throws Exception {
+    final byte[] input = new byte[100_003];
+    new Random(11).nextBytes(input);
+    final byte[] expected = processor.hash(input).digest();
+
+    Assertions.assertArrayEquals(expected, processor.hash(new ByteArrayInputStream(input)).digest());
+    Assertions.assertArrayEquals(expected, processor.hash(ByteBuffer.wrap(input)).digest());
+    final ByteBuffer direct = ByteBuffer.allocateDirect(input.length).put(input).flip();
+    Assertions.assertArrayEquals(expected, processor.hash(direct).digest());
+    Assertions.assertArrayEquals(expected, processor.hash(direct.duplicate().limit(7), direct.duplicate().position(7))
+        .digest());
+    for (int length = 0; length < 70; length++) {
+      final byte[] part = Arrays.copyOf(input, length);
+      Assertions.assertArrayEquals(processor.hash(part).digest(),
+          processor.hash(ByteBuffer.allocateDirect(length).put(part).flip()).digest());
+    }
+  }
+}
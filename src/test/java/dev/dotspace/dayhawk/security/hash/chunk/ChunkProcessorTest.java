@@ -0,0 +1,93 @@
+package dev.dotspace.dayhawk.security.hash.chunk;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+public final class ChunkProcessorTest {
+
+  private final IHashProcessor PROCESSOR = HashManager.instance().processor("SHA-256");
+
+  @Test
+  @DisplayName("Test ChunkProcessor")
+  public void testProcessor() throws Exception {
+    final IChunkProcessor processor = new ChunkProcessor(PROCESSOR);
+    final byte[] input = new byte[3 * 1024 * 1024 + 333];
+    new Random(13).nextBytes(input);
+
+    final List<IHashChunk> chunks = processor.chunk(input).toList();
+
+    //Positive, chunks cover the input without gaps and hash their bytes.
+    long offset = 0;
+    for (final IHashChunk chunk : chunks) {
+      Assertions.assertEquals(offset, chunk.offset());
+      Assertions.assertTrue(chunk.length() <= processor.maxSize());
+      Assertions.assertArrayEquals(PROCESSOR.hash(Arrays.copyOfRange(input, (int) offset,
+          (int) offset + chunk.length())).digest(), chunk.hashValue().digest());
+      offset += chunk.length();
+    }
+    Assertions.assertEquals(input.length, offset);
+    for (int index = 0; index < chunks.size() - 1; index++) {
+      Assertions.assertTrue(chunks.get(index).length() >= processor.minSize());
+    }
+    final double average = (double) input.length / chunks.size();
+    Assertions.assertTrue(average > processor.averageSize() / 2.0 && average < processor.averageSize() * 2.0);
+
+    //Boundaries are fixed by the Gear table and must not change between runs or JDKs.
+    Assertions.assertEquals(List.of(10940, 13497, 8503, 9220, 8607),
+        chunks.stream().limit(5).map(IHashChunk::length).toList());
+
+    //Streams cross block boundaries, the chunks are the same.
+    Assertions.assertEquals(chunks, processor.chunk(new ByteArrayInputStream(input)).toList());
+    final Path file = Files.createTempFile("chunk", ".bin");
+    try {
+      Files.write(file, input);
+      try (final Stream<IHashChunk> stream = processor.chunk(file)) {
+        Assertions.assertEquals(chunks, stream.toList());
+      }
+    } finally {
+      Files.delete(file);
+    }
+    Assertions.assertEquals(0, processor.chunk(new byte[0]).count());
+    Assertions.assertEquals("SHA-256/FASTCDC(min=2048,avg=8192,max=65536)", processor.algorithm());
+
+    //Negative
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new ChunkProcessor(PROCESSOR, 2048, 6000, 65536, ForkJoinPool.commonPool()));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new ChunkProcessor(PROCESSOR, 16384, 8192, 65536, ForkJoinPool.commonPool()));
+  }
+
+  @Test
+  @DisplayName("Test ChunkProcessor edit locality")
+  public void testEdit() throws Exception {
+    final IChunkProcessor processor = new ChunkProcessor(PROCESSOR);
+    final byte[] input = new byte[1024 * 1024];
+    new Random(17).nextBytes(input);
+
+    //Insert a few bytes in the middle, only the chunks around the edit change.
+    final byte[] edited = new byte[input.length + 5];
+    System.arraycopy(input, 0, edited, 0, 500_000);
+    System.arraycopy(input, 500_000, edited, 500_005, input.length - 500_000);
+
+    final Set<IHashValue> original = processor.chunk(input).map(IHashChunk::hashValue).collect(Collectors.toSet());
+    final List<IHashValue> changed = processor.chunk(edited).map(IHashChunk::hashValue).toList();
+    final long shared = changed.stream().filter(original::contains).count();
+    Assertions.assertTrue(changed.size() - shared <= 3);
+  }
+}
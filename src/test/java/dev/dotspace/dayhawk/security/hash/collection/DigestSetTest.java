@@ -0,0 +1,75 @@
+package dev.dotspace.dayhawk.security.hash.collection;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+
+public final class DigestSetTest {
+
+  private final IHashProcessor PROCESSOR = HashManager.instance().processor("SHA-256");
+
+  @Test
+  @DisplayName("Test DigestSet")
+  public void testSet() {
+    //Small expected size, the stripes have to grow.
+    final DigestSet digestSet = new DigestSet(32, 10, 4);
+
+    //Positive, added concurrently.
+    final long added = IntStream.range(0, 50_000).parallel()
+        .filter(i -> digestSet.add(this.hash(i)))
+        .count();
+    Assertions.assertEquals(50_000, added);
+    Assertions.assertEquals(50_000, digestSet.size());
+    for (int i = 0; i < 50_000; i++) {
+      Assertions.assertTrue(digestSet.contains(this.hash(i)));
+      Assertions.assertFalse(digestSet.add(this.hash(i)));
+    }
+    Assertions.assertFalse(digestSet.contains(this.hash(-1)));
+
+    //Negative
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> digestSet.add(new byte[31], 0));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new DigestSet(32, 10, 3));
+    //Digests of another length are rejected, not truncated.
+    final IHashValue longer = new ImmutableHashValue("SHA-256", new byte[33]);
+    final IHashValue shorter = new ImmutableHashValue("SHA-256", new byte[31]);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> digestSet.add(longer));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> digestSet.add(shorter));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> digestSet.contains(longer));
+  }
+
+  @Test
+  @DisplayName("Test DigestMap")
+  public void testMap() {
+    final DigestMap digestMap = new DigestMap(32, 1_000);
+
+    //Positive
+    for (int i = 0; i < 5_000; i++) {
+      Assertions.assertTrue(digestMap.put(this.hash(i), i));
+    }
+    Assertions.assertFalse(digestMap.put(this.hash(7), 70));
+    Assertions.assertFalse(digestMap.putIfAbsent(this.hash(8).digest(), 0, 80));
+
+    Assertions.assertEquals(5_000, digestMap.size());
+    Assertions.assertEquals(70, digestMap.get(this.hash(7), -1));
+    Assertions.assertEquals(8, digestMap.get(this.hash(8), -1));
+    Assertions.assertEquals(4_999, digestMap.get(this.hash(4_999), -1));
+    Assertions.assertEquals(-1, digestMap.get(this.hash(-1), -1));
+
+    //Negative
+    final IHashValue longer = new ImmutableHashValue("SHA-256", new byte[33]);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> digestMap.put(longer, 1));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> digestMap.get(longer, -1));
+  }
+
+  private IHashValue hash(final int value) {
+    return Assertions.assertDoesNotThrow(() -> PROCESSOR.hash(ByteBuffer.allocate(4).putInt(0, value)));
+  }
+}
@@ -0,0 +1,136 @@
+package dev.dotspace.dayhawk.security.hash.collection;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.processor.IHashProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+
+public final class FileDigestCacheTest {
+
+  private final IHashProcessor PROCESSOR = HashManager.instance().processor("SHA-256");
+
+  @Test
+  @DisplayName("Test FileDigestCache")
+  public void testCache() throws Exception {
+    final Path directory = Files.createTempDirectory("file-digest-cache");
+    try {
+      final Path file = write(directory.resolve("a.bin"), "content-a");
+      final FileDigestCache fileDigestCache = new FileDigestCache(2);
+
+      //Positive
+      Assertions.assertArrayEquals(PROCESSOR.hash(file).digest(), fileDigestCache.hash(PROCESSOR, file).digest());
+      Assertions.assertEquals(1, fileDigestCache.size());
+
+      //Same size and modification time, the cached digest is returned without reading the content.
+      final FileTime modified = Files.getLastModifiedTime(file);
+      Files.writeString(file, "content-b");
+      Files.setLastModifiedTime(file, modified);
+      Assertions.assertArrayEquals(PROCESSOR.hash("content-a".getBytes()).digest(),
+          fileDigestCache.hash(PROCESSOR, file).digest());
+
+      //Changed size, the file is hashed again.
+      Files.writeString(file, "content-changed");
+      Files.setLastModifiedTime(file, modified);
+      Assertions.assertArrayEquals(PROCESSOR.hash(file).digest(), fileDigestCache.hash(PROCESSOR, file).digest());
+
+      //Recently modified files are not cached.
+      final Path recent = directory.resolve("recent.bin");
+      Files.writeString(recent, "recent");
+      fileDigestCache.hash(PROCESSOR, recent);
+      Assertions.assertEquals(1, fileDigestCache.size());
+
+      //Least recently used entry is evicted.
+      fileDigestCache.hash(PROCESSOR, write(directory.resolve("b.bin"), "b"));
+      fileDigestCache.hash(PROCESSOR, write(directory.resolve("c.bin"), "c"));
+      Assertions.assertEquals(2, fileDigestCache.size());
+
+      //Negative
+      Assertions.assertThrows(IOException.class, () -> fileDigestCache.hash(PROCESSOR, directory.resolve("none")));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> new FileDigestCache(0));
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Test
+  @DisplayName("Test FileDigestCache index")
+  public void testIndex() throws Exception {
+    final Path directory = Files.createTempDirectory("file-digest-cache");
+    try {
+      final Path index = directory.resolve("digests.idx");
+      final FileDigestCache fileDigestCache = new FileDigestCache(100);
+      for (int i = 0; i < 50; i++) {
+        fileDigestCache.hash(PROCESSOR, write(directory.resolve(i + ".bin"), "content-" + i));
+      }
+      fileDigestCache.hash(HashManager.instance().processor("SHA-512"), directory.resolve("0.bin"));
+      fileDigestCache.save(index);
+
+      //Positive
+      final FileDigestCache loaded = FileDigestCache.load(index, 100);
+      Assertions.assertEquals(51, loaded.size());
+      final FileTime modified = Files.getLastModifiedTime(directory.resolve("7.bin"));
+      Files.writeString(directory.resolve("7.bin"), "content-X");
+      Files.setLastModifiedTime(directory.resolve("7.bin"), modified);
+      Assertions.assertArrayEquals(PROCESSOR.hash("content-7".getBytes()).digest(),
+          loaded.hash(PROCESSOR, directory.resolve("7.bin")).digest());
+      Assertions.assertEquals(10, FileDigestCache.load(index, 10).size());
+      Assertions.assertEquals(0, FileDigestCache.load(directory.resolve("missing.idx"), 10).size());
+
+      loaded.invalidate(directory.resolve("0.bin"));
+      Assertions.assertEquals(49, loaded.size());
+
+      //Negative
+      Assertions.assertThrows(IOException.class, () -> FileDigestCache.load(directory.resolve("0.bin"), 10));
+      //Corrupt counts and numbers are reported as IOException, not as a runtime exception or error.
+      for (final int[] corruption : new int[][]{{Integer.MAX_VALUE, 0, 0}, {-1, 0, 0}, {1, -1, 0}, {1, 1, 1},
+          {1, 1, -1}}) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream output = new DataOutputStream(bytes)) {
+          output.writeInt(0x46444302);
+          output.writeInt(corruption[0]);
+          output.writeUTF("SHA-256");
+          output.writeInt(corruption[1]);
+          output.writeUTF(directory.resolve("0.bin").toString());
+          output.writeInt(corruption[2]);
+        }
+        Files.write(index, bytes.toByteArray());
+        Assertions.assertThrows(IOException.class, () -> FileDigestCache.load(index, 10));
+      }
+    } finally {
+      delete(directory);
+    }
+  }
+
+  /**
+   * Deletes the directory and its files.
+   */
+  private static void delete(final Path directory) throws IOException {
+    try (final Stream<Path> paths = Files.list(directory)) {
+      for (final Path path : paths.toList()) {
+        Files.delete(path);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  /**
+   * Writes the file with a modification time outside the racy window.
+   */
+  private static Path write(final Path path, final String content) throws IOException {
+    Files.writeString(path, content);
+    Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+    return path;
+  }
+}
@@ -6,6 +6,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
 
 public final class HashValueTest {
 
@@ -20,9 +26,46 @@ public final class HashValueTest {
     Assertions.assertNotNull(value);
     Assertions.assertEquals(value.algorithm(), "ALGO");
     Assertions.assertArrayEquals(value.digest(), VALUE_1);
+    Assertions.assertEquals(value.hashCode(), new ImmutableHashValue("ALGO", "1".getBytes()).hashCode());
 
     //Negative
     Assertions.assertThrows(NullPointerException.class, () -> new ImmutableHashValue(null, null));
   }
 
+  @Test
+  @DisplayName("Test HashValue encoding")
+  public void testEncoding() {
+    final Random random = new Random(6);
+    for (int length = 0; length < 70; length++) {
+      final byte[] digest = new byte[length];
+      random.nextBytes(digest);
+      final IHashValue value = new ImmutableHashValue("ALGO", digest);
+
+      //Positive
+      final String hex = HexFormat.of().formatHex(digest);
+      final String base64 = Base64.getEncoder().encodeToString(digest);
+      Assertions.assertEquals(hex, value.hex());
+      Assertions.assertEquals(base64, value.base64());
+      Assertions.assertEquals("#" + base64, value.base64(new StringBuilder("#")).toString());
+
+      final char[] chars = new char[hex.length() + 1];
+      Assertions.assertEquals(hex.length(), value.hex(chars, 1));
+      Assertions.assertEquals(hex, new String(chars, 1, hex.length()));
+
+      final ByteBuffer buffer = ByteBuffer.allocate(base64.length());
+      Assertions.assertEquals(base64.length(), value.base64(buffer));
+      Assertions.assertEquals(base64, new String(buffer.array(), StandardCharsets.US_ASCII));
+
+      Assertions.assertEquals(value, ImmutableHashValue.fromHex("ALGO", hex.toUpperCase()));
+      Assertions.assertEquals(value, ImmutableHashValue.fromBase64("ALGO", base64));
+    }
+
+    //Negative
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ImmutableHashValue.fromHex("ALGO", "abc"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ImmutableHashValue.fromHex("ALGO", "zz"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ImmutableHashValue.fromBase64("ALGO", "a$=="));
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+        () -> new ImmutableHashValue("ALGO", VALUE_1).hex(new char[1], 0));
+  }
+
 }
@@ -0,0 +1,221 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+public final class HashProcessorTest {
+
+  private static final String ALGORITHM = "SHA-256";
+
+  @Test
+  @DisplayName("Test HashProcessor")
+  public void testProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final byte[] input = "value".getBytes();
+
+    //Positive
+    Assertions.assertArrayEquals(MessageDigest.getInstance(ALGORITHM).digest(input), processor.hash(input).digest());
+    Assertions.assertEquals(ALGORITHM, processor.hash(input).algorithm());
+
+    //Negative
+    Assertions.assertThrows(NullPointerException.class, () -> processor.hash((byte[]) null));
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor with streams and channels")
+  public void testStreamProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    //Larger than one block of the processor buffer.
+    final byte[] input = new byte[AbstractHashProcessor.BUFFER_SIZE * 3 + 17];
+    new Random(1).nextBytes(input);
+    final byte[] expected = processor.hash(input).digest();
+
+    //Positive
+    Assertions.assertArrayEquals(expected, processor.hash(new ByteArrayInputStream(input)).digest());
+    Assertions.assertArrayEquals(expected,
+        processor.hash(Channels.newChannel(new ByteArrayInputStream(input))).digest());
+
+    //Negative
+    Assertions.assertThrows(NullPointerException.class, () -> processor.hash((ByteArrayInputStream) null));
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor with mapped files")
+  public void testFileProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final byte[] input = new byte[AbstractHashProcessor.BUFFER_SIZE * 5 + 3];
+    new Random(2).nextBytes(input);
+    final Path path = Files.createTempFile("hash", ".bin");
+
+    try {
+      Files.write(path, input);
+      final byte[] expected = processor.hash(input).digest();
+
+      //Positive
+      Assertions.assertArrayEquals(expected, processor.hash(path).digest());
+      //Window smaller than the file.
+      Assertions.assertArrayEquals(expected, processor.hash(path, AbstractHashProcessor.BUFFER_SIZE).digest());
+
+      //Negative
+      Assertions.assertThrows(IllegalArgumentException.class, () -> processor.hash(path, 0));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor with buffers")
+  public void testBufferProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final byte[] input = new byte[1_000];
+    new Random(3).nextBytes(input);
+    final byte[] expected = processor.hash(input).digest();
+
+    final ByteBuffer heap = ByteBuffer.wrap(input);
+    final ByteBuffer direct = ByteBuffer.allocateDirect(input.length).put(input).flip();
+
+    //Positive
+    Assertions.assertArrayEquals(expected, processor.hash(heap).digest());
+    Assertions.assertArrayEquals(expected, processor.hash(direct).digest());
+    Assertions.assertArrayEquals(expected,
+        processor.hash(heap.slice(0, 400), direct.slice(400, 600)).digest());
+    //Position and limit are untouched.
+    Assertions.assertEquals(0, direct.position());
+    Assertions.assertEquals(input.length, direct.limit());
+
+    //Negative
+    Assertions.assertThrows(NullPointerException.class, () -> processor.hash(heap, null));
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor with caller supplied output")
+  public void testOutputProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final byte[] input = "prefix-value-suffix".getBytes();
+    final byte[] output = new byte[processor.digestLength() + 2];
+
+    //Positive
+    Assertions.assertEquals(32, processor.hash(input, 7, 5, output, 2));
+    Assertions.assertArrayEquals(processor.hash("value".getBytes()).digest(),
+        Arrays.copyOfRange(output, 2, output.length));
+
+    //Negative
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> processor.hash(input, 7, 50, output, 0));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> processor.hash(input, 0, 5, output, 3));
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor allocation budget")
+  public void testOutputProcessorAllocation() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final byte[] input = new byte[64];
+    final byte[] output = new byte[processor.digestLength()];
+    final com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final long threadId = Thread.currentThread().getId();
+
+    //Warm up, creates the digest of this thread.
+    for (int i = 0; i < 20_000; i++) {
+      processor.hash(input, 0, input.length, output, 0);
+    }
+
+    final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 100_000; i++) {
+      input[0] = (byte) i;
+      processor.hash(input, 0, input.length, output, 0);
+    }
+    final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+    //Budget only covers the measurement itself, far below one byte per call.
+    Assertions.assertTrue(allocated < 4_096, "Allocated %d bytes.".formatted(allocated));
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor batches")
+  public void testBatchProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final Random random = new Random(4);
+    final List<byte[]> secrets = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      //Mix of many small and a few large secrets.
+      final byte[] secret = new byte[i % 500 == 0 ? 200_000 : random.nextInt(200)];
+      random.nextBytes(secret);
+      secrets.add(secret);
+    }
+
+    final List<IHashValue> values = processor.hashAll(secrets);
+    final ExecutorService executorService = Executors.newFixedThreadPool(3);
+    try {
+      //Positive
+      Assertions.assertEquals(secrets.size(), values.size());
+      for (int i = 0; i < secrets.size(); i++) {
+        Assertions.assertEquals(processor.hash(secrets.get(i)), values.get(i));
+      }
+      Assertions.assertEquals(values, processor.hashAll(secrets.stream()));
+      Assertions.assertEquals(values, processor.hashAll(secrets, executorService));
+      Assertions.assertEquals(List.of(), processor.hashAll(List.of()));
+
+      //Negative
+      Assertions.assertThrows(NullPointerException.class, () -> processor.hashAll(Arrays.asList(new byte[1], null)));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Test HashProcessor under concurrency")
+  public void testConcurrentProcessor() throws Exception {
+    final IHashProcessor processor = HashManager.instance().processor(ALGORITHM);
+    final int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+    try {
+      final List<Future<Integer>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        final long seed = thread;
+        final Callable<Integer> task = () -> {
+          final MessageDigest reference = MessageDigest.getInstance(ALGORITHM);
+          final Random random = new Random(seed);
+          start.await();
+
+          for (int i = 0; i < 2_000; i++) {
+            final byte[] input = new byte[random.nextInt(4_096)];
+            random.nextBytes(input);
+            Assertions.assertArrayEquals(reference.digest(input), processor.hash(input).digest());
+          }
+          return 2_000;
+        };
+        futures.add(executorService.submit(task));
+      }
+      start.countDown();
+
+      for (final Future<Integer> future : futures) {
+        Assertions.assertEquals(2_000, future.get());
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+}
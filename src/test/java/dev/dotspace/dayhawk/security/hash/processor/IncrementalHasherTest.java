@@ -0,0 +1,79 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+
+public final class IncrementalHasherTest {
+
+  private final IHashProcessor PROCESSOR = HashManager.instance().processor("SHA-256");
+
+  @Test
+  @DisplayName("Test incremental hasher")
+  public void testIncremental() throws Exception {
+    final byte[] input = new byte[10_000];
+    new Random(3).nextBytes(input);
+
+    for (final IIncrementalHasher hasher : new IIncrementalHasher[]{PROCESSOR.incremental(), PROCESSOR.resumable()}) {
+      //Positive, uneven pieces cross the block boundaries.
+      int offset = 0;
+      for (int length = 0; offset + length <= input.length; offset += length, length = (length * 7 + 1) % 130) {
+        hasher.update(input, offset, length);
+        Assertions.assertEquals(offset + length, hasher.offset());
+        Assertions.assertArrayEquals(sha256(Arrays.copyOf(input, offset + length)), hasher.snapshot().digest());
+      }
+      final ByteBuffer buffer = ByteBuffer.wrap(input, offset, input.length - offset);
+      hasher.update(buffer);
+      Assertions.assertEquals(offset, buffer.position());
+      Assertions.assertArrayEquals(sha256(input), hasher.snapshot().digest());
+      Assertions.assertEquals("SHA-256", hasher.snapshot().algorithm());
+
+      //Negative
+      Assertions.assertThrows(IndexOutOfBoundsException.class, () -> hasher.update(input, 9_999, 2));
+    }
+    Assertions.assertArrayEquals(sha256(new byte[0]), PROCESSOR.resumable().snapshot().digest());
+    Assertions.assertFalse(PROCESSOR.incremental().checkpointable());
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> PROCESSOR.incremental().checkpoint());
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> HashManager.instance().processor("SHA-1").resumable());
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> HashManager.instance().processor("CRC32C").incremental().snapshot());
+  }
+
+  @Test
+  @DisplayName("Test checkpoint")
+  public void testCheckpoint() throws Exception {
+    final byte[] input = new byte[5_000];
+    new Random(5).nextBytes(input);
+
+    final IIncrementalHasher hasher = PROCESSOR.resumable().update(input, 0, 3_001);
+    final byte[] checkpoint = hasher.checkpoint();
+
+    //Positive
+    Assertions.assertTrue(hasher.checkpointable());
+    Assertions.assertTrue(checkpoint.length < 128);
+    final IIncrementalHasher resumed = PROCESSOR.resume(checkpoint);
+    Assertions.assertEquals(3_001, resumed.offset());
+    resumed.update(input, 3_001, input.length - 3_001);
+    Assertions.assertArrayEquals(sha256(input), resumed.snapshot().digest());
+
+    //Negative
+    final byte[] damaged = checkpoint.clone();
+    damaged[20] ^= 1;
+    Assertions.assertThrows(IllegalArgumentException.class, () -> PROCESSOR.resume(damaged));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> PROCESSOR.resume(new byte[3]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> HashManager.instance().processor("SHA-512").resume(checkpoint));
+  }
+
+  private static byte[] sha256(final byte[] input) throws Exception {
+    return MessageDigest.getInstance("SHA-256").digest(input);
+  }
+}
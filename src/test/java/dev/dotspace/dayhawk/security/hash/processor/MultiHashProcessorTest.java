@@ -0,0 +1,65 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.HashManager;
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.exception.DigestNotPresentException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+public final class MultiHashProcessorTest {
+
+  private static final List<String> ALGORITHMS = List.of("MD5", "SHA-1", "SHA-256");
+
+  @Test
+  @DisplayName("Test MultiHashProcessor")
+  public void testProcessor() throws Exception {
+    final IMultiHashProcessor processor = new MultiHashProcessor(ALGORITHMS);
+    final byte[] small = "artifact".getBytes();
+    //Above the parallel threshold.
+    final byte[] large = new byte[(int) MultiHashProcessor.PARALLEL_THRESHOLD + 12345];
+    new Random(7).nextBytes(large);
+    final Path file = Files.createTempFile("multi-hash", ".bin");
+    Files.write(file, large);
+
+    //Positive
+    Assertions.assertEquals(ALGORITHMS, processor.algorithms());
+    Assertions.assertEquals("MD5+SHA-1+SHA-256", processor.algorithm());
+    this.assertHashValues(small, processor.hash(small));
+    this.assertHashValues(small, processor.hash(new ByteArrayInputStream(small)));
+    this.assertHashValues(large, processor.hash(large));
+    this.assertHashValues(large, processor.hash(new ByteArrayInputStream(large)));
+    this.assertHashValues(large, processor.hash(Channels.newChannel(new ByteArrayInputStream(large))));
+    this.assertHashValues(large, processor.hash(file));
+
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(large.length).put(large).flip();
+    this.assertHashValues(large, processor.hash(buffer));
+    Assertions.assertEquals(0, buffer.position());
+    Assertions.assertEquals(List.copyOf(ALGORITHMS), List.copyOf(processor.hash(small).keySet()));
+
+    //Negative
+    Assertions.assertThrows(NullPointerException.class, () -> processor.hash((byte[]) null));
+    Assertions.assertThrows(DigestNotPresentException.class, () -> new MultiHashProcessor(List.of("SHA-256", "None")));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new MultiHashProcessor(List.of()));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new MultiHashProcessor(List.of("MD5", "MD5")));
+  }
+
+  private void assertHashValues(final byte[] input,
+                                final Map<String, IHashValue> hashValues) throws DigestNotPresentException {
+    Assertions.assertEquals(ALGORITHMS.size(), hashValues.size());
+    for (final String algorithm : ALGORITHMS) {
+      Assertions.assertArrayEquals(HashManager.instance().processor(algorithm).hash(input).digest(),
+          hashValues.get(algorithm).digest());
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import dev.dotspace.dayhawk.security.hash.entity.ImmutableHashValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+
+public final class PasswordHashProcessorTest {
+
+  @Test
+  @DisplayName("Test PasswordHashProcessor")
+  public void testProcessor() throws Exception {
+    try (final IPasswordHashProcessor processor = new PasswordHashProcessor(Duration.ofMillis(5), 2, 16)) {
+      final char[] password = "correct horse".toCharArray();
+      final byte[] salt = processor.salt();
+      final IHashValue hashValue = processor.hash(password, salt).join();
+
+      final byte[] expected = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+          .generateSecret(new PBEKeySpec(password, salt, processor.iterations(), 256)).getEncoded();
+
+      //Positive
+      Assertions.assertTrue(processor.iterations() >= PasswordHashProcessor.MIN_ITERATIONS);
+      Assertions.assertEquals("PBKDF2WithHmacSHA256:" + processor.iterations(), hashValue.algorithm());
+      Assertions.assertArrayEquals(expected, hashValue.digest());
+      Assertions.assertArrayEquals("correct horse".toCharArray(), password);
+      Assertions.assertTrue(processor.verify(password, salt, hashValue).join());
+      Assertions.assertFalse(processor.verify("wrong".toCharArray(), salt, hashValue).join());
+      Assertions.assertTrue(processor.verify(password, salt,
+          new ImmutableHashValue("PBKDF2WithHmacSHA256:1000", SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+              .generateSecret(new PBEKeySpec(password, salt, 1000, 128)).getEncoded())).join());
+
+      //Negative
+      Assertions.assertThrows(NullPointerException.class, () -> processor.hash(null, salt));
+      Assertions.assertThrows(IllegalArgumentException.class,
+          () -> processor.verify(password, salt, new ImmutableHashValue("SHA-256", expected)));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> new PasswordHashProcessor(Duration.ZERO));
+      //Iteration counts and digest lengths are bounded before any work is submitted.
+      for (final String algorithm : new String[]{"PBKDF2WithHmacSHA256:0", "PBKDF2WithHmacSHA256:-1",
+          "PBKDF2WithHmacSHA256:999", "PBKDF2WithHmacSHA256:" + Integer.MAX_VALUE}) {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> processor.verify(password, salt, new ImmutableHashValue(algorithm, expected)));
+      }
+      Assertions.assertThrows(IllegalArgumentException.class,
+          () -> processor.verify(password, salt, new ImmutableHashValue(hashValue.algorithm(), new byte[0])));
+      Assertions.assertThrows(IllegalArgumentException.class,
+          () -> processor.verify(password, salt, new ImmutableHashValue(hashValue.algorithm(), new byte[33])));
+    }
+  }
+
+  @Test
+  @DisplayName("Test PasswordHashProcessor calibration")
+  public void testCalibration() throws Exception {
+    try (final IPasswordHashProcessor low = new PasswordHashProcessor(Duration.ofMillis(1), 1, 4);
+         final IPasswordHashProcessor high = new PasswordHashProcessor(Duration.ofMillis(40), 1, 4)) {
+      final char[] password = "correct horse".toCharArray();
+      final byte[] salt = high.salt();
+      final IHashValue hashValue = high.hash(password, salt).join();
+      //Far above the count of the low processor, as if hashed by a faster host.
+      final int iterations = low.iterations() * 32;
+      final IHashValue slowHashValue = new ImmutableHashValue("PBKDF2WithHmacSHA256:" + iterations,
+          SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+              .generateSecret(new PBEKeySpec(password, salt, iterations, 256)).getEncoded());
+
+      //Positive
+      Assertions.assertTrue(low.verify(password, salt, hashValue).join());
+      Assertions.assertTrue(low.verify(password, salt, slowHashValue).join());
+
+      //Negative
+      Assertions.assertFalse(low.verify("wrong".toCharArray(), salt, slowHashValue).join());
+      Assertions.assertThrows(IllegalArgumentException.class, () -> low.verify(password, salt,
+          new ImmutableHashValue("PBKDF2WithHmacSHA256:" + (PasswordHashProcessor.MAX_ITERATIONS + 1),
+              hashValue.digest())));
+    }
+  }
+
+  @Test
+  @DisplayName("Test PasswordHashProcessor bounds")
+  public void testBounds() {
+    final IPasswordHashProcessor processor = new PasswordHashProcessor(Duration.ofMillis(5), 1, 1);
+    final byte[] salt = processor.salt();
+
+    //One running and one queued derivation, further requests are rejected instead of waiting.
+    final List<CompletableFuture<IHashValue>> futures = IntStream.range(0, 16)
+        .mapToObj(i -> processor.hash("password".toCharArray(), salt))
+        .toList();
+    final long rejected = futures.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+    Assertions.assertTrue(rejected > 0);
+    Assertions.assertTrue(rejected < futures.size());
+
+    processor.close();
+    final CompletionException exception = Assertions.assertThrows(CompletionException.class,
+        () -> processor.hash("password".toCharArray(), salt).join());
+    Assertions.assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+  }
+}
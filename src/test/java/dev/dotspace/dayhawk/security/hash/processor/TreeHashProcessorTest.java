@@ -0,0 +1,69 @@
+package dev.dotspace.dayhawk.security.hash.processor;
+
+import dev.dotspace.dayhawk.security.hash.entity.IHashValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+
+public final class TreeHashProcessorTest {
+
+  @Test
+  @DisplayName("Test TreeHashProcessor")
+  public void testProcessor() throws Exception {
+    final ITreeHashProcessor processor = new TreeHashProcessor("SHA-256", 4);
+    final byte[] input = "0123456789".getBytes();
+
+    //Three leaves, the last one is promoted: H(1 || H(1 || L0 || L1) || L2)
+    final byte[] leaf0 = digest(new byte[]{0}, Arrays.copyOfRange(input, 0, 4));
+    final byte[] leaf1 = digest(new byte[]{0}, Arrays.copyOfRange(input, 4, 8));
+    final byte[] leaf2 = digest(new byte[]{0}, Arrays.copyOfRange(input, 8, 10));
+    final byte[] expected = digest(new byte[]{1}, digest(new byte[]{1}, leaf0, leaf1), leaf2);
+
+    //Positive
+    final IHashValue root = processor.hash(input);
+    Assertions.assertArrayEquals(expected, root.digest());
+    Assertions.assertEquals("SHA-256/MERKLE(leaf=4,fanout=2)", root.algorithm());
+    Assertions.assertArrayEquals(digest(new byte[]{0}), processor.hash(new byte[0]).digest());
+
+    //Negative
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new TreeHashProcessor("SHA-256", 0));
+  }
+
+  @Test
+  @DisplayName("Test TreeHashProcessor is independent of thread count")
+  public void testDeterministicProcessor() throws Exception {
+    final ITreeHashProcessor processor = new TreeHashProcessor("SHA-256", 1024);
+    final byte[] input = new byte[3 * 1024 * 1024 + 5];
+    new Random(5).nextBytes(input);
+    final Path path = Files.createTempFile("tree", ".bin");
+    final ForkJoinPool singleThread = new ForkJoinPool(1);
+
+    try {
+      Files.write(path, input);
+      final IHashValue expected = singleThread.submit(() -> processor.hash(input)).get();
+
+      Assertions.assertEquals(expected, processor.hash(input));
+      Assertions.assertEquals(expected, processor.hash(path));
+      Assertions.assertEquals(expected, singleThread.submit(() -> processor.hash(path)).get());
+    } finally {
+      singleThread.shutdownNow();
+      Files.delete(path);
+    }
+  }
+
+  private static byte[] digest(final byte[]... parts) throws Exception {
+    final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+    for (final byte[] part : parts) {
+      messageDigest.update(part);
+    }
+    return messageDigest.digest();
+  }
+}
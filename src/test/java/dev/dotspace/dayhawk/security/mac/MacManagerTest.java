@@ -0,0 +1,77 @@
+package dev.dotspace.dayhawk.security.mac;
+
+import dev.dotspace.dayhawk.security.AbstractSecurityTest;
+import dev.dotspace.dayhawk.security.crypt.exception.IllegalKeyException;
+import dev.dotspace.dayhawk.security.mac.exception.MacNotPresentException;
+import dev.dotspace.dayhawk.security.mac.processor.IMacProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public final class MacManagerTest extends AbstractSecurityTest {
+
+  private final Key KEY = new SecretKeySpec("0123456789abcdef0123456789abcdef".getBytes(), "HmacSHA256");
+
+  @Test
+  @DisplayName("Test MacManager")
+  public void testManager() {
+    //Positive
+    Assertions.assertNotNull(MacManager.instance());
+    Assertions.assertInstanceOf(IMacManager.class, MacManager.instance());
+
+    //Negative
+    Assertions.assertThrows(NullPointerException.class, () -> MacManager.instance().processor(null));
+    Assertions.assertThrows(NullPointerException.class, () -> MacManager.instance().processor("HmacSHA256", null));
+  }
+
+  @Test
+  @DisplayName("Test MacProcessor")
+  public void testProcessor() throws Exception {
+    final IMacProcessor processor = MacManager.instance().processor("HmacSHA256", KEY);
+    final byte[] data = "request".getBytes();
+    final Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(KEY);
+    final byte[] expected = mac.doFinal(data);
+
+    //Positive, every call of the parallel stream borrows a pooled instance.
+    IntStream.range(0, 10_000).parallel().forEach(i -> Assertions.assertArrayEquals(expected,
+        Assertions.assertDoesNotThrow(() -> processor.mac(data)).digest()));
+    Assertions.assertArrayEquals(expected, processor.mac(ByteBuffer.wrap(data)).digest());
+    Assertions.assertTrue(processor.verify(data, expected));
+    Assertions.assertFalse(processor.verify("other".getBytes(), expected));
+    Assertions.assertEquals(32, processor.macLength());
+
+    //Negative
+    Assertions.assertThrows(MacNotPresentException.class, () -> MacManager.instance().processor("None", KEY).mac(data));
+    final Key publicKey = KeyPairGenerator.getInstance("EC").generateKeyPair().getPublic();
+    Assertions.assertThrows(IllegalKeyException.class,
+        () -> MacManager.instance().processor("HmacSHA256", publicKey).mac(data));
+  }
+
+  //Test available algorithms.
+  @ParameterizedTest
+  @MethodSource("algorithmList")
+  @DisplayName("Specific MAC algorithm test")
+  void testMacAlgorithm(@NotNull final String algorithm) {
+    Assertions.assertDoesNotThrow(() -> MacManager.instance().processor(algorithm));
+  }
+
+  @Override
+  protected @NotNull List<String> algorithmList() {
+    return MacManager.instance().algorithmList();
+  }
+}